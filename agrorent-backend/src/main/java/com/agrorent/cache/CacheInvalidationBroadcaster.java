@@ -0,0 +1,161 @@
+package com.agrorent.cache;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-instance cache invalidation over a capped Mongo collection. Every local invalidation is
+ * appended as a small message; each instance tails the collection with a tailable cursor and
+ * drops the keys other instances invalidated. This needs nothing beyond the Mongo deployment we
+ * already have (a change stream would need a replica set).
+ *
+ * Delivery is best effort: a message missed while an instance is disconnected is covered by the
+ * caches' expire-after-write bound.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "agrorent.cache.broadcast", name = "enabled", havingValue = "true")
+public class CacheInvalidationBroadcaster {
+
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheProperties properties;
+    private final ObjectProvider<EntityCache<?>> caches;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    public CacheInvalidationBroadcaster(MongoTemplate mongoTemplate, CacheProperties properties,
+                                        ObjectProvider<EntityCache<?>> caches) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.caches = caches;
+    }
+
+    public void publish(String cache, String key, String id) {
+        try {
+            collection().insertOne(new Document("node", nodeId)
+                    .append("cache", cache)
+                    .append("key", key)
+                    .append("id", id)
+                    .append("at", new Date()));
+        } catch (Exception e) {
+            log.warn("Could not publish invalidation of {} {}: {}", cache, key != null ? key : id, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listener = thread;
+        thread.start();
+        log.info("Cache invalidation broadcast enabled on collection {} (node {})",
+                properties.getBroadcast().getCollection(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        ObjectId lastSeen = null;
+        while (running) {
+            try {
+                ensureCollection();
+                MongoCollection<Document> collection = collection();
+                if (lastSeen == null) {
+                    // Start after the newest message; anything older is already reflected in the database
+                    Document newest = collection.find().sort(Sorts.descending("$natural")).limit(1).first();
+                    lastSeen = newest != null ? newest.getObjectId("_id") : new ObjectId(new Date(0));
+                }
+                try (MongoCursor<Document> cursor = collection.find(Filters.gt("_id", lastSeen))
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .iterator()) {
+                    while (running) {
+                        Document message = cursor.tryNext();
+                        if (message == null) {
+                            continue;
+                        }
+                        lastSeen = message.getObjectId("_id");
+                        if (!nodeId.equals(message.getString("node"))) {
+                            apply(message);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener failed, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(Document message) {
+        String cacheName = message.getString("cache");
+        String key = message.getString("key");
+        String id = message.getString("id");
+        caches.orderedStream()
+                .filter(cache -> cache.getName().equals(cacheName))
+                .forEach(cache -> {
+                    if (key != null) {
+                        cache.invalidateLocally(key);
+                    } else if (id != null) {
+                        cache.invalidateIdLocally(id);
+                    }
+                    cache.countInvalidation("remote");
+                });
+    }
+
+    private void ensureCollection() {
+        String name = properties.getBroadcast().getCollection();
+        if (!mongoTemplate.collectionExists(name)) {
+            try {
+                mongoTemplate.getDb().createCollection(name, new CreateCollectionOptions()
+                        .capped(true)
+                        .sizeInBytes(properties.getBroadcast().getCappedSize().toBytes()));
+            } catch (Exception e) {
+                // Another instance created it first
+            }
+            // A tailable cursor on an empty capped collection is closed immediately
+            collection().insertOne(new Document("node", nodeId).append("at", new Date()));
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(properties.getBroadcast().getCollection());
+    }
+}
@@ -0,0 +1,47 @@
+package com.agrorent.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Near-cache sizing. Caches are bounded by the estimated in-memory size of the cached documents
+ * rather than by entry count, since a listing with inline images can be a thousand times larger
+ * than one with image URLs.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+
+    private Spec equipment = new Spec(DataSize.ofMegabytes(64), Duration.ofMinutes(10));
+
+    private Spec users = new Spec(DataSize.ofMegabytes(16), Duration.ofMinutes(10));
+
+    private Broadcast broadcast = new Broadcast();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private DataSize maxWeight;
+
+        // Upper bound on staleness for writes that bypass the repositories
+        private Duration expireAfterWrite;
+    }
+
+    @Data
+    public static class Broadcast {
+        // Publish invalidations to other instances; needed as soon as more than one runs
+        private boolean enabled = false;
+
+        private String collection = "cache_invalidations";
+
+        private DataSize cappedSize = DataSize.ofMegabytes(8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.agrorent.cache;
+
+import org.bson.Document;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rough heap footprint of a BSON document, used as the cache weight. Strings dominate (base64
+ * images, descriptions), so they are counted by length; everything else gets a flat per-object
+ * cost. Precision does not matter, only that large documents weigh proportionally more.
+ */
+final class DocumentWeigher {
+
+    private static final int OBJECT_OVERHEAD = 24;
+    private static final int ENTRY_OVERHEAD = 48;
+
+    private DocumentWeigher() {
+    }
+
+    static int weigh(Document document) {
+        return (int) Math.min(Integer.MAX_VALUE, weighValue(document));
+    }
+
+    private static long weighValue(Object value) {
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long weight = OBJECT_OVERHEAD;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                weight += ENTRY_OVERHEAD + weighValue(entry.getKey()) + weighValue(entry.getValue());
+            }
+            return weight;
+        }
+        if (value instanceof Collection<?> values) {
+            long weight = OBJECT_OVERHEAD;
+            for (Object element : values) {
+                weight += 8 + weighValue(element);
+            }
+            return weight;
+        }
+        return OBJECT_OVERHEAD;
+    }
+}
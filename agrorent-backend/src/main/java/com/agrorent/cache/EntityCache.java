@@ -0,0 +1,217 @@
+package com.agrorent.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Weight-bounded near-cache for one entity type, kept in front of a repository lookup.
+ *
+ * Entries are stored as the converted BSON document, not as the entity: entities are mutable and
+ * services modify what they load before saving it, so every hit is read back into a fresh
+ * instance. Saves and deletes made through the repositories (or MongoTemplate save/insert/remove)
+ * invalidate the entry via the mapping events. Loads run inside the cache's per-key computation,
+ * so an invalidation racing with a load waits for it and then removes the value it produced.
+ * Updates issued with MongoTemplate update operations do not raise these events and must call
+ * {@link #invalidate(String)} themselves.
+ *
+ * Only this node's writes invalidate its entries unless cross-node invalidation is on, so an entry
+ * may be stale. Read-only endpoints accept that; code that loads an entity to modify and save it
+ * reads from the repository instead.
+ */
+public abstract class EntityCache<T> extends AbstractMongoEventListener<T> {
+
+    public static final String ALL = "*";
+
+    private final String name;
+    private final Class<T> type;
+    private final MongoConverter mongoConverter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<CacheInvalidationBroadcaster> broadcaster;
+    private final long maxWeight;
+    private final Cache<String, Document> cache;
+
+    protected EntityCache(String name, Class<T> type, boolean enabled, CacheProperties.Spec spec,
+                          MongoConverter mongoConverter, MeterRegistry meterRegistry,
+                          ObjectProvider<CacheInvalidationBroadcaster> broadcaster) {
+        this.name = name;
+        this.type = type;
+        this.mongoConverter = mongoConverter;
+        this.meterRegistry = meterRegistry;
+        this.broadcaster = broadcaster;
+        this.maxWeight = spec.getMaxWeight().toBytes();
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxWeight)
+                        .weigher((String key, Document document) -> DocumentWeigher.weigh(document))
+                        .expireAfterWrite(spec.getExpireAfterWrite())
+                        .recordStats()
+                        .build()
+                : null;
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+    }
+
+    /**
+     * Cache key of an entity, e.g. its id or phone number.
+     */
+    protected abstract String keyOf(T entity);
+
+    /**
+     * Whether entries are keyed by {@code _id}; otherwise deletes (which only carry the id) scan.
+     */
+    protected abstract boolean keyedById();
+
+    protected Optional<T> get(String key, Function<String, Optional<T>> loader) {
+        if (cache == null || key == null) {
+            return loader.apply(key);
+        }
+        Document cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(mongoConverter.read(type, cached));
+        }
+
+        Object[] loaded = new Object[1];
+        Document document = cache.get(key, missing -> loader.apply(missing)
+                .map(entity -> {
+                    loaded[0] = entity;
+                    Document snapshot = new Document();
+                    mongoConverter.write(entity, snapshot);
+                    return snapshot;
+                })
+                .orElse(null));
+        if (document == null) {
+            return Optional.empty();
+        }
+        // The thread that loaded can hand out the loaded instance; everyone else reads a copy
+        return Optional.of(loaded[0] != null ? type.cast(loaded[0]) : mongoConverter.read(type, document));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getEstimatedSize() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    public long getWeightedSize() {
+        return cache == null ? 0 : cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    public CacheStats getStats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * Drops a key here and on the other instances.
+     */
+    public void invalidate(String key) {
+        invalidateLocally(key);
+        publish(key, null);
+    }
+
+    public void invalidateAll() {
+        invalidateLocally(ALL);
+        publish(ALL, null);
+    }
+
+    void invalidateLocally(String key) {
+        if (cache == null) {
+            return;
+        }
+        if (ALL.equals(key)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+        countInvalidation("local");
+    }
+
+    // Users are keyed by phone, but a delete only tells us the _id
+    void invalidateIdLocally(String id) {
+        if (cache == null) {
+            return;
+        }
+        if (keyedById()) {
+            cache.invalidate(id);
+        } else {
+            cache.asMap().values().removeIf(document -> id.equals(idOf(document.get("_id"))));
+        }
+        countInvalidation("local");
+    }
+
+    void countInvalidation(String origin) {
+        meterRegistry.counter("agrorent.cache.invalidations", "cache", name, "origin", origin).increment();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<T> event) {
+        invalidate(keyOf(event.getSource()));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<T> event) {
+        Object id = event.getDocument() != null ? event.getDocument().get("_id") : null;
+        if (id == null) {
+            // Delete by some other filter, e.g. deleteAll()
+            invalidateAll();
+            return;
+        }
+        Collection<?> ids;
+        if (id instanceof Document operators) {
+            if (!(operators.get("$in") instanceof Collection<?> values)) {
+                invalidateAll();
+                return;
+            }
+            ids = values;
+        } else {
+            ids = List.of(id);
+        }
+        for (Object value : ids) {
+            String idString = idOf(value);
+            if (keyedById()) {
+                invalidate(idString);
+            } else {
+                invalidateIdLocally(idString);
+                publish(null, idString);
+            }
+        }
+    }
+
+    private void publish(String key, String id) {
+        CacheInvalidationBroadcaster publisher = broadcaster.getIfAvailable();
+        if (publisher != null) {
+            publisher.publish(name, key, id);
+        }
+    }
+
+    private static String idOf(Object value) {
+        return value instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.agrorent.cache;
+
+import com.agrorent.model.Equipment;
+import com.agrorent.repository.EquipmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Equipment by id, in front of {@link EquipmentRepository#findById}.
+ */
+@Component
+public class EquipmentCache extends EntityCache<Equipment> {
+
+    private final EquipmentRepository equipmentRepository;
+
+    public EquipmentCache(EquipmentRepository equipmentRepository, CacheProperties properties,
+                          MongoConverter mongoConverter, MeterRegistry meterRegistry,
+                          ObjectProvider<CacheInvalidationBroadcaster> broadcaster) {
+        super("equipment", Equipment.class, properties.isEnabled(), properties.getEquipment(),
+                mongoConverter, meterRegistry, broadcaster);
+        this.equipmentRepository = equipmentRepository;
+    }
+
+    public Optional<Equipment> findById(String id) {
+        return get(id, equipmentRepository::findById);
+    }
+
+    @Override
+    protected String keyOf(Equipment equipment) {
+        return equipment.getId();
+    }
+
+    @Override
+    protected boolean keyedById() {
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.agrorent.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing for hot reads. While a call for a key is in flight, identical calls wait for
+ * it and share its result (or its exception) instead of issuing their own Mongo query. Nothing is
+ * kept once the call completes, so this never serves data older than the request itself; it only
+ * collapses bursts such as a listing link shared to a large group.
+ *
+ * The first caller runs the call on its own thread. Shared results are handed to every waiter, so
+ * they must not be modified by callers.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${agrorent.coalescing.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Call id = new Call(group, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(id, mine);
+        if (existing != null) {
+            meterRegistry.counter("agrorent.coalescing.calls", "group", group, "result", "shared").increment();
+            return (T) await(existing);
+        }
+
+        meterRegistry.counter("agrorent.coalescing.calls", "group", group, "result", "executed").increment();
+        // Unregister before completing, so a request arriving afterwards starts a new call rather
+        // than picking up a result that was read before it arrived
+        try {
+            T result = call.get();
+            inFlight.remove(id, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(id, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow what the executing call threw so waiters see the same error it did
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Call(String group, Object key) {
+    }
+}
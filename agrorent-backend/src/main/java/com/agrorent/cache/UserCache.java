@@ -0,0 +1,42 @@
+package com.agrorent.cache;
+
+import com.agrorent.model.User;
+import com.agrorent.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Users by phone, in front of {@link UserRepository#findByPhone}. Unknown phones are not cached,
+ * so a registration is visible immediately.
+ */
+@Component
+public class UserCache extends EntityCache<User> {
+
+    private final UserRepository userRepository;
+
+    public UserCache(UserRepository userRepository, CacheProperties properties,
+                     MongoConverter mongoConverter, MeterRegistry meterRegistry,
+                     ObjectProvider<CacheInvalidationBroadcaster> broadcaster) {
+        super("users", User.class, properties.isEnabled(), properties.getUsers(),
+                mongoConverter, meterRegistry, broadcaster);
+        this.userRepository = userRepository;
+    }
+
+    public Optional<User> findByPhone(String phone) {
+        return get(phone, userRepository::findByPhone);
+    }
+
+    @Override
+    protected String keyOf(User user) {
+        return user.getPhone();
+    }
+
+    @Override
+    protected boolean keyedById() {
+        return false;
+    }
+}
@@ -0,0 +1,223 @@
+package com.agrorent.cluster;
+
+import com.agrorent.model.enums.EquipmentCategory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-resolution grid of listings over Web Mercator cells. Level 0 is one cell for the world and
+ * every level splits each cell of the one above into four, down to {@code maxLevel}. A cell keeps
+ * its count per category, the coordinate sums behind its centroid and its lowest day price, so the
+ * clusters for a zoom level are read straight off one level.
+ *
+ * {@link #put} and {@link #remove} touch one cell per level. The lowest price is the only
+ * aggregate that cannot be undone by subtraction: when the cheapest listing of a cell leaves, the
+ * finest cell rescans its own members and each coarser cell takes the minimum of its four children.
+ * Not thread safe; {@link MapClusterIndex} guards it.
+ */
+final class ClusterGrid {
+
+    private static final int CATEGORIES = EquipmentCategory.values().length;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final int maxLevel;
+    private final List<Map<Long, Cell>> levels;
+    private final Map<String, Point> points = new HashMap<>();
+
+    ClusterGrid(int maxLevel) {
+        if (maxLevel < 0 || maxLevel > 30) {
+            throw new IllegalArgumentException("maxLevel must be between 0 and 30");
+        }
+        this.maxLevel = maxLevel;
+        this.levels = new ArrayList<>(maxLevel + 1);
+        for (int level = 0; level <= maxLevel; level++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    int maxLevel() {
+        return maxLevel;
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    /**
+     * Adds a listing, replacing its previous position, category and price if it is already in.
+     */
+    void put(String id, double latitude, double longitude, EquipmentCategory category, Double pricePerDay) {
+        remove(id);
+        Point point = new Point(id, latitude, longitude, category.ordinal(),
+                pricePerDay != null ? pricePerDay : Double.POSITIVE_INFINITY,
+                column(longitude, maxLevel), row(latitude, maxLevel));
+        points.put(id, point);
+        for (int level = 0; level <= maxLevel; level++) {
+            int shift = maxLevel - level;
+            int column = point.column >> shift;
+            int row = point.row >> shift;
+            boolean finest = level == maxLevel;
+            levels.get(level).computeIfAbsent(key(column, row), k -> new Cell(column, row, finest)).add(point);
+        }
+    }
+
+    boolean remove(String id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return false;
+        }
+        // Finest level first, so a coarser cell recomputing its minimum sees updated children
+        for (int level = maxLevel; level >= 0; level--) {
+            int shift = maxLevel - level;
+            long key = key(point.column >> shift, point.row >> shift);
+            Cell cell = levels.get(level).get(key);
+            cell.subtract(point);
+            if (cell.count == 0) {
+                levels.get(level).remove(key);
+            } else if (point.price <= cell.minPrice) {
+                cell.minPrice = cell.members != null ? cell.minOfMembers() : minOfChildren(level, cell);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The occupied cells of {@code level} that overlap the bounding box. Scans whichever is
+     * smaller: the cells of the box or the occupied cells of the level.
+     */
+    List<Cell> cells(int level, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        int minColumn = column(minLongitude, level);
+        int maxColumn = column(maxLongitude, level);
+        // Rows are numbered from the north
+        int minRow = row(maxLatitude, level);
+        int maxRow = row(minLatitude, level);
+        Map<Long, Cell> occupied = levels.get(level);
+
+        List<Cell> found = new ArrayList<>();
+        long area = (long) (maxColumn - minColumn + 1) * (maxRow - minRow + 1);
+        if (area <= occupied.size()) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int row = minRow; row <= maxRow; row++) {
+                    Cell cell = occupied.get(key(column, row));
+                    if (cell != null) {
+                        found.add(cell);
+                    }
+                }
+            }
+        } else {
+            for (Cell cell : occupied.values()) {
+                if (cell.column >= minColumn && cell.column <= maxColumn && cell.row >= minRow && cell.row <= maxRow) {
+                    found.add(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    private double minOfChildren(int level, Cell cell) {
+        Map<Long, Cell> children = levels.get(level + 1);
+        double min = Double.POSITIVE_INFINITY;
+        for (int dx = 0; dx < 2; dx++) {
+            for (int dy = 0; dy < 2; dy++) {
+                Cell child = children.get(key(cell.column * 2 + dx, cell.row * 2 + dy));
+                if (child != null) {
+                    min = Math.min(min, child.minPrice);
+                }
+            }
+        }
+        return min;
+    }
+
+    static int column(double longitude, int level) {
+        int cells = 1 << level;
+        int column = (int) Math.floor((longitude + 180.0) / 360.0 * cells);
+        return Math.max(0, Math.min(cells - 1, column));
+    }
+
+    static int row(double latitude, int level) {
+        int cells = 1 << level;
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        double y = (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+        return Math.max(0, Math.min(cells - 1, (int) Math.floor(y * cells)));
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    private record Point(String id, double latitude, double longitude, int category, double price,
+                         int column, int row) {
+    }
+
+    static final class Cell {
+
+        private final int column;
+        private final int row;
+        private final int[] categoryCounts = new int[CATEGORIES];
+        // Only on the finest level, to rescan for the lowest price
+        private final Map<String, Point> members;
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private double minPrice = Double.POSITIVE_INFINITY;
+
+        private Cell(int column, int row, boolean finest) {
+            this.column = column;
+            this.row = row;
+            this.members = finest ? new HashMap<>() : null;
+        }
+
+        private void add(Point point) {
+            count++;
+            categoryCounts[point.category]++;
+            latitudeSum += point.latitude;
+            longitudeSum += point.longitude;
+            minPrice = Math.min(minPrice, point.price);
+            if (members != null) {
+                members.put(point.id, point);
+            }
+        }
+
+        private void subtract(Point point) {
+            count--;
+            categoryCounts[point.category]--;
+            latitudeSum -= point.latitude;
+            longitudeSum -= point.longitude;
+            if (members != null) {
+                members.remove(point.id);
+            }
+        }
+
+        private double minOfMembers() {
+            double min = Double.POSITIVE_INFINITY;
+            for (Point point : members.values()) {
+                min = Math.min(min, point.price);
+            }
+            return min;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int categoryCount(EquipmentCategory category) {
+            return categoryCounts[category.ordinal()];
+        }
+
+        double centroidLatitude() {
+            return latitudeSum / count;
+        }
+
+        double centroidLongitude() {
+            return longitudeSum / count;
+        }
+
+        // Null when no listing in the cell has a day price
+        Double minPricePerDay() {
+            return minPrice == Double.POSITIVE_INFINITY ? null : minPrice;
+        }
+    }
+}
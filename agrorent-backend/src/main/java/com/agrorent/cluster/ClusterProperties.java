@@ -0,0 +1,30 @@
+package com.agrorent.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-memory grid behind the map cluster endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.clusters")
+public class ClusterProperties {
+
+    private boolean enabled = true;
+
+    // Finest grid level; level n splits the world into 2^n x 2^n Web Mercator cells, so 14 is
+    // about 2.4 km across at the equator. Every level adds one cell per occupied area.
+    private int maxLevel = 14;
+
+    // Width of a cluster cell on screen, in pixels of a 256 px map tile; a power of two
+    private int cellPixels = 64;
+
+    // Above this many cells in the bounding box the next coarser level is used
+    private int maxClusters = 2_000;
+
+    // The grid is reloaded from Mongo on this interval (and at startup), picking up changes
+    // made by other instances or outside EquipmentService
+    private Duration fullRebuildInterval = Duration.ofMinutes(15);
+}
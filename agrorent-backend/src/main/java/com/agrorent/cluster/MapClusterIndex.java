@@ -0,0 +1,171 @@
+package com.agrorent.cluster;
+
+import com.agrorent.dto.response.MapCluster;
+import com.agrorent.dto.response.MapClusterResponse;
+import com.agrorent.exception.ServiceUnavailableException;
+import com.agrorent.geo.ReloadableIndex;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.enums.EquipmentCategory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Map clusters of the available listings, read from an in-memory {@link ClusterGrid}.
+ *
+ * {@code EquipmentService} reports every listing it saves or deletes, and the grid is updated in
+ * place. The whole grid is also reloaded from Mongo at startup and every
+ * {@code full-rebuild-interval}; updates that arrive while a reload is running are replayed onto
+ * the new grid before it replaces the old one, so none are lost (see {@link ReloadableIndex}).
+ */
+@Component
+public class MapClusterIndex {
+
+    private static final String[] SOURCE_FIELDS = {"location", "category", "pricePerDay"};
+
+    private final ClusterProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final int cellLevelOffset;
+    private final ReloadableIndex<ClusterGrid> grid;
+
+    public MapClusterIndex(ClusterProperties properties, MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        int cellPixels = properties.getCellPixels();
+        if (cellPixels < 1 || cellPixels > 256 || Integer.bitCount(cellPixels) != 1) {
+            throw new IllegalArgumentException("agrorent.clusters.cell-pixels must be a power of two up to 256");
+        }
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.cellLevelOffset = Integer.numberOfTrailingZeros(256 / cellPixels);
+        this.grid = new ReloadableIndex<>("map cluster grid", this::load, ClusterGrid::size);
+        Gauge.builder("agrorent.clusters.equipment", grid, ReloadableIndex::size)
+                .description("Listings in the map cluster grid")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Brings the grid in line with a listing that was just saved: it is added or moved when
+     * available, and dropped otherwise.
+     */
+    public void update(Equipment equipment) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String id = equipment.getId();
+        if (Boolean.TRUE.equals(equipment.getAvailable()) && equipment.getLocation() != null
+                && equipment.getCategory() != null) {
+            double latitude = equipment.getLocation().getY();
+            double longitude = equipment.getLocation().getX();
+            EquipmentCategory category = equipment.getCategory();
+            Double price = equipment.getPricePerDay();
+            grid.apply(loaded -> loaded.put(id, latitude, longitude, category, price));
+        } else {
+            grid.apply(loaded -> loaded.remove(id));
+        }
+    }
+
+    public void remove(String equipmentId) {
+        if (properties.isEnabled()) {
+            grid.apply(loaded -> loaded.remove(equipmentId));
+        }
+    }
+
+    /**
+     * Clusters for a map showing the bounding box at {@code zoom}. Each cell is
+     * {@code cell-pixels} wide at that zoom, unless the box holds more than {@code max-clusters}
+     * occupied cells, in which case coarser levels are tried until it fits.
+     */
+    public MapClusterResponse getClusters(double minLatitude, double minLongitude,
+                                          double maxLatitude, double maxLongitude, int zoom) {
+        if (!properties.isEnabled()) {
+            throw new RuntimeException("Map clusters are disabled");
+        }
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new RuntimeException("Bounding box minimums must not exceed its maximums");
+        }
+        if (zoom < 0) {
+            throw new RuntimeException("Zoom must not be negative");
+        }
+
+        return grid.read(current -> {
+            if (current == null) {
+                throw new ServiceUnavailableException("Map clusters are still loading", 5, null);
+            }
+            int level = Math.min(zoom + cellLevelOffset, current.maxLevel());
+            List<ClusterGrid.Cell> cells = current.cells(level, minLatitude, minLongitude, maxLatitude, maxLongitude);
+            while (cells.size() > properties.getMaxClusters() && level > 0) {
+                level--;
+                cells = current.cells(level, minLatitude, minLongitude, maxLatitude, maxLongitude);
+            }
+
+            List<MapCluster> clusters = new ArrayList<>(cells.size());
+            int total = 0;
+            for (ClusterGrid.Cell cell : cells) {
+                clusters.add(toCluster(cell));
+                total += cell.count();
+            }
+            return MapClusterResponse.builder()
+                    .zoom(zoom)
+                    .level(level)
+                    .totalCount(total)
+                    .clusters(clusters)
+                    .build();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            grid.start(properties.getFullRebuildInterval());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        grid.stop();
+    }
+
+    // Fed row by row from the cursor, so only the grid is held in memory
+    private ClusterGrid load() {
+        Query query = new Query(Criteria.where("available").is(true));
+        query.fields().include(SOURCE_FIELDS);
+        ClusterGrid loaded = new ClusterGrid(properties.getMaxLevel());
+        try (Stream<Equipment> listings = mongoTemplate.stream(query, Equipment.class)) {
+            listings.forEach(equipment -> {
+                if (equipment.getLocation() != null && equipment.getCategory() != null) {
+                    loaded.put(equipment.getId(), equipment.getLocation().getY(), equipment.getLocation().getX(),
+                            equipment.getCategory(), equipment.getPricePerDay());
+                }
+            });
+        }
+        return loaded;
+    }
+
+    private static MapCluster toCluster(ClusterGrid.Cell cell) {
+        Map<EquipmentCategory, Integer> categoryCounts = new EnumMap<>(EquipmentCategory.class);
+        for (EquipmentCategory category : EquipmentCategory.values()) {
+            int count = cell.categoryCount(category);
+            if (count > 0) {
+                categoryCounts.put(category, count);
+            }
+        }
+        return MapCluster.builder()
+                .latitude(cell.centroidLatitude())
+                .longitude(cell.centroidLongitude())
+                .count(cell.count())
+                .categoryCounts(categoryCounts)
+                .minPricePerDay(cell.minPricePerDay())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.agrorent.config;
+
+import com.agrorent.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Near-caches for entity lookups (see {@link com.agrorent.cache.EntityCache}). Cache statistics
+ * are published as {@code cache.*} meters and served at {@code /api/admin/caches}.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+}
@@ -0,0 +1,14 @@
+package com.agrorent.config;
+
+import com.agrorent.cluster.ClusterProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Map clusters by zoom level (see {@link com.agrorent.cluster.MapClusterIndex}), served at
+ * {@code /api/equipment/public/clusters}.
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+}
@@ -1,11 +1,17 @@
 package com.agrorent.config;
 
+import com.agrorent.model.Equipment;
+import com.agrorent.model.RatingScore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.util.List;
 
@@ -41,4 +47,34 @@ public class DatabaseCleanupConfig {
             }
         };
     }
+
+    @Bean
+    public CommandLineRunner backfillRatingScores() {
+        return args -> {
+            try {
+                // Listings saved before ratingScore existed, in batches until none are left
+                Query missing = new Query(Criteria.where("ratingScore").exists(false)).limit(1000);
+                missing.fields().include("rating", "totalRatings");
+                long updated = 0;
+                List<Equipment> batch;
+                while (!(batch = mongoTemplate.find(missing, Equipment.class)).isEmpty()) {
+                    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Equipment.class);
+                    for (Equipment equipment : batch) {
+                        bulk.updateOne(new Query(Criteria.where("_id").is(equipment.getId())),
+                                Update.update("ratingScore", RatingScore.of(equipment.getRating(), equipment.getTotalRatings())));
+                    }
+                    int modified = bulk.execute().getModifiedCount();
+                    if (modified == 0) {
+                        break;
+                    }
+                    updated += modified;
+                }
+                if (updated > 0) {
+                    System.out.println("✅ Backfilled rating scores for " + updated + " equipment.");
+                }
+            } catch (Exception e) {
+                System.out.println("ℹ️ Rating score backfill: " + e.getMessage());
+            }
+        };
+    }
 }
@@ -0,0 +1,33 @@
+package com.agrorent.config;
+
+import com.agrorent.dto.response.BookingResponse;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.fields.FieldSet;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes {@code EquipmentResponse} and {@code BookingResponse} filterable for sparse fieldsets (see
+ * {@link com.agrorent.fields.ResponseFieldSets}). Without a per-request filter every property is
+ * written, as before. Applied to every mapper built from Spring Boot's builder, including the CBOR
+ * and Smile ones.
+ */
+@Configuration
+public class FieldSetConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSetFilter() {
+        return builder -> builder
+                .mixIn(EquipmentResponse.class, Filterable.class)
+                .mixIn(BookingResponse.class, Filterable.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(FieldSet.FILTER_ID)
+    private abstract static class Filterable {
+    }
+}
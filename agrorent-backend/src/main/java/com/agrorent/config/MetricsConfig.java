@@ -0,0 +1,20 @@
+package com.agrorent.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics wiring. HTTP server latency, Mongo command latency (per command and collection) and
+ * connection pool gauges come from Spring Boot's actuator auto-configuration; this adds support
+ * for {@code @Timed} on service methods.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -1,10 +1,25 @@
 package com.agrorent.config;
 
+import com.agrorent.monitoring.RoundTripCounter;
+import com.agrorent.monitoring.RoundTripProperties;
+import com.agrorent.monitoring.SlowQueryRecorder;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
 @Configuration
 @EnableMongoAuditing
+@EnableConfigurationProperties(RoundTripProperties.class)
 public class MongoConfig {
     // Enables @CreatedDate and @LastModifiedDate annotations
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandListenerCustomizer(SlowQueryRecorder slowQueryRecorder,
+                                                                          RoundTripCounter roundTripCounter) {
+        return settings -> settings
+                .addCommandListener(slowQueryRecorder)
+                .addCommandListener(roundTripCounter);
+    }
 }
@@ -0,0 +1,13 @@
+package com.agrorent.config;
+
+import com.agrorent.geo.NearestSearchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Expanding-ring k-nearest equipment search ({@code nearest} in a search request).
+ */
+@Configuration
+@EnableConfigurationProperties(NearestSearchProperties.class)
+public class NearestSearchConfig {
+}
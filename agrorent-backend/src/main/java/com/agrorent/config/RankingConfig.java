@@ -0,0 +1,20 @@
+package com.agrorent.config;
+
+import com.agrorent.ranking.RelevanceProperties;
+import com.agrorent.ranking.RelevanceRanker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Relevance ranking for equipment search ({@code sortBy=relevance}).
+ */
+@Configuration
+@EnableConfigurationProperties(RelevanceProperties.class)
+public class RankingConfig {
+
+    @Bean
+    public RelevanceRanker relevanceRanker(RelevanceProperties properties) {
+        return new RelevanceRanker(properties);
+    }
+}
@@ -0,0 +1,40 @@
+package com.agrorent.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Reactive Mongo access for the non-blocking search endpoints. Boot's reactive auto-configuration
+ * is excluded in application.yml so the second client (and its connection pool) only exists when
+ * {@code agrorent.reactive.enabled=true}. It reuses the same customizers as the blocking client,
+ * so URI and pool settings stay in one place.
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrorent.reactive.enabled", havingValue = "true")
+public class ReactiveMongoConfig {
+
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        ReactiveMongoClientFactory factory = new ReactiveMongoClientFactory(customizers.orderedStream().toList());
+        return factory.createMongoClient(MongoClientSettings.builder().build());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient,
+                                                       MongoProperties properties,
+                                                       MongoConverter mongoConverter) {
+        return new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, properties.getMongoClientDatabase()),
+                mongoConverter);
+    }
+}
@@ -0,0 +1,14 @@
+package com.agrorent.config;
+
+import com.agrorent.regionpack.RegionPackProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Offline region packs per district (see {@link com.agrorent.regionpack.RegionPackBuilder}),
+ * served at {@code /api/equipment/public/region-packs}.
+ */
+@Configuration
+@EnableConfigurationProperties(RegionPackProperties.class)
+public class RegionPackConfig {
+}
@@ -0,0 +1,16 @@
+package com.agrorent.config;
+
+import com.agrorent.resilience.AdmissionProperties;
+import com.agrorent.resilience.ResilienceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timeouts, circuit breaker and last-known-good fallback for the public equipment reads (see
+ * {@link com.agrorent.resilience.ResilientReads}), and per-class admission control for all API
+ * requests (see {@link com.agrorent.resilience.AdmissionControlFilter}).
+ */
+@Configuration
+@EnableConfigurationProperties({ResilienceProperties.class, AdmissionProperties.class})
+public class ResilienceConfig {
+}
@@ -39,12 +39,16 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/equipment/public/**").permitAll()
                         .requestMatchers("/api/equipment/search/**").permitAll()
+                        .requestMatchers("/api/equipment/reactive/**").permitAll()
                         .requestMatchers("/api/categories").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         // All authenticated users can access all features (rent out and borrow)
                         .requestMatchers("/api/equipment/my/**").hasRole("USER")
                         .requestMatchers("/api/bookings/**").hasRole("USER")
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Metrics name routes, collections and query shapes; scrape with an admin token
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         // All other requests need authentication
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
@@ -0,0 +1,14 @@
+package com.agrorent.config;
+
+import com.agrorent.servicearea.ServiceAreaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Delivery areas of listings (see {@link com.agrorent.servicearea.ServiceAreaIndex}), searched at
+ * {@code /api/equipment/search/serving}.
+ */
+@Configuration
+@EnableConfigurationProperties(ServiceAreaProperties.class)
+public class ServiceAreaConfig {
+}
@@ -0,0 +1,51 @@
+package com.agrorent.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request execution mode. With {@code spring.threads.virtual.enabled=true} Spring Boot runs Tomcat
+ * request handling (and therefore every blocking Mongo call made from a controller) on virtual
+ * threads. That only takes effect on Java 21+, so we log the effective mode at startup.
+ *
+ * Once Tomcat's thread cap is gone, the Mongo connection pool becomes the real concurrency limit,
+ * so its size and wait time are configurable here as well.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${agrorent.mongo.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${agrorent.mongo.pool.max-wait-ms:2000}")
+    private long poolMaxWaitMs;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(poolMaxSize)
+                .maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}; falling back to platform threads", javaVersion);
+        } else {
+            log.info("Request execution mode: {} threads (Mongo pool max size {})",
+                    virtualThreadsRequested ? "virtual" : "platform", poolMaxSize);
+        }
+    }
+}
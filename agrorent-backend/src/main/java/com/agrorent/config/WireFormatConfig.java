@@ -0,0 +1,52 @@
+package com.agrorent.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Compact response encodings for clients on slow or metered connections, chosen with the
+ * {@code Accept} header: {@code application/cbor} or {@code application/x-jackson-smile}.
+ * JSON stays the default and keeps its current shape.
+ *
+ * Both binary mappers start from Spring Boot's mapper settings (so dates and enums are written the
+ * same way as in JSON) and leave out null fields. Smile also writes repeated string values, such
+ * as categories, districts and statuses, as back references.
+ *
+ * These beans replace the converters Spring MVC would otherwise register for the same types.
+ * Responses are gzipped on top of either encoding (see {@code server.compression}).
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compactMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(compactMapper(builder, factory));
+    }
+
+    /**
+     * A mapper for {@code factory}'s format with the builder's settings and null fields omitted.
+     * Public so the benchmarks measure the same configuration.
+     */
+    public static ObjectMapper compactMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+}
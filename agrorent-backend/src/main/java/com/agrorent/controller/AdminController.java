@@ -0,0 +1,55 @@
+package com.agrorent.controller;
+
+import com.agrorent.cache.EntityCache;
+import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.CacheStatsResponse;
+import com.agrorent.dto.response.SlowQueryResponse;
+import com.agrorent.monitoring.SlowQueryRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final List<EntityCache<?>> caches;
+
+    // ===== DATABASE DIAGNOSTICS =====
+
+    @GetMapping("/slow-queries")
+    public ResponseEntity<ApiResponse<List<SlowQueryResponse>>> getSlowQueries() {
+        List<SlowQueryResponse> response = slowQueryRecorder.getSlowQueries()
+                .stream()
+                .map(SlowQueryResponse::fromStats)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<ApiResponse<Void>> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return ResponseEntity.ok(ApiResponse.success("Slow query log cleared", null));
+    }
+
+    // ===== CACHES =====
+
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCaches() {
+        List<CacheStatsResponse> response = caches.stream()
+                .map(CacheStatsResponse::fromCache)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @DeleteMapping("/caches")
+    public ResponseEntity<ApiResponse<Void>> clearCaches() {
+        caches.forEach(EntityCache::invalidateAll);
+        return ResponseEntity.ok(ApiResponse.success("Caches cleared", null));
+    }
+}
@@ -4,14 +4,19 @@ import com.agrorent.dto.request.BookingRequest;
 import com.agrorent.dto.request.RatingRequest;
 import com.agrorent.dto.response.ApiResponse;
 import com.agrorent.dto.response.BookingResponse;
+import com.agrorent.fields.BookingFieldSets;
+import com.agrorent.fields.FieldSet;
 import com.agrorent.service.BookingService;
+import com.agrorent.streaming.JsonStreamWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,8 +26,11 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final BookingFieldSets bookingFieldSets;
 
     // ===== RENT TAKER ENDPOINTS =====
+    // Booking reads take an optional fields=id,status,... to get only those properties
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('USER')")
@@ -40,15 +48,30 @@ public class BookingController {
     @GetMapping("/my")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getMyBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fields) {
         try {
-            List<BookingResponse> response = bookingService.getRentTakerBookings(userDetails.getUsername());
+            FieldSet fieldSet = bookingFieldSets.select(fields);
+            List<BookingResponse> response = bookingService.getRentTakerBookings(userDetails.getUsername(), fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    // Streamed from a cursor when the client asks for NDJSON or a streamed JSON array
+    @GetMapping(value = "/my", produces = {JsonStreamWriter.NDJSON_VALUE, JsonStreamWriter.JSON_STREAM_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> streamMyBookings(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        try {
+            return jsonStreamWriter.write(accept, bookingService.streamRentTakerBookings(userDetails.getUsername()));
+        } catch (Exception e) {
+            return jsonStreamWriter.error(e.getMessage());
+        }
+    }
+
     @PostMapping("/my/{id}/rate")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<BookingResponse>> rateAsRentTaker(
@@ -69,21 +92,38 @@ public class BookingController {
     @GetMapping("/renter")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getRenterBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fields) {
         try {
-            List<BookingResponse> response = bookingService.getRenterBookings(userDetails.getUsername());
+            FieldSet fieldSet = bookingFieldSets.select(fields);
+            List<BookingResponse> response = bookingService.getRenterBookings(userDetails.getUsername(), fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    // Streamed from a cursor when the client asks for NDJSON or a streamed JSON array
+    @GetMapping(value = "/renter", produces = {JsonStreamWriter.NDJSON_VALUE, JsonStreamWriter.JSON_STREAM_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> streamRenterBookings(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        try {
+            return jsonStreamWriter.write(accept, bookingService.streamRenterBookings(userDetails.getUsername()));
+        } catch (Exception e) {
+            return jsonStreamWriter.error(e.getMessage());
+        }
+    }
+
     @GetMapping("/renter/pending")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getPendingBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fields) {
         try {
-            List<BookingResponse> response = bookingService.getPendingBookingsForRenter(userDetails.getUsername());
+            FieldSet fieldSet = bookingFieldSets.select(fields);
+            List<BookingResponse> response = bookingService.getPendingBookingsForRenter(userDetails.getUsername(), fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -161,9 +201,12 @@ public class BookingController {
     // ===== COMMON ENDPOINTS =====
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields) {
         try {
-            BookingResponse response = bookingService.getBookingById(id);
+            FieldSet fieldSet = bookingFieldSets.select(fields);
+            BookingResponse response = bookingService.getBookingById(id, fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -1,18 +1,28 @@
 package com.agrorent.controller;
 
+import com.agrorent.dto.request.EquipmentBatchRequest;
 import com.agrorent.dto.request.EquipmentRequest;
 import com.agrorent.dto.request.EquipmentSearchRequest;
 import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.EquipmentBatchResponse;
 import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.dto.response.EquipmentSearchResponse;
+import com.agrorent.dto.response.NearestEquipmentResponse;
+import com.agrorent.exception.ServiceUnavailableException;
+import com.agrorent.fields.EquipmentFieldSets;
+import com.agrorent.fields.FieldSet;
 import com.agrorent.model.enums.EquipmentCategory;
 import com.agrorent.service.EquipmentService;
+import com.agrorent.streaming.JsonStreamWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,14 +33,38 @@ import java.util.List;
 public class EquipmentController {
 
     private final EquipmentService equipmentService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final EquipmentFieldSets equipmentFieldSets;
 
     // ===== PUBLIC ENDPOINTS =====
+    // Reads returning equipment take an optional fields=id,name,... to get only those properties
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<ApiResponse<EquipmentResponse>> getEquipmentById(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<EquipmentResponse>> getEquipmentById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields) {
         try {
+            // Served from the near-cache, so only the response is trimmed
+            equipmentFieldSets.select(fields);
             EquipmentResponse response = equipmentService.getEquipmentById(id);
             return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/public/batch")
+    public ResponseEntity<ApiResponse<EquipmentBatchResponse>> getEquipmentByIds(
+            @Valid @RequestBody EquipmentBatchRequest request,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            EquipmentBatchResponse response = equipmentService.getEquipmentByIds(request, fieldSet);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -38,21 +72,62 @@ public class EquipmentController {
 
     @GetMapping("/public/category/{category}")
     public ResponseEntity<ApiResponse<List<EquipmentResponse>>> getByCategory(
-            @PathVariable EquipmentCategory category) {
+            @PathVariable EquipmentCategory category,
+            @RequestParam(required = false) String fields) {
         try {
-            List<EquipmentResponse> response = equipmentService.getEquipmentByCategory(category);
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            List<EquipmentResponse> response = equipmentService.getEquipmentByCategory(category, fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    @GetMapping("/public/top-rated")
+    public ResponseEntity<ApiResponse<List<EquipmentResponse>>> getTopRated(
+            @RequestParam(required = false) EquipmentCategory category,
+            @RequestParam(defaultValue = "20") Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            List<EquipmentResponse> response = equipmentService.getTopRatedEquipment(category, limit, fieldSet);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Streamed from a cursor when the client asks for NDJSON or a streamed JSON array
+    @GetMapping(value = "/public/category/{category}", produces = {JsonStreamWriter.NDJSON_VALUE, JsonStreamWriter.JSON_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamByCategory(
+            @PathVariable EquipmentCategory category,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        try {
+            return jsonStreamWriter.write(accept, equipmentService.streamEquipmentByCategory(category));
+        } catch (Exception e) {
+            return jsonStreamWriter.error(e.getMessage());
+        }
+    }
+
+    // With "facets": true the data is an EquipmentSearchResponse: the hits plus facet counts
     @PostMapping("/search")
-    public ResponseEntity<ApiResponse<List<EquipmentResponse>>> searchEquipment(
-            @RequestBody EquipmentSearchRequest request) {
+    public ResponseEntity<ApiResponse<?>> searchEquipment(
+            @RequestBody EquipmentSearchRequest request,
+            @RequestParam(required = false) String fields) {
         try {
-            List<EquipmentResponse> response = equipmentService.searchEquipment(request);
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            if (Boolean.TRUE.equals(request.getFacets())) {
+                EquipmentSearchResponse response = equipmentService.searchEquipmentWithFacets(request, fieldSet);
+                return ResponseEntity.ok(ApiResponse.success(response));
+            }
+            List<EquipmentResponse> response = equipmentService.searchEquipment(request, fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -62,10 +137,60 @@ public class EquipmentController {
     public ResponseEntity<ApiResponse<List<EquipmentResponse>>> getNearbyEquipment(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "50") Double radiusKm) {
+            @RequestParam(defaultValue = "50") Double radiusKm,
+            @RequestParam(required = false) String fields) {
         try {
-            List<EquipmentResponse> response = equipmentService.getNearbyEquipment(latitude, longitude, radiusKm);
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            List<EquipmentResponse> response = equipmentService.getNearbyEquipment(latitude, longitude, radiusKm, fieldSet);
             return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // The k nearest available listings, searching outward in rings up to maxRadiusKm
+    @GetMapping("/search/nearest")
+    public ResponseEntity<ApiResponse<NearestEquipmentResponse>> getNearestEquipment(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "20") Integer k,
+            @RequestParam(required = false) Double maxRadiusKm,
+            @RequestParam(required = false) EquipmentCategory category,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            EquipmentSearchRequest request = EquipmentSearchRequest.builder()
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .radiusKm(maxRadiusKm)
+                    .nearest(k)
+                    .category(category)
+                    .build();
+            NearestEquipmentResponse response = equipmentService.getNearestEquipment(request, fieldSet);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Listings whose owners deliver to the farm at this point, nearest first
+    @GetMapping("/search/serving")
+    public ResponseEntity<ApiResponse<List<EquipmentResponse>>> getServingEquipment(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) EquipmentCategory category,
+            @RequestParam(defaultValue = "20") Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldSet fieldSet = equipmentFieldSets.select(fields);
+            List<EquipmentResponse> response = equipmentService.getServingEquipment(latitude, longitude, category, limit, fieldSet);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -85,6 +210,19 @@ public class EquipmentController {
         }
     }
 
+    // Streamed from a cursor when the client asks for NDJSON or a streamed JSON array
+    @GetMapping(value = "/my", produces = {JsonStreamWriter.NDJSON_VALUE, JsonStreamWriter.JSON_STREAM_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> streamMyEquipment(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        try {
+            return jsonStreamWriter.write(accept, equipmentService.streamMyEquipment(userDetails.getUsername()));
+        } catch (Exception e) {
+            return jsonStreamWriter.error(e.getMessage());
+        }
+    }
+
     @PostMapping("/my")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<EquipmentResponse>> createEquipment(
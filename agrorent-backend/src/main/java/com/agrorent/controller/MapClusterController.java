@@ -0,0 +1,42 @@
+package com.agrorent.controller;
+
+import com.agrorent.cluster.MapClusterIndex;
+import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.MapClusterResponse;
+import com.agrorent.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Aggregated map markers: one cluster per grid cell in the visible bounding box, with counts per
+ * category, a centroid and the lowest day price, instead of every listing.
+ */
+@RestController
+@RequestMapping("/api/equipment/public/clusters")
+@RequiredArgsConstructor
+public class MapClusterController {
+
+    private final MapClusterIndex mapClusterIndex;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<MapClusterResponse>> getClusters(
+            @RequestParam Double minLatitude,
+            @RequestParam Double minLongitude,
+            @RequestParam Double maxLatitude,
+            @RequestParam Double maxLongitude,
+            @RequestParam Integer zoom) {
+        try {
+            MapClusterResponse response = mapClusterIndex.getClusters(
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, zoom);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ServiceUnavailableException e) {
+            throw e; // 503 with Retry-After from GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.agrorent.controller;
+
+import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.model.enums.EquipmentCategory;
+import com.agrorent.service.ReactiveEquipmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking variants of the public search endpoints. With {@code Accept: application/x-ndjson}
+ * each result is written and flushed as it arrives from the cursor, and the next one is only
+ * requested once the previous write completes (backpressure). Plain JSON clients get the
+ * collected array.
+ */
+@RestController
+@RequestMapping(value = "/api/equipment/reactive",
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "agrorent.reactive.enabled", havingValue = "true")
+public class ReactiveEquipmentController {
+
+    private final ReactiveEquipmentService reactiveEquipmentService;
+
+    @GetMapping("/public/category/{category}")
+    public Flux<EquipmentResponse> getByCategory(@PathVariable EquipmentCategory category) {
+        return reactiveEquipmentService.getEquipmentByCategory(category);
+    }
+
+    @PostMapping("/search")
+    public Flux<EquipmentResponse> searchEquipment(@RequestBody EquipmentSearchRequest request) {
+        return reactiveEquipmentService.searchEquipment(request);
+    }
+
+    @GetMapping("/search/nearby")
+    public Flux<EquipmentResponse> getNearbyEquipment(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "50") Double radiusKm) {
+        return reactiveEquipmentService.getNearbyEquipment(latitude, longitude, radiusKm);
+    }
+}
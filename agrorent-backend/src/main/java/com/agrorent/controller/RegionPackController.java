@@ -0,0 +1,81 @@
+package com.agrorent.controller;
+
+import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.RegionPackInfoResponse;
+import com.agrorent.regionpack.RegionPack;
+import com.agrorent.regionpack.RegionPackStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Offline region packs: every available listing of a district in one gzipped JSON download.
+ * Clients keep the ETag and send it back in {@code If-None-Match}; an unchanged pack is a 304.
+ */
+@RestController
+@RequestMapping("/api/equipment/public/region-packs")
+@RequiredArgsConstructor
+public class RegionPackController {
+
+    private final RegionPackStore regionPackStore;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RegionPackInfoResponse>>> getRegionPacks() {
+        List<RegionPackInfoResponse> response = regionPackStore.all().stream()
+                .map(pack -> RegionPackInfoResponse.builder()
+                        .district(pack.district())
+                        .version(pack.version())
+                        .etag(pack.etag())
+                        .equipmentCount(pack.equipmentCount())
+                        .sizeBytes(pack.sizeBytes())
+                        .builtAt(pack.builtAt())
+                        .build())
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{district}")
+    public ResponseEntity<Resource> getRegionPack(
+            @PathVariable String district,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) throws IOException {
+        Optional<RegionPack> found = regionPackStore.get(district);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        RegionPack pack = found.get();
+        if (request.checkNotModified(pack.etag())) {
+            return null; // 304 with the ETag, no body
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(pack.etag());
+        // The file is already gzipped; only clients that cannot take that get it inflated
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .contentLength(pack.sizeBytes())
+                    .body(new FileSystemResource(pack.file()));
+        }
+        return response
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(new InputStreamResource(new GZIPInputStream(Files.newInputStream(pack.file()))));
+    }
+}
@@ -0,0 +1,155 @@
+package com.agrorent.datagen;
+
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Loads an India-scale synthetic dataset (users, equipment, bookings) straight into MongoDB.
+ *
+ * Runs only under the {@code datagen} profile and exits when done:
+ * <pre>
+ * java -jar target/agrorent-backend-1.0.0-exec.jar --spring.profiles.active=datagen \
+ *      --agrorent.datagen.users=2000000 --agrorent.datagen.equipment=3000000 --agrorent.datagen.bookings=10000000
+ * </pre>
+ *
+ * Documents are converted with the application's own MongoConverter, so they are identical to
+ * what the repositories write, and inserted with unordered insertMany batches from several
+ * threads. Ids are derived from the index, so re-running with the same seed over an existing
+ * dataset only reports duplicate keys instead of creating copies.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@RequiredArgsConstructor
+public class DataGenerator implements CommandLineRunner {
+
+    private final DataGeneratorProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("Generating synthetic data: seed={}, users={}, equipment={}, bookings={}, images={}",
+                properties.getSeed(), properties.getUsers(), properties.getEquipment(),
+                properties.getBookings(), properties.getImageMode());
+
+        // Hashing is deliberately slow, so all users share one precomputed hash
+        SyntheticDataFactory factory = new SyntheticDataFactory(properties,
+                passwordEncoder.encode(properties.getPassword()));
+
+        if (properties.isDrop()) {
+            for (Class<?> type : List.of(User.class, Equipment.class, Booking.class)) {
+                mongoTemplate.dropCollection(type);
+            }
+        }
+        // Indexes are built up front; building them after the load takes longer than inserting
+        // into indexed collections for the 2dsphere indexes
+        ensureIndexes(User.class, Equipment.class, Booking.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            load(executor, User.class, properties.getUsers(), factory::user);
+            load(executor, Equipment.class, properties.getEquipment(), factory::equipment);
+            load(executor, Booking.class, properties.getBookings(), factory::booking);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Synthetic data ready. Log in with phone {} and password '{}'",
+                SyntheticDataFactory.phone(0), properties.getPassword());
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void ensureIndexes(Class<?>... types) {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : types) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(indexOps::ensureIndex);
+        }
+    }
+
+    private <T> void load(ExecutorService executor, Class<T> type, long count, LongFunction<T> generator)
+            throws Exception {
+        String collection = mongoTemplate.getCollectionName(type);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        long startNanos = System.nanoTime();
+        long reportEvery = Math.max(batchSize, count / 20);
+
+        List<Future<?>> batches = new ArrayList<>();
+        for (long from = 0; from < count; from += batchSize) {
+            long start = from;
+            long end = Math.min(count, from + batchSize);
+            batches.add(executor.submit(() -> {
+                List<Document> documents = new ArrayList<>((int) (end - start));
+                for (long index = start; index < end; index++) {
+                    Document document = new Document();
+                    mongoTemplate.getConverter().write(generator.apply(index), document);
+                    documents.add(document);
+                }
+                insert(collection, documents, inserted, duplicates);
+
+                long done = inserted.get() + duplicates.get();
+                if (done / reportEvery != (done - documents.size()) / reportEvery) {
+                    log.info("{}: {}/{} ({} docs/s)", collection, done, count, rate(done, startNanos));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> batch : batches) {
+            batch.get();
+        }
+
+        log.info("{}: inserted {} documents ({} already present) in {} s, {} docs/s", collection,
+                inserted.get(), duplicates.get(), (System.nanoTime() - startNanos) / 1_000_000_000,
+                rate(inserted.get() + duplicates.get(), startNanos));
+    }
+
+    private void insert(String collection, List<Document> documents, AtomicLong inserted, AtomicLong duplicates) {
+        try {
+            mongoTemplate.getCollection(collection).insertMany(documents, new InsertManyOptions().ordered(false));
+            inserted.addAndGet(documents.size());
+        } catch (MongoBulkWriteException e) {
+            // Unordered inserts still write every non-conflicting document of the batch
+            boolean onlyDuplicates = e.getWriteErrors().stream().allMatch(error -> error.getCode() == 11000);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            inserted.addAndGet(e.getWriteResult().getInsertedCount());
+            duplicates.addAndGet(e.getWriteErrors().size());
+        }
+    }
+
+    private static long rate(long documents, long startNanos) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        return documents * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,53 @@
+package com.agrorent.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Sizing for the synthetic dataset. Every document is a pure function of {@code seed} and its
+ * index, so the same settings always produce byte-identical data regardless of thread count.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.datagen")
+public class DataGeneratorProperties {
+
+    private long seed = 20260101L;
+
+    private int users = 200_000;
+
+    // Share of users who list equipment; listings are spread over them with a long tail
+    private double ownerFraction = 0.15;
+
+    private int equipment = 300_000;
+
+    private int bookings = 1_000_000;
+
+    // Bookings are spread over this many years before the reference date, plus a few weeks after
+    private int historyYears = 2;
+
+    private LocalDate referenceDate = LocalDate.of(2026, 6, 1);
+
+    private int batchSize = 2_000;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    // Every synthetic user can log in with their generated phone and this password
+    private String password = "agrorent123";
+
+    // Drop users, equipment and bookings before loading
+    private boolean drop = false;
+
+    private ImageMode imageMode = ImageMode.URL;
+
+    // Average size of one inline image, before base64 encoding
+    private int inlineImageKb = 48;
+
+    public enum ImageMode {
+        // CDN-style URLs, roughly 100 bytes each
+        URL,
+        // base64 data URLs as uploaded by the frontend after client-side compression
+        INLINE
+    }
+}
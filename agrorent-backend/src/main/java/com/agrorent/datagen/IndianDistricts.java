@@ -0,0 +1,90 @@
+package com.agrorent.datagen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Agricultural districts used to place synthetic users and listings. Weights roughly follow rural
+ * population, so the Indo-Gangetic plain and Maharashtra dominate while hill districts stay sparse.
+ */
+final class IndianDistricts {
+
+    record District(String name, String state, String pincodePrefix, double latitude, double longitude,
+                    double spreadKm, int weight) {
+    }
+
+    static final List<District> ALL = List.of(
+            new District("Ludhiana", "Punjab", "141", 30.901, 75.857, 25, 30),
+            new District("Bathinda", "Punjab", "151", 30.211, 74.945, 30, 20),
+            new District("Karnal", "Haryana", "132", 29.686, 76.990, 25, 20),
+            new District("Hisar", "Haryana", "125", 29.149, 75.722, 35, 22),
+            new District("Meerut", "Uttar Pradesh", "250", 28.984, 77.706, 25, 35),
+            new District("Bareilly", "Uttar Pradesh", "243", 28.367, 79.430, 30, 38),
+            new District("Lucknow", "Uttar Pradesh", "226", 26.847, 80.946, 30, 40),
+            new District("Gorakhpur", "Uttar Pradesh", "273", 26.760, 83.373, 30, 40),
+            new District("Varanasi", "Uttar Pradesh", "221", 25.317, 82.974, 25, 35),
+            new District("Agra", "Uttar Pradesh", "282", 27.177, 78.008, 30, 30),
+            new District("Patna", "Bihar", "800", 25.594, 85.137, 30, 45),
+            new District("Muzaffarpur", "Bihar", "842", 26.120, 85.365, 30, 40),
+            new District("Purnia", "Bihar", "854", 25.778, 87.474, 30, 28),
+            new District("Bardhaman", "West Bengal", "713", 23.232, 87.861, 30, 35),
+            new District("Murshidabad", "West Bengal", "742", 24.175, 88.280, 30, 32),
+            new District("Cuttack", "Odisha", "753", 20.462, 85.883, 30, 22),
+            new District("Sambalpur", "Odisha", "768", 21.466, 83.976, 35, 12),
+            new District("Raipur", "Chhattisgarh", "492", 21.251, 81.630, 35, 20),
+            new District("Jabalpur", "Madhya Pradesh", "482", 23.181, 79.986, 35, 20),
+            new District("Indore", "Madhya Pradesh", "452", 22.720, 75.858, 35, 25),
+            new District("Vidisha", "Madhya Pradesh", "464", 23.525, 77.806, 35, 15),
+            new District("Jaipur", "Rajasthan", "302", 26.912, 75.787, 40, 30),
+            new District("Sri Ganganagar", "Rajasthan", "335", 29.904, 73.877, 40, 15),
+            new District("Kota", "Rajasthan", "324", 25.213, 75.864, 35, 14),
+            new District("Ahmedabad", "Gujarat", "380", 23.023, 72.571, 35, 22),
+            new District("Rajkot", "Gujarat", "360", 22.303, 70.802, 40, 20),
+            new District("Banaskantha", "Gujarat", "385", 24.174, 72.433, 40, 14),
+            new District("Nashik", "Maharashtra", "422", 19.998, 73.790, 35, 30),
+            new District("Pune", "Maharashtra", "411", 18.520, 73.857, 35, 30),
+            new District("Ahmednagar", "Maharashtra", "414", 19.095, 74.749, 40, 28),
+            new District("Nagpur", "Maharashtra", "440", 21.146, 79.088, 35, 22),
+            new District("Aurangabad", "Maharashtra", "431", 19.876, 75.343, 35, 22),
+            new District("Kolhapur", "Maharashtra", "416", 16.705, 74.243, 30, 18),
+            new District("Belagavi", "Karnataka", "590", 15.850, 74.498, 35, 22),
+            new District("Mandya", "Karnataka", "571", 12.522, 76.897, 25, 12),
+            new District("Raichur", "Karnataka", "584", 16.212, 77.344, 35, 12),
+            new District("Guntur", "Andhra Pradesh", "522", 16.307, 80.436, 30, 24),
+            new District("East Godavari", "Andhra Pradesh", "533", 16.989, 82.247, 30, 26),
+            new District("Warangal", "Telangana", "506", 17.968, 79.594, 30, 18),
+            new District("Nalgonda", "Telangana", "508", 17.057, 79.267, 35, 16),
+            new District("Thanjavur", "Tamil Nadu", "613", 10.787, 79.138, 25, 16),
+            new District("Coimbatore", "Tamil Nadu", "641", 11.017, 76.956, 30, 16),
+            new District("Palakkad", "Kerala", "678", 10.787, 76.654, 20, 8),
+            new District("Nagaon", "Assam", "782", 26.350, 92.684, 30, 12),
+            new District("Dehradun", "Uttarakhand", "248", 30.317, 78.032, 20, 4),
+            new District("Kangra", "Himachal Pradesh", "176", 32.099, 76.269, 20, 3),
+            new District("Jammu", "Jammu and Kashmir", "180", 32.727, 74.857, 20, 4)
+    );
+
+    private static final int[] CUMULATIVE_WEIGHTS = new int[ALL.size()];
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (int i = 0; i < ALL.size(); i++) {
+            total += ALL.get(i).weight();
+            CUMULATIVE_WEIGHTS[i] = total;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private IndianDistricts() {
+    }
+
+    static District pick(SplittableRandom random) {
+        int target = random.nextInt(TOTAL_WEIGHT);
+        for (int i = 0; i < CUMULATIVE_WEIGHTS.length; i++) {
+            if (target < CUMULATIVE_WEIGHTS[i]) {
+                return ALL.get(i);
+            }
+        }
+        return ALL.get(ALL.size() - 1);
+    }
+}
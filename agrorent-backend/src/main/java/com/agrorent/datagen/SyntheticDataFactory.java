@@ -0,0 +1,352 @@
+package com.agrorent.datagen;
+
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.RatingScore;
+import com.agrorent.model.User;
+import com.agrorent.model.enums.BookingStatus;
+import com.agrorent.model.enums.EquipmentCategory;
+import com.agrorent.model.enums.UserRole;
+import com.agrorent.service.BookingService;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds synthetic users, listings and bookings. Each document is derived only from the seed and
+ * its index: a listing regenerates its owner from the owner's index, a booking regenerates its
+ * listing and rent taker. Nothing is held in memory between documents, so any index range can be
+ * generated independently and in parallel.
+ */
+public class SyntheticDataFactory {
+
+    private static final long USER_KIND = 0x11;
+    private static final long EQUIPMENT_KIND = 0x22;
+    private static final long BOOKING_KIND = 0x33;
+
+    private static final String[] FIRST_NAMES = {
+            "Ramesh", "Suresh", "Mahesh", "Rajesh", "Sunil", "Anil", "Vijay", "Sanjay", "Manoj", "Ravi",
+            "Gurpreet", "Harjeet", "Baldev", "Sukhwinder", "Ramesh", "Prakash", "Ganesh", "Santosh",
+            "Lakshmi", "Sita", "Geeta", "Sunita", "Anita", "Kamla", "Savitri", "Murugan", "Venkatesh",
+            "Srinivas", "Basavaraj", "Dilip", "Bhupendra", "Arjun", "Mohan", "Shankar", "Rekha"
+    };
+    private static final String[] LAST_NAMES = {
+            "Patil", "Yadav", "Singh", "Kumar", "Sharma", "Verma", "Chauhan", "Jadhav", "Pawar",
+            "Reddy", "Naidu", "Gowda", "Patel", "Chaudhary", "Sandhu", "Gill", "Mishra", "Tiwari",
+            "Mandal", "Das", "Nayak", "Rao", "Pillai", "Thakur", "Meena", "Jat", "Kurmi", "Bhosale"
+    };
+    private static final String[] VILLAGE_PREFIXES = {
+            "Ram", "Shiv", "Krishna", "Lakshmi", "Hanuman", "Sultan", "Chand", "Bhim", "Sher", "Ganga",
+            "Devi", "Nand", "Hari", "Kishan", "Madhav", "Sona", "Moti", "Hira", "Bela", "Amar"
+    };
+    private static final String[] VILLAGE_SUFFIXES = {
+            "pur", "nagar", "gaon", "wadi", "pura", "garh", "khed", "palli", "halli", "ganj", "abad", "kheda"
+    };
+    private static final String[] BRANDS = {
+            "Mahindra", "Swaraj", "Sonalika", "John Deere", "TAFE", "Eicher", "Escorts", "New Holland",
+            "Kubota", "Kartar", "Preet", "Shaktiman", "Fieldking", "Dasmesh"
+    };
+
+    // Listing mix: tractors dominate, specialised machines form a long tail
+    private static final EquipmentCategory[] CATEGORIES = EquipmentCategory.values();
+    private static final int[] CATEGORY_WEIGHTS = new int[CATEGORIES.length];
+    private static final int[] BASE_PRICE_PER_DAY = new int[CATEGORIES.length];
+    private static final int[][] MONTH_WEIGHTS = new int[CATEGORIES.length][];
+
+    // Month weights (Jan..Dec) for the two cropping seasons: kharif (sown Jun-Jul, harvested
+    // Oct-Nov) and rabi (sown Nov-Dec, harvested Mar-Apr)
+    private static final int[] SOWING = {2, 1, 1, 2, 3, 10, 10, 3, 2, 4, 9, 8};
+    private static final int[] HARVEST = {1, 2, 9, 10, 3, 1, 1, 1, 3, 10, 9, 2};
+    private static final int[] SPRAYING = {6, 6, 2, 1, 1, 2, 4, 8, 8, 3, 2, 4};
+    private static final int[] IRRIGATION = {4, 5, 7, 9, 10, 6, 2, 1, 2, 4, 5, 4};
+    private static final int[] GENERAL = {4, 4, 6, 7, 4, 7, 7, 3, 3, 7, 8, 6};
+
+    static {
+        category(EquipmentCategory.TRACTOR, 30, 1500, GENERAL);
+        category(EquipmentCategory.ROTAVATOR, 12, 1200, SOWING);
+        category(EquipmentCategory.CULTIVATOR, 10, 800, SOWING);
+        category(EquipmentCategory.TRAILER, 9, 600, HARVEST);
+        category(EquipmentCategory.HARVESTER, 7, 6000, HARVEST);
+        category(EquipmentCategory.THRESHER, 7, 2000, HARVEST);
+        category(EquipmentCategory.PLOUGH, 6, 700, SOWING);
+        category(EquipmentCategory.SPRAYER, 5, 400, SPRAYING);
+        category(EquipmentCategory.PUMP, 5, 350, IRRIGATION);
+        category(EquipmentCategory.SEEDER, 4, 1000, SOWING);
+        category(EquipmentCategory.TILLER, 3, 900, SOWING);
+        category(EquipmentCategory.OTHER, 2, 500, GENERAL);
+    }
+
+    private static void category(EquipmentCategory category, int weight, int basePricePerDay, int[] months) {
+        CATEGORY_WEIGHTS[category.ordinal()] = weight;
+        BASE_PRICE_PER_DAY[category.ordinal()] = basePricePerDay;
+        MONTH_WEIGHTS[category.ordinal()] = months;
+    }
+
+    private final DataGeneratorProperties properties;
+    private final String passwordHash;
+    private final int ownerCount;
+    private final LocalDateTime referenceTime;
+
+    public SyntheticDataFactory(DataGeneratorProperties properties, String passwordHash) {
+        this.properties = properties;
+        this.passwordHash = passwordHash;
+        this.ownerCount = Math.max(1, (int) (properties.getUsers() * properties.getOwnerFraction()));
+        this.referenceTime = properties.getReferenceDate().atStartOfDay();
+    }
+
+    public static String userId(long index) {
+        return objectId(USER_KIND, index);
+    }
+
+    public static String equipmentId(long index) {
+        return objectId(EQUIPMENT_KIND, index);
+    }
+
+    public static String bookingId(long index) {
+        return objectId(BOOKING_KIND, index);
+    }
+
+    // Phone numbers are unique per user index and match the registration pattern ^[6-9]\d{9}$
+    public static String phone(long userIndex) {
+        return String.valueOf(6_000_000_000L + userIndex);
+    }
+
+    public User user(long index) {
+        SplittableRandom random = random(USER_KIND, index);
+        IndianDistricts.District district = IndianDistricts.pick(random);
+        GeoJsonPoint location = scatter(district.latitude(), district.longitude(), district.spreadKm(), random);
+        LocalDateTime createdAt = referenceTime.minusDays(random.nextInt(properties.getHistoryYears() * 365 + 180));
+
+        return User.builder()
+                .id(userId(index))
+                .phone(phone(index))
+                .name(pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random))
+                .password(passwordHash)
+                .role(UserRole.USER)
+                .location(location)
+                .address("Ward " + (1 + random.nextInt(15)))
+                .village(pick(VILLAGE_PREFIXES, random) + pick(VILLAGE_SUFFIXES, random))
+                .district(district.name())
+                .state(district.state())
+                .pincode(district.pincodePrefix() + String.format("%03d", random.nextInt(1000)))
+                .preferredLanguage(random.nextInt(10) < 7 ? "hi" : "en")
+                .verified(random.nextInt(10) < 3)
+                .active(true)
+                .rating(0.0)
+                .totalRatings(0)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    public Equipment equipment(long index) {
+        SplittableRandom random = random(EQUIPMENT_KIND, index);
+        // Quadratic skew: a few owners (cooperatives, dealers) hold many listings
+        long ownerIndex = (long) (ownerCount * Math.pow(random.nextDouble(), 2));
+        User owner = user(ownerIndex);
+
+        EquipmentCategory category = pickCategory(random);
+        double pricePerDay = roundTo(BASE_PRICE_PER_DAY[category.ordinal()] * Math.exp(random.nextGaussian() * 0.3), 50);
+        int totalRatings = random.nextInt(100) < 35 ? 0 : (int) Math.min(400, -40 * Math.log(1 - random.nextDouble()));
+        double rating = totalRatings == 0 ? 0.0
+                : Math.round(Math.min(5.0, 3.2 + 1.8 * Math.sqrt(random.nextDouble())) * 10.0) / 10.0;
+        LocalDateTime createdAt = owner.getCreatedAt().plusDays(random.nextInt(90));
+
+        return Equipment.builder()
+                .id(equipmentId(index))
+                .ownerId(owner.getId())
+                .ownerName(owner.getName())
+                .ownerPhone(owner.getPhone())
+                .name(pick(BRANDS, random) + " " + displayName(category) + (category == EquipmentCategory.TRACTOR
+                        || category == EquipmentCategory.HARVESTER ? " " + (20 + random.nextInt(60)) + " HP" : ""))
+                .description(displayName(category) + " available for rent in " + owner.getVillage()
+                        + ", operator available on request")
+                .category(category)
+                .images(images(random))
+                .verificationDocs(new ArrayList<>())
+                .verified(random.nextInt(10) < 3)
+                .pricePerHour(random.nextBoolean() ? roundTo(pricePerDay / 8, 10) : null)
+                .pricePerDay(pricePerDay)
+                .pricePerWeek(random.nextInt(10) < 4 ? roundTo(pricePerDay * 6, 100) : null)
+                .location(scatter(owner.getLocation().getY(), owner.getLocation().getX(), 5, random))
+                .address(owner.getAddress())
+                .village(owner.getVillage())
+                .district(owner.getDistrict())
+                .state(owner.getState())
+                .pincode(owner.getPincode())
+                .available(random.nextInt(100) < 85)
+                .rating(rating)
+                .totalRatings(totalRatings)
+                .ratingScore(RatingScore.of(rating, totalRatings))
+                .timesRented(totalRatings + random.nextInt(30))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    public Booking booking(long index) {
+        SplittableRandom random = random(BOOKING_KIND, index);
+        // Popular listings collect more bookings
+        long equipmentIndex = (long) (properties.getEquipment() * Math.pow(random.nextDouble(), 1.5));
+        Equipment equipment = equipment(equipmentIndex);
+        long rentTakerIndex = random.nextLong(properties.getUsers());
+        User rentTaker = user(rentTakerIndex);
+        if (rentTaker.getId().equals(equipment.getOwnerId())) {
+            rentTaker = user((rentTakerIndex + 1) % properties.getUsers());
+        }
+
+        LocalDateTime startDate = seasonalStart(equipment.getCategory(), random);
+        LocalDateTime endDate = startDate.plusHours(durationHours(equipment.getCategory(), random));
+        BookingService.Pricing pricing = BookingService.calculatePricing(equipment, startDate, endDate);
+        BookingStatus status = status(startDate, endDate, random);
+        boolean rated = status == BookingStatus.COMPLETED && random.nextInt(100) < 55;
+        LocalDateTime createdAt = startDate.minusDays(1 + random.nextInt(10));
+
+        return Booking.builder()
+                .id(bookingId(index))
+                .equipmentId(equipment.getId())
+                .equipmentName(equipment.getName())
+                .equipmentCategory(equipment.getCategory().name())
+                .renterId(equipment.getOwnerId())
+                .renterName(equipment.getOwnerName())
+                .renterPhone(equipment.getOwnerPhone())
+                .rentTakerId(rentTaker.getId())
+                .rentTakerName(rentTaker.getName())
+                .rentTakerPhone(rentTaker.getPhone())
+                .startDate(startDate)
+                .endDate(endDate)
+                .durationHours((int) pricing.hours())
+                .totalCost(pricing.totalCost())
+                .pricingType(pricing.pricingType())
+                .status(status)
+                .rejectionReason(status == BookingStatus.REJECTED ? "Equipment already committed for these dates" : null)
+                .ratingByRentTaker(rated ? ratingValue(random) : null)
+                .reviewByRentTaker(rated ? "Machine worked well in the field" : null)
+                .ratingByRenter(rated && random.nextBoolean() ? ratingValue(random) : null)
+                .createdAt(createdAt)
+                .updatedAt(status == BookingStatus.PENDING ? createdAt : endDate.isBefore(referenceTime) ? endDate : createdAt)
+                .build();
+    }
+
+    private LocalDateTime seasonalStart(EquipmentCategory category, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 2) {
+            // Running right now
+            return referenceTime.minusHours(1 + random.nextInt(12));
+        }
+        if (roll < 8) {
+            // Upcoming requests for the next few weeks
+            return referenceTime.plusDays(1 + random.nextInt(45)).withHour(6 + random.nextInt(4));
+        }
+        int month = weightedIndex(MONTH_WEIGHTS[category.ordinal()], random) + 1;
+        LocalDate reference = properties.getReferenceDate();
+        int year = reference.getYear() - random.nextInt(properties.getHistoryYears()) - (month < reference.getMonthValue() ? 0 : 1);
+        LocalDate day = LocalDate.of(year, month, 1).plusDays(random.nextInt(28));
+        return day.atTime(6 + random.nextInt(4), 0);
+    }
+
+    private static int durationHours(EquipmentCategory category, SplittableRandom random) {
+        switch (category) {
+            case HARVESTER:
+            case THRESHER:
+                return 24 * (1 + random.nextInt(3));
+            case SPRAYER:
+            case PUMP:
+                return random.nextBoolean() ? 4 + random.nextInt(8) : 24 * (1 + random.nextInt(5));
+            default:
+                int roll = random.nextInt(10);
+                if (roll < 4) {
+                    return 3 + random.nextInt(8);
+                }
+                return roll < 9 ? 24 * (1 + random.nextInt(5)) : 24 * (7 + random.nextInt(14));
+        }
+    }
+
+    private BookingStatus status(LocalDateTime startDate, LocalDateTime endDate, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (startDate.isAfter(referenceTime)) {
+            return roll < 60 ? BookingStatus.PENDING : roll < 95 ? BookingStatus.APPROVED : BookingStatus.CANCELLED;
+        }
+        if (endDate.isAfter(referenceTime)) {
+            return BookingStatus.ACTIVE;
+        }
+        return roll < 72 ? BookingStatus.COMPLETED : roll < 84 ? BookingStatus.CANCELLED : BookingStatus.REJECTED;
+    }
+
+    private static int ratingValue(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 45 ? 5 : roll < 80 ? 4 : roll < 92 ? 3 : roll < 97 ? 2 : 1;
+    }
+
+    private List<String> images(SplittableRandom random) {
+        List<String> images = new ArrayList<>();
+        if (properties.getImageMode() == DataGeneratorProperties.ImageMode.INLINE) {
+            int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                // Compressed JPEG bytes do not compress further, so random bytes give a realistic size
+                int size = (int) (properties.getInlineImageKb() * 1024 * (0.7 + random.nextDouble() * 0.6));
+                byte[] bytes = new byte[size];
+                random.nextBytes(bytes);
+                images.add("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes));
+            }
+        } else {
+            int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                images.add("https://res.cloudinary.com/agrorent/image/upload/v1718000000/equipment/"
+                        + Long.toHexString(random.nextLong()) + ".jpg");
+            }
+        }
+        return images;
+    }
+
+    private static EquipmentCategory pickCategory(SplittableRandom random) {
+        return CATEGORIES[weightedIndex(CATEGORY_WEIGHTS, random)];
+    }
+
+    private static int weightedIndex(int[] weights, SplittableRandom random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int target = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static GeoJsonPoint scatter(double latitude, double longitude, double spreadKm, SplittableRandom random) {
+        double lat = latitude + random.nextGaussian() * spreadKm / 111.0;
+        double lon = longitude + random.nextGaussian() * spreadKm / (111.0 * Math.cos(Math.toRadians(latitude)));
+        return new GeoJsonPoint(Math.round(lon * 1e5) / 1e5, Math.round(lat * 1e5) / 1e5);
+    }
+
+    private static String displayName(EquipmentCategory category) {
+        String name = category.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double roundTo(double value, int step) {
+        return Math.max(step, Math.round(value / step) * step);
+    }
+
+    private SplittableRandom random(long kind, long index) {
+        return new SplittableRandom(properties.getSeed() ^ (kind << 56) ^ (index * 0x9E3779B97F4A7C15L));
+    }
+
+    private static String objectId(long kind, long index) {
+        return String.format("%02x%022x", kind, index);
+    }
+}
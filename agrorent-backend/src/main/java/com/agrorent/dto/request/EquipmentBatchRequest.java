@@ -0,0 +1,19 @@
+package com.agrorent.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentBatchRequest {
+
+    @NotEmpty(message = "At least one equipment ID is required")
+    private List<String> ids;
+}
@@ -1,5 +1,6 @@
 package com.agrorent.dto.request;
 
+import com.agrorent.model.ServiceArea;
 import com.agrorent.model.enums.EquipmentCategory;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -53,4 +54,7 @@ public class EquipmentRequest {
     private String district;
     private String state;
     private String pincode;
+
+    // Delivery radius or polygon; leave out for pickup only
+    private ServiceArea serviceArea;
 }
@@ -16,6 +16,7 @@ public class EquipmentSearchRequest {
     private Double latitude;
     private Double longitude;
     private Double radiusKm;  // Search radius in kilometers
+    private Integer nearest;  // k-nearest mode: the radius grows in rings up to radiusKm until this many match
 
     // Filters
     private EquipmentCategory category;
@@ -24,10 +25,13 @@ public class EquipmentSearchRequest {
     private String pricingType;  // HOURLY, DAILY, WEEKLY
 
     // Sorting
-    private String sortBy;  // distance, price, rating
+    private String sortBy;  // distance, price, rating, relevance
     private String sortOrder;  // asc, desc
 
-    // Pagination
+    // Also count matches by category, price, rating, verification and distance
+    private Boolean facets;
+
+    // Pagination (relevance sort only)
     @Builder.Default
     private Integer page = 0;
 
@@ -0,0 +1,45 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.cache.EntityCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private Boolean enabled;
+    private Long size;
+    private Long weightedSize;
+    private Long maxWeight;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long evictionCount;
+    private Long evictionWeight;
+    private Long loadCount;
+    private Double averageLoadPenaltyMillis;
+
+    public static CacheStatsResponse fromCache(EntityCache<?> cache) {
+        CacheStats stats = cache.getStats();
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .enabled(cache.isEnabled())
+                .size(cache.getEstimatedSize())
+                .weightedSize(cache.getWeightedSize())
+                .maxWeight(cache.getMaxWeight())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .loadCount(stats.loadCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentBatchResponse {
+    // Same order and length as the requested ids; null where an id was not found
+    private List<EquipmentResponse> equipment;
+    private List<String> missing;
+}
@@ -1,6 +1,7 @@
 package com.agrorent.dto.response;
 
 import com.agrorent.model.Equipment;
+import com.agrorent.model.ServiceArea;
 import com.agrorent.model.enums.EquipmentCategory;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,9 +35,11 @@ public class EquipmentResponse {
     private String district;
     private String state;
     private String pincode;
+    private ServiceArea serviceArea;  // Delivery radius or polygon; null for pickup only
     private Boolean available;
     private Double rating;
     private Integer totalRatings;
+    private Double ratingScore;  // Rating adjusted for how many ratings there are; rating sorts use this
     private Integer timesRented;
     private Double distanceKm;  // Distance from search location
 
@@ -64,9 +67,11 @@ public class EquipmentResponse {
                 .district(equipment.getDistrict())
                 .state(equipment.getState())
                 .pincode(equipment.getPincode())
+                .serviceArea(equipment.getServiceArea())
                 .available(equipment.getAvailable())
                 .rating(equipment.getRating())
                 .totalRatings(equipment.getTotalRatings())
+                .ratingScore(equipment.getRatingScore())
                 .timesRented(equipment.getTimesRented())
                 .distanceKm(distanceKm);
 
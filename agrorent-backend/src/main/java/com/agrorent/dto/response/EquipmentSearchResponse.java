@@ -0,0 +1,17 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentSearchResponse {
+    private List<EquipmentResponse> equipment;
+    private SearchFacets facets;
+}
@@ -0,0 +1,16 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucket {
+    private double min;  // Inclusive
+    private Double max;  // Exclusive; null for the open-ended last bucket
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.model.enums.EquipmentCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapCluster {
+    private double latitude;  // Centroid of the listings in the cell
+    private double longitude;
+    private int count;
+    private Map<EquipmentCategory, Integer> categoryCounts;  // Categories present only
+    private Double minPricePerDay;
+}
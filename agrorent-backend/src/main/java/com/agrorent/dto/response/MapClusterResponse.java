@@ -0,0 +1,19 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapClusterResponse {
+    private int zoom;
+    private int level;  // Grid level the clusters were read from; coarser when the box is large
+    private int totalCount;  // Available listings in the returned clusters
+    private List<MapCluster> clusters;
+}
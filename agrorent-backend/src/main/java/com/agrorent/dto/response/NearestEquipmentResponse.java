@@ -0,0 +1,19 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestEquipmentResponse {
+    private List<EquipmentResponse> equipment;  // Nearest first
+    private double radiusKm;  // Outer radius of the last ring searched
+    private int rings;  // Queries it took
+    private boolean complete;  // False when the maximum radius holds fewer than k matches
+}
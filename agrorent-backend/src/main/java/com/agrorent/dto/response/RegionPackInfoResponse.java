@@ -0,0 +1,21 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegionPackInfoResponse {
+    private String district;
+    private long version;
+    private String etag;
+    private int equipmentCount;
+    private long sizeBytes;  // Compressed size of the download
+    private Instant builtAt;
+}
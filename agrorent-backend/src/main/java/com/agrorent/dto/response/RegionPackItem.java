@@ -0,0 +1,75 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.model.Equipment;
+import com.agrorent.model.enums.EquipmentCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary of one listing in a district region pack: enough to browse and filter offline, with the
+ * full listing fetched by id when opened.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegionPackItem {
+
+    // Document fields the summary is built from, besides the first entry of images
+    public static final String[] SOURCE_FIELDS = {
+            "name", "category", "ownerName", "verified", "pricePerHour", "pricePerDay", "pricePerWeek",
+            "location", "village", "pincode", "rating", "totalRatings", "district"
+    };
+
+    private String id;
+    private String name;
+    private EquipmentCategory category;
+    private String ownerName;
+    private Boolean verified;
+    private Double pricePerHour;
+    private Double pricePerDay;
+    private Double pricePerWeek;
+    private Double latitude;
+    private Double longitude;
+    private String village;
+    private String pincode;
+    private Double rating;
+    private Integer totalRatings;
+    private String thumbnail;  // First image URL; inline (data:) images are left out
+
+    public static RegionPackItem fromEquipment(Equipment equipment) {
+        RegionPackItemBuilder builder = RegionPackItem.builder()
+                .id(equipment.getId())
+                .name(equipment.getName())
+                .category(equipment.getCategory())
+                .ownerName(equipment.getOwnerName())
+                .verified(equipment.getVerified())
+                .pricePerHour(equipment.getPricePerHour())
+                .pricePerDay(equipment.getPricePerDay())
+                .pricePerWeek(equipment.getPricePerWeek())
+                .village(equipment.getVillage())
+                .pincode(equipment.getPincode())
+                .rating(equipment.getRating())
+                .totalRatings(equipment.getTotalRatings())
+                .thumbnail(thumbnail(equipment.getImages()));
+
+        if (equipment.getLocation() != null) {
+            builder.longitude(equipment.getLocation().getX());
+            builder.latitude(equipment.getLocation().getY());
+        }
+
+        return builder.build();
+    }
+
+    private static String thumbnail(List<String> images) {
+        if (images == null || images.isEmpty()) {
+            return null;
+        }
+        String first = images.get(0);
+        return first != null && (first.startsWith("https://") || first.startsWith("http://")) ? first : null;
+    }
+}
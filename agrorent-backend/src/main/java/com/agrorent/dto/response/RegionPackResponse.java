@@ -0,0 +1,23 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Contents of a region pack file (served gzipped).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegionPackResponse {
+    private String district;
+    private long version;
+    private Instant builtAt;
+    private List<RegionPackItem> equipment;
+}
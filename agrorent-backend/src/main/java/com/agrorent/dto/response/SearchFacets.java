@@ -0,0 +1,27 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.model.enums.EquipmentCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Match counts per facet. Each facet is counted with every filter of the search except its own,
+ * so the category counts show what picking another category would return.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacets {
+    private Map<EquipmentCategory, Long> category;
+    private List<FacetBucket> price;  // By the searched pricing type; listings without that price are left out
+    private List<FacetBucket> rating;
+    private long verified;
+    private long unverified;
+    private List<FacetBucket> distanceKm;  // Only for searches with a location
+}
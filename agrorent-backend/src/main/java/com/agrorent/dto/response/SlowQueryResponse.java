@@ -0,0 +1,46 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.monitoring.SlowQueryStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryResponse {
+    private String shape;
+    private String commandName;
+    private String collection;
+    private Long count;
+    private Long averageMillis;
+    private Long maxMillis;
+    private Instant lastSeen;
+    private String sampleCommand;
+    private Boolean collectionScan;
+    private List<String> planStages;
+    private String winningPlan;
+    private String explainError;
+
+    public static SlowQueryResponse fromStats(SlowQueryStats stats) {
+        return SlowQueryResponse.builder()
+                .shape(stats.getShape())
+                .commandName(stats.getCommandName())
+                .collection(stats.getCollection())
+                .count(stats.getCount())
+                .averageMillis(stats.getAverageMillis())
+                .maxMillis(stats.getMaxMillis())
+                .lastSeen(stats.getLastSeen())
+                .sampleCommand(stats.getSampleCommand())
+                .collectionScan(stats.isCollectionScan())
+                .planStages(stats.getPlanStages())
+                .winningPlan(stats.getWinningPlan())
+                .explainError(stats.getExplainError())
+                .build();
+    }
+}
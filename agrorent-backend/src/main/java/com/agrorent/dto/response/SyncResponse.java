@@ -0,0 +1,23 @@
+package com.agrorent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private String cursor;  // Pass as cursor= on the next call
+    private LocalDateTime watermark;  // Time the cursor points at, for display
+    private Boolean hasMore;  // More changes are waiting; call again straight away
+    private Boolean fullSync;  // A full sync starts here: replace the local copy, then merge the pages that follow
+    private List<EquipmentResponse> equipment;
+    private List<String> deletedEquipmentIds;
+    private List<BookingResponse> bookings;
+}
@@ -0,0 +1,19 @@
+package com.agrorent.exception;
+
+/**
+ * A dependency is overloaded or down and there is nothing safe to serve instead. Mapped to
+ * 503 with a {@code Retry-After} header.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
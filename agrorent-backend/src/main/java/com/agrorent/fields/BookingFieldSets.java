@@ -0,0 +1,23 @@
+package com.agrorent.fields;
+
+import com.agrorent.dto.response.BookingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets for booking responses: {@code ?fields=id,status,startDate,endDate}. The
+ * allowed names are the properties of {@link BookingResponse}, each stored under its own name
+ * except the id.
+ */
+@Component
+public class BookingFieldSets extends ResponseFieldSets {
+
+    private static final Map<String, List<String>> DOCUMENT_FIELDS = Map.of("id", List.of("_id"));
+
+    public BookingFieldSets(ObjectMapper objectMapper) {
+        super(objectMapper, BookingResponse.class, DOCUMENT_FIELDS);
+    }
+}
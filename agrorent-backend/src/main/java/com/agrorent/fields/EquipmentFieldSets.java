@@ -0,0 +1,28 @@
+package com.agrorent.fields;
+
+import com.agrorent.dto.response.EquipmentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets for equipment responses: {@code ?fields=id,name,pricePerDay}. The allowed
+ * names are the properties of {@link EquipmentResponse}.
+ */
+@Component
+public class EquipmentFieldSets extends ResponseFieldSets {
+
+    // Response properties that are not stored under their own name
+    private static final Map<String, List<String>> DOCUMENT_FIELDS = Map.of(
+            "id", List.of("_id"),
+            "latitude", List.of("location"),
+            "longitude", List.of("location"),
+            "distanceKm", List.of("location")
+    );
+
+    public EquipmentFieldSets(ObjectMapper objectMapper) {
+        super(objectMapper, EquipmentResponse.class, DOCUMENT_FIELDS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.agrorent.fields;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A validated {@code fields=} selection, compiled once by {@link ResponseFieldSets}: the response
+ * properties to write, the document fields to load for them, and the Jackson filter that drops the
+ * rest when the response is serialized.
+ *
+ * Two selections with the same properties are equal, so they can share coalesced and cached reads.
+ */
+public final class FieldSet {
+
+    /** Filter id that filterable responses are serialized with (see {@code FieldSetConfig}). */
+    public static final String FILTER_ID = "fieldSet";
+
+    private final Set<String> properties;
+    private final String[] projection;
+    private final FilterProvider filters;
+
+    FieldSet(Set<String> properties, String[] projection, boolean all) {
+        this.properties = properties;
+        this.projection = projection;
+        this.filters = all ? null : new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+
+    /** Whether every property is selected, i.e. the request had no {@code fields=}. */
+    public boolean isAll() {
+        return filters == null;
+    }
+
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Limits {@code query} to the document fields behind the selected properties, plus
+     * {@code required} ones the service needs itself (e.g. for sorting or distances).
+     */
+    public Query applyTo(Query query, String... required) {
+        query.fields().include(projection);
+        if (!isAll() && required.length > 0) {
+            query.fields().include(required);
+        }
+        return query;
+    }
+
+    /** Filters for the response body; null when every property is selected. */
+    FilterProvider getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldSet fieldSet && properties.equals(fieldSet.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return properties.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "FieldSet[*]" : "FieldSet" + properties + " <- " + Arrays.toString(projection);
+    }
+}
@@ -0,0 +1,36 @@
+package com.agrorent.fields;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Writes equipment and booking responses with only the properties selected through
+ * {@link ResponseFieldSets#select}, in JSON and in the binary encodings alike.
+ */
+@ControllerAdvice
+public class FieldSetResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object selected = attributes != null
+                ? attributes.getAttribute(ResponseFieldSets.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (selected instanceof FieldSet fieldSet) {
+            FilterProvider filters = fieldSet.getFilters();
+            if (filters != null) {
+                bodyContainer.setFilters(filters);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.agrorent.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sparse fieldsets for one response type: {@code ?fields=id,name,...}.
+ *
+ * The allowed names are the properties of the response type; anything else is rejected. Each
+ * distinct parameter value is compiled once into a {@link FieldSet} (projection array and
+ * serialization filter) and kept in a small cache, so a repeated selection costs one lookup.
+ */
+public abstract class ResponseFieldSets {
+
+    /** Request attribute holding the selection that {@link FieldSetResponseAdvice} applies. */
+    static final String REQUEST_ATTRIBUTE = ResponseFieldSets.class.getName() + ".fieldSet";
+
+    // Clients send a handful of distinct selections; the bound only guards against junk values
+    private static final int MAX_CACHED = 256;
+
+    private final Map<String, List<String>> documentFields;
+    private final Set<String> allowed;
+    private final FieldSet all;
+    private final Cache<String, FieldSet> compiled = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED)
+            .build();
+
+    /**
+     * @param documentFields document fields behind the response properties that are not stored
+     *                       under their own name
+     */
+    protected ResponseFieldSets(ObjectMapper objectMapper, Class<?> responseType,
+                                Map<String, List<String>> documentFields) {
+        this.documentFields = documentFields;
+        Set<String> properties = new LinkedHashSet<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(responseType))
+                .findProperties()) {
+            properties.add(property.getName());
+        }
+        this.allowed = Collections.unmodifiableSet(properties);
+        this.all = new FieldSet(allowed, projection(allowed), true);
+    }
+
+    /** Every property, loading every field the response is built from. */
+    public FieldSet all() {
+        return all;
+    }
+
+    /**
+     * Compiles the {@code fields} parameter (null or blank selects everything) and marks the
+     * current response to be written with only those properties.
+     */
+    public FieldSet select(String fields) {
+        FieldSet fieldSet = parse(fields);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && !fieldSet.isAll()) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, fieldSet, RequestAttributes.SCOPE_REQUEST);
+        }
+        return fieldSet;
+    }
+
+    private FieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all;
+        }
+        return compiled.get(fields, this::compile);
+    }
+
+    private FieldSet compile(String fields) {
+        Set<String> properties = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new RuntimeException("Unknown field '" + name + "'; allowed fields are " + String.join(", ", allowed));
+            }
+            properties.add(name);
+        }
+        if (properties.isEmpty() || properties.containsAll(allowed)) {
+            return all;
+        }
+        return new FieldSet(Collections.unmodifiableSet(properties), projection(properties), false);
+    }
+
+    private String[] projection(Set<String> properties) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String property : properties) {
+            fields.addAll(documentFields.getOrDefault(property, List.of(property)));
+        }
+        return fields.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,16 @@
+package com.agrorent.geo;
+
+/**
+ * The bulk pass of {@link DistanceKernel}: equirectangular distances for a batch of points, with
+ * the cosine taken at the midpoint latitude (to first order), so the result stays within a fraction
+ * of a percent of the great-circle distance over the short ranges searches use.
+ */
+interface ApproximateDistancePass {
+
+    /**
+     * Writes the approximate distance in km from the query point to each point in
+     * {@code [from, to)} (coordinates in degrees) into the same index of {@code distancesKm}.
+     */
+    void distancesKm(double latitude, double longitude, double[] latitudes, double[] longitudes, int from, int to,
+                     double[] distancesKm);
+}
@@ -0,0 +1,111 @@
+package com.agrorent.geo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distances from one query point to a batch of points held as parallel latitude and longitude
+ * arrays. A cheap equirectangular pass covers the whole batch (on the Vector API when the JVM has
+ * {@code jdk.incubator.vector}), then only the points whose approximate distance falls close to the
+ * radius get the exact haversine, so whether a point is inside the radius is decided exactly as
+ * {@link #haversineKm} would decide it.
+ *
+ * The approximation is only trusted where its error stays well under {@link #BOUNDARY_BAND}: radii
+ * up to {@link #MAX_APPROXIMATE_RADIUS_KM} around query points no further than
+ * {@link #MAX_APPROXIMATE_LATITUDE} from the equator. Other batches are computed exactly.
+ */
+@Slf4j
+public final class DistanceKernel {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+    static final double DEGREES_TO_RADIANS = Math.PI / 180;
+    static final double MAX_APPROXIMATE_RADIUS_KM = 500;
+    static final double MAX_APPROXIMATE_LATITUDE = 70;
+    // Approximate distances within this fraction of the radius are recomputed exactly
+    static final double BOUNDARY_BAND = 0.01;
+
+    private static final ApproximateDistancePass PASS = loadPass();
+
+    private DistanceKernel() {
+    }
+
+    /**
+     * Writes the distance in km from the query point to each of the first {@code count} points
+     * into {@code distancesKm} and returns how many are within {@code radiusKm}. Distances away
+     * from the radius may be off by a fraction of a percent; those near it are exact.
+     */
+    public static int distancesKm(double latitude, double longitude, double[] latitudes, double[] longitudes,
+                                  int count, double radiusKm, double[] distancesKm) {
+        return distancesKm(PASS, latitude, longitude, latitudes, longitudes, count, radiusKm, distancesKm);
+    }
+
+    // With an explicit bulk pass, to compare them in benchmarks
+    static int distancesKm(ApproximateDistancePass pass, double latitude, double longitude,
+                           double[] latitudes, double[] longitudes, int count, double radiusKm,
+                           double[] distancesKm) {
+        if (radiusKm > MAX_APPROXIMATE_RADIUS_KM || Math.abs(latitude) > MAX_APPROXIMATE_LATITUDE) {
+            int within = 0;
+            for (int i = 0; i < count; i++) {
+                distancesKm[i] = haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distancesKm[i] <= radiusKm) {
+                    within++;
+                }
+            }
+            return within;
+        }
+
+        pass.distancesKm(latitude, longitude, latitudes, longitudes, 0, count, distancesKm);
+        double band = radiusKm * BOUNDARY_BAND;
+        int within = 0;
+        for (int i = 0; i < count; i++) {
+            double distance = distancesKm[i];
+            if (Math.abs(distance - radiusKm) <= band) {
+                distance = haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+                distancesKm[i] = distance;
+            }
+            if (distance <= radiusKm) {
+                within++;
+            }
+        }
+        return within;
+    }
+
+    /**
+     * Great-circle distance in km, unrounded.
+     */
+    public static double haversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    static ApproximateDistancePass scalarPass() {
+        return new ScalarDistancePass();
+    }
+
+    // Null when the JVM was started without jdk.incubator.vector
+    static ApproximateDistancePass vectorPass() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ApproximateDistancePass) Class.forName("com.agrorent.geo.VectorDistancePass")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Could not load the vector distance pass: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ApproximateDistancePass loadPass() {
+        ApproximateDistancePass vector = vectorPass();
+        if (vector != null) {
+            log.info("Distance kernel using the Vector API");
+            return vector;
+        }
+        log.info("Distance kernel using the scalar pass; start the JVM with --add-modules jdk.incubator.vector to vectorize it");
+        return scalarPass();
+    }
+}
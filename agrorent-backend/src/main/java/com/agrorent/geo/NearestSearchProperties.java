@@ -0,0 +1,34 @@
+package com.agrorent.geo;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Ring schedule of the k-nearest equipment search: the radius starts small and grows by
+ * {@code growth-factor} until k matches are found or {@code max-radius-km} has been searched.
+ * Validated at startup, since a radius that never grows would keep the search looping.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "agrorent.search.nearest")
+public class NearestSearchProperties {
+
+    // Radius of the first ring
+    @DecimalMin(value = "0", inclusive = false)
+    private double initialRadiusKm = 5;
+
+    // Each ring's outer radius is the previous one times this
+    @DecimalMin(value = "1", inclusive = false)
+    private double growthFactor = 2;
+
+    // Largest radius searched, also the cap on a radiusKm given by the client
+    @DecimalMin(value = "0", inclusive = false)
+    private double maxRadiusKm = 200;
+
+    // Largest k a client may ask for
+    @Min(1)
+    private int maxResults = 100;
+}
@@ -0,0 +1,132 @@
+package com.agrorent.geo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * An in-memory index of listings (e.g. the map cluster grid) that is patched in place as listings
+ * are saved and rebuilt from Mongo on one background thread at startup and every interval.
+ *
+ * Changes that arrive while a rebuild is running are applied to the current index and also
+ * recorded, then replayed onto the rebuilt one before it replaces the current one, so none are
+ * lost. Reads and changes are serialised by a read-write lock; the index is null until the first
+ * load completes.
+ *
+ * @param <G> the index structure; not thread safe itself
+ */
+@Slf4j
+public final class ReloadableIndex<G> {
+
+    private final String name;
+    private final Supplier<G> loader;
+    private final ToIntFunction<G> size;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by lock
+    private G index;
+    private List<Consumer<G>> changesDuringReload;
+
+    /**
+     * @param name   what the index is called in logs and on its loader thread, e.g. "map cluster grid"
+     * @param loader builds a complete index from Mongo
+     * @param size   number of listings an index holds
+     */
+    public ReloadableIndex(String name, Supplier<G> loader, ToIntFunction<G> size) {
+        this.name = name;
+        this.loader = loader;
+        this.size = size;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name.replace(' ', '-') + "-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::reload, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Applies a change to the current index, and to the one being rebuilt if a reload is running.
+     */
+    public void apply(Consumer<G> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the current index under the read lock; {@code reader} gets null before the first load.
+     */
+    public <R> R read(Function<G, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return read(current -> current != null ? size.applyAsInt(current) : 0);
+    }
+
+    private void reload() {
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long start = System.nanoTime();
+            G loaded = loader.get();
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                replayed = changesDuringReload.size();
+                changesDuringReload.forEach(change -> change.accept(loaded));
+                index = loaded;
+            } finally {
+                changesDuringReload = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Loaded {} listings into the {} in {} ms ({} changes replayed)",
+                    size.applyAsInt(loaded), name, (System.nanoTime() - start) / 1_000_000, replayed);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Could not load the {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.agrorent.geo;
+
+/**
+ * {@link ApproximateDistancePass} as a plain loop; the JIT may still auto-vectorize parts of it.
+ */
+final class ScalarDistancePass implements ApproximateDistancePass {
+
+    @Override
+    public void distancesKm(double latitude, double longitude, double[] latitudes, double[] longitudes, int from, int to,
+                            double[] distancesKm) {
+        double latitudeRad = Math.toRadians(latitude);
+        double longitudeRad = Math.toRadians(longitude);
+        double cos = Math.cos(latitudeRad);
+        double halfSin = 0.5 * Math.sin(latitudeRad);
+        for (int i = from; i < to; i++) {
+            double dLat = latitudes[i] * DistanceKernel.DEGREES_TO_RADIANS - latitudeRad;
+            double dLon = longitudes[i] * DistanceKernel.DEGREES_TO_RADIANS - longitudeRad;
+            if (dLon > Math.PI) {
+                dLon -= 2 * Math.PI;
+            } else if (dLon < -Math.PI) {
+                dLon += 2 * Math.PI;
+            }
+            double x = dLon * (cos - halfSin * dLat);
+            distancesKm[i] = DistanceKernel.EARTH_RADIUS_KM * Math.sqrt(dLat * dLat + x * x);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,6 +20,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "bookings")
+@CompoundIndexes({
+        // Delta sync: a user's bookings on either side, in (updatedAt, _id) order
+        @CompoundIndex(name = "renter_updated_id", def = "{'renterId': 1, 'updatedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "rent_taker_updated_id", def = "{'rentTakerId': 1, 'updatedAt': 1, '_id': 1}")
+})
 public class Booking {
 
     @Id
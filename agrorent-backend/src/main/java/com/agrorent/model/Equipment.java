@@ -9,6 +9,8 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -23,6 +25,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "equipment")
+@CompoundIndexes({
+        // Delta sync: an owner's listings, and a category's, in (updatedAt, _id) order
+        @CompoundIndex(name = "owner_updated_id", def = "{'ownerId': 1, 'updatedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "category_updated_id", def = "{'category': 1, 'updatedAt': 1, '_id': 1}"),
+        // Region pack rebuild of one district
+        @CompoundIndex(name = "district_available", def = "{'district': 1, 'available': 1}"),
+        // Top rated, overall and per category, sorted and limited by the index
+        @CompoundIndex(name = "available_rating_score", def = "{'available': 1, 'ratingScore': -1}"),
+        @CompoundIndex(name = "category_available_rating_score", def = "{'category': 1, 'available': 1, 'ratingScore': -1}")
+})
 public class Equipment {
 
     @Id
@@ -67,6 +79,9 @@ public class Equipment {
     private String state;
     private String pincode;
 
+    // Delivery area; null when renters pick the equipment up
+    private ServiceArea serviceArea;
+
     // Availability
     @Builder.Default
     private Boolean available = true;
@@ -78,6 +93,9 @@ public class Equipment {
     @Builder.Default
     private Integer totalRatings = 0;
 
+    // RatingScore.of(rating, totalRatings), kept in step with both
+    private Double ratingScore;
+
     // Total times rented
     @Builder.Default
     private Integer timesRented = 0;
@@ -0,0 +1,55 @@
+package com.agrorent.model;
+
+import com.agrorent.model.enums.EquipmentCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a hard delete of a listing, so delta sync can tell clients to drop it.
+ * Expires after {@link #RETENTION}; clients that last synced before that must resync in full.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "equipment_tombstones")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_deleted_id", def = "{'ownerId': 1, 'deletedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "category_deleted_id", def = "{'category': 1, 'deletedAt': 1, '_id': 1}")
+})
+public class EquipmentTombstone {
+
+    public static final Duration RETENTION = Duration.ofDays(30);
+
+    // Id of the deleted equipment
+    @Id
+    private String id;
+
+    private String ownerId;
+    private EquipmentCategory category;
+    private String district;
+
+    // TTL index, same period as RETENTION
+    @Indexed(name = "deleted_ttl", expireAfter = "30d")
+    private LocalDateTime deletedAt;
+
+    public static EquipmentTombstone of(Equipment equipment) {
+        return EquipmentTombstone.builder()
+                .id(equipment.getId())
+                .ownerId(equipment.getOwnerId())
+                .category(equipment.getCategory())
+                .district(equipment.getDistrict())
+                .deletedAt(LocalDateTime.now())
+                .build();
+    }
+}
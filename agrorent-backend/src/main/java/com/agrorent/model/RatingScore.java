@@ -0,0 +1,22 @@
+package com.agrorent.model;
+
+/**
+ * Bayesian average of a listing's ratings, stored as {@code Equipment.ratingScore} so rating
+ * sorts can use an index. Every listing starts with {@link #PRIOR_WEIGHT} imaginary ratings of
+ * {@link #PRIOR_MEAN}: a single 5-star rating scores 3.75, while 200 ratings averaging 4.8 score
+ * 4.77. Changing either constant needs the stored scores recomputed.
+ */
+public final class RatingScore {
+
+    public static final double PRIOR_MEAN = 3.5;
+    public static final int PRIOR_WEIGHT = 5;
+
+    private RatingScore() {
+    }
+
+    public static double of(Double rating, Integer totalRatings) {
+        int count = totalRatings != null ? totalRatings : 0;
+        double average = rating != null ? rating : 0.0;
+        return (PRIOR_MEAN * PRIOR_WEIGHT + average * count) / (PRIOR_WEIGHT + count);
+    }
+}
@@ -0,0 +1,24 @@
+package com.agrorent.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Where an owner delivers a listing: a radius around its location or a polygon, one or the other.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceArea {
+
+    // Delivers to farms within this distance of the listing's location
+    private Double radiusKm;
+
+    // Or inside this ring of [longitude, latitude] points, GeoJSON order; closing point optional
+    private List<List<Double>> polygon;
+}
@@ -0,0 +1,58 @@
+package com.agrorent.monitoring;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reduces a filter or pipeline to its shape by replacing literal values with {@code "?"}, so that
+ * {@code {phone: "98..."}} and {@code {phone: "70..."}} count as the same query.
+ */
+public final class QueryShape {
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    // Operators whose array operand is a list of values rather than nested expressions
+    private static final Set<String> VALUE_LIST_OPERATORS = Set.of("$in", "$nin", "$all");
+
+    // Sort and projection specs are part of the shape, keep them verbatim
+    private static final Set<String> STRUCTURAL_KEYS = Set.of("sort", "$sort", "projection", "$project");
+
+    private QueryShape() {
+    }
+
+    public static String of(String commandName, String collection, BsonDocument query) {
+        return commandName + " " + collection + " " + normalize(query).toJson();
+    }
+
+    public static BsonDocument normalize(BsonDocument document) {
+        BsonDocument shape = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            shape.put(entry.getKey(), normalizeValue(entry.getKey(), entry.getValue()));
+        }
+        return shape;
+    }
+
+    private static BsonValue normalizeValue(String key, BsonValue value) {
+        if (STRUCTURAL_KEYS.contains(key)) {
+            return value;
+        }
+        if (value.isDocument()) {
+            return normalize(value.asDocument());
+        }
+        if (value.isArray() && !VALUE_LIST_OPERATORS.contains(key)) {
+            BsonArray array = value.asArray();
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                // $and / $or / pipelines: keep the structure of every element
+                BsonArray shape = new BsonArray();
+                array.forEach(element -> shape.add(normalizeValue(key, element)));
+                return shape;
+            }
+        }
+        return PLACEHOLDER;
+    }
+}
@@ -0,0 +1,101 @@
+package com.agrorent.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts Mongo commands and the bytes they move for the current request. The blocking driver
+ * fires command events on the calling thread, so a thread-local scope opened by
+ * {@link RoundTripFilter} sees every call the request makes. Commands outside a scope (startup,
+ * background jobs, reactive endpoints) are ignored.
+ *
+ * Sizes are read off the encoded bytes the driver already holds: the length prefix of a document
+ * backed by the wire buffer, or the buffer of a {@link RawBsonDocument}. A document the driver
+ * has already decoded, such as an insert with its documents appended, is not re-encoded just to
+ * be measured and adds nothing to the byte count.
+ */
+@Component
+public class RoundTripCounter implements CommandListener {
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    public Scope begin() {
+        Scope scope = new Scope();
+        current.set(scope);
+        return scope;
+    }
+
+    public Scope current() {
+        return current.get();
+    }
+
+    /**
+     * Continues a request's scope on another thread, e.g. a read handed to a timeout executor.
+     * Pair with {@link #end()} on that thread.
+     */
+    public void resume(Scope scope) {
+        if (scope != null) {
+            current.set(scope);
+        }
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.operations++;
+            scope.bytes += sizeOf(event.getCommand());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.bytes += sizeOf(event.getResponse());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        // Already counted when it started
+    }
+
+    private static long sizeOf(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        // The driver's command and reply documents are views over the message buffer
+        try (BsonReader reader = document.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader binary) {
+                return binary.getBsonInput().readInt32();
+            }
+        }
+        return 0;
+    }
+
+    public static class Scope {
+
+        private int operations;
+        private long bytes;
+
+        public int getOperations() {
+            return operations;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.agrorent.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a round-trip scope per request and, once the handler has run, records the number of Mongo
+ * commands and bytes per endpoint. Runs just before Spring Security so the user lookup done by
+ * {@code JwtAuthFilter} is counted too. Endpoints that exceed their budget are logged.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@RequiredArgsConstructor
+public class RoundTripFilter extends OncePerRequestFilter {
+
+    private final RoundTripCounter roundTripCounter;
+    private final RoundTripProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RoundTripCounter.Scope scope = roundTripCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            roundTripCounter.end();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, RoundTripCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("agrorent.db.round_trips")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(scope.getOperations());
+        DistributionSummary.builder("agrorent.db.bytes")
+                .baseUnit("bytes")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(scope.getBytes());
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = properties.budgetFor(endpoint);
+        if (scope.getOperations() > budget) {
+            log.warn("{} made {} Mongo round trips ({} bytes), over its budget of {}",
+                    endpoint, scope.getOperations(), scope.getBytes(), budget);
+        }
+    }
+}
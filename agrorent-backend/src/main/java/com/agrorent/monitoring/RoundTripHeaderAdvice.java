@@ -0,0 +1,40 @@
+package com.agrorent.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev-mode response headers with the round trips made so far. Added just before the body is
+ * written, since the response is committed by the time the filter regains control.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "agrorent.mongo.round-trips.expose-header", havingValue = "true")
+public class RoundTripHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RoundTripCounter roundTripCounter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RoundTripCounter.Scope scope = roundTripCounter.current();
+        if (scope != null) {
+            response.getHeaders().set("X-DB-Round-Trips", String.valueOf(scope.getOperations()));
+            response.getHeaders().set("X-DB-Bytes", String.valueOf(scope.getBytes()));
+        }
+        return body;
+    }
+}
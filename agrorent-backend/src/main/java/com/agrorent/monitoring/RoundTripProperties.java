@@ -0,0 +1,29 @@
+package com.agrorent.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request Mongo round-trip accounting. Budgets are keyed by {@code "METHOD /uri/{pattern}"},
+ * e.g. {@code "POST /api/bookings/my/{id}/rate"}; anything unlisted uses the default budget.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.mongo.round-trips")
+public class RoundTripProperties {
+
+    private boolean enabled = true;
+
+    // Adds X-DB-Round-Trips / X-DB-Bytes to responses; meant for local development
+    private boolean exposeHeader = false;
+
+    private int defaultBudget = 10;
+
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,243 @@
+package com.agrorent.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo command listener that keeps a log of slow queries grouped by query shape. For the first
+ * slow execution of each shape it runs {@code explain} in the background, so we can tell whether
+ * the $nearSphere search, the booking conflict check or the rating lookups are scanning the
+ * collection instead of using an index.
+ *
+ * Only a sample of commands is tracked ({@code sample-rate}, a tenth by default), and only the
+ * filter part of each command is copied, so the per-command cost stays small. The log line shows
+ * the query shape with its values redacted; the literal command is only kept for the admin
+ * endpoint.
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder implements CommandListener {
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final int maxShapes;
+
+    private final Map<Integer, PendingCommand> pending = new ConcurrentHashMap<>();
+    private final Map<String, SlowQueryStats> byShape = new ConcurrentHashMap<>();
+
+    // Explains are best-effort: one background thread, dropped when it falls behind
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64),
+            runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryRecorder(ObjectProvider<MongoTemplate> mongoTemplate,
+                             @Value("${agrorent.mongo.slow-query.enabled:true}") boolean enabled,
+                             @Value("${agrorent.mongo.slow-query.threshold-ms:100}") long thresholdMillis,
+                             @Value("${agrorent.mongo.slow-query.sample-rate:0.1}") double sampleRate,
+                             @Value("${agrorent.mongo.slow-query.max-shapes:500}") int maxShapes) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        BsonDocument explainable = toExplainable(event.getCommandName(), event.getCommand());
+        if (explainable != null) {
+            pending.put(event.getRequestId(), new PendingCommand(event.getCommandName(), explainable));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    public List<SlowQueryStats> getSlowQueries() {
+        // Sorted on a snapshot of the maxima, which keep changing while we sort
+        Map<SlowQueryStats, Long> maxMillis = new HashMap<>();
+        byShape.values().forEach(stats -> maxMillis.put(stats, stats.getMaxMillis()));
+        List<SlowQueryStats> result = new ArrayList<>(maxMillis.keySet());
+        result.sort(Comparator.comparing(maxMillis::get, Comparator.reverseOrder()));
+        return result;
+    }
+
+    public void clear() {
+        byShape.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void complete(int requestId, long elapsedMillis) {
+        PendingCommand command = pending.remove(requestId);
+        if (command == null || elapsedMillis < thresholdMillis) {
+            return;
+        }
+
+        BsonValue namespace = command.explainable().get(command.targetCommand());
+        String collection = namespace.isString() ? namespace.asString().getValue() : "";
+        String shape = QueryShape.of(command.commandName(), collection, command.explainable());
+
+        SlowQueryStats stats = byShape.get(shape);
+        if (stats == null) {
+            if (byShape.size() >= maxShapes) {
+                return;
+            }
+            SlowQueryStats created = new SlowQueryStats(shape, command.commandName(), collection);
+            stats = byShape.putIfAbsent(shape, created);
+            if (stats == null) {
+                stats = created;
+                explainExecutor.execute(() -> explain(created, command.explainable()));
+            }
+        }
+
+        stats.record(elapsedMillis, command.explainable().toJson());
+        // The shape, not the command: filters carry phone numbers and other personal data
+        log.warn("Slow Mongo {} on {} took {} ms: {}", command.commandName(), collection, elapsedMillis, shape);
+    }
+
+    private void explain(SlowQueryStats stats, BsonDocument explainable) {
+        try {
+            Document result = mongoTemplate.getObject().getDb().runCommand(
+                    new Document("explain", explainable).append("verbosity", "queryPlanner"));
+
+            List<String> stages = new ArrayList<>();
+            collectStages(result, stages);
+            Object winningPlan = findWinningPlan(result);
+            stats.explained(winningPlan instanceof Document plan ? plan.toJson() : null, stages);
+        } catch (Exception e) {
+            stats.explainFailed(e.getMessage());
+        }
+    }
+
+    /**
+     * Copies just enough of a command to explain it later. Writes are explained as the equivalent
+     * find, since what we care about is how their filter is resolved. Returns null for commands
+     * that have no query plan (inserts, getMore, handshakes, the explains we issue ourselves).
+     */
+    private static BsonDocument toExplainable(String commandName, BsonDocument command) {
+        switch (commandName) {
+            case "find": {
+                BsonDocument find = new BsonDocument("find", command.get("find"))
+                        .append("filter", command.getDocument("filter", new BsonDocument()).clone());
+                if (command.containsKey("sort")) {
+                    find.append("sort", command.getDocument("sort").clone());
+                }
+                return find;
+            }
+            case "aggregate":
+                return new BsonDocument("aggregate", command.get("aggregate"))
+                        .append("pipeline", command.getArray("pipeline").clone())
+                        .append("cursor", new BsonDocument());
+            case "count":
+                return new BsonDocument("count", command.get("count"))
+                        .append("query", command.getDocument("query", new BsonDocument()).clone());
+            case "update":
+                return firstStatementAsFind(command, "update", "updates");
+            case "delete":
+                return firstStatementAsFind(command, "delete", "deletes");
+            case "findAndModify":
+                return new BsonDocument("find", command.get("findAndModify"))
+                        .append("filter", command.getDocument("query", new BsonDocument()).clone());
+            default:
+                return null;
+        }
+    }
+
+    private static BsonDocument firstStatementAsFind(BsonDocument command, String name, String statements) {
+        if (!command.containsKey(statements) || command.getArray(statements).isEmpty()) {
+            return null;
+        }
+        BsonDocument statement = command.getArray(statements).get(0).asDocument();
+        return new BsonDocument("find", new BsonString(command.getString(name).getValue()))
+                .append("filter", statement.getDocument("q", new BsonDocument()).clone());
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if ("stage".equals(key) && value instanceof String stage) {
+                    stages.add(stage);
+                } else if (!"rejectedPlans".equals(key)) {
+                    collectStages(value, stages);
+                }
+            });
+        } else if (node instanceof Collection<?> values) {
+            values.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private static Object findWinningPlan(Object node) {
+        if (node instanceof Document document) {
+            if (document.containsKey("winningPlan")) {
+                return document.get("winningPlan");
+            }
+            for (Object value : document.values()) {
+                Object plan = findWinningPlan(value);
+                if (plan != null) {
+                    return plan;
+                }
+            }
+        } else if (node instanceof Collection<?> values) {
+            for (Object value : values) {
+                Object plan = findWinningPlan(value);
+                if (plan != null) {
+                    return plan;
+                }
+            }
+        }
+        return null;
+    }
+
+    private record PendingCommand(String commandName, BsonDocument explainable) {
+
+        // Name of the command the explainable document runs (writes are explained as find)
+        String targetCommand() {
+            return explainable.getFirstKey();
+        }
+    }
+}
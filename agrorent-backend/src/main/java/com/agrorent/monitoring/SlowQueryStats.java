@@ -0,0 +1,71 @@
+package com.agrorent.monitoring;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated slow executions of one query shape, plus the explain plan captured for it.
+ *
+ * Recorded from the driver's threads and read by the admin endpoint without locking; the counters
+ * are independent, so a reader may see one execution in the count before it reaches the total.
+ */
+@Getter
+public class SlowQueryStats {
+
+    private final String shape;
+    private final String commandName;
+    private final String collection;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+    private volatile Instant lastSeen;
+    private volatile String sampleCommand;
+
+    // Filled in asynchronously once per shape
+    private volatile String winningPlan;
+    private volatile List<String> planStages;
+    private volatile boolean collectionScan;
+    private volatile String explainError;
+
+    SlowQueryStats(String shape, String commandName, String collection) {
+        this.shape = shape;
+        this.commandName = commandName;
+        this.collection = collection;
+    }
+
+    void record(long elapsedMillis, String command) {
+        count.increment();
+        totalMillis.add(elapsedMillis);
+        maxMillis.accumulate(elapsedMillis);
+        lastSeen = Instant.now();
+        sampleCommand = command;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxMillis() {
+        return maxMillis.get();
+    }
+
+    public long getAverageMillis() {
+        long executions = count.sum();
+        return executions == 0 ? 0 : totalMillis.sum() / executions;
+    }
+
+    void explained(String winningPlan, List<String> planStages) {
+        this.planStages = planStages;
+        this.collectionScan = planStages.contains("COLLSCAN");
+        this.winningPlan = winningPlan;
+    }
+
+    void explainFailed(String error) {
+        this.explainError = error;
+    }
+}
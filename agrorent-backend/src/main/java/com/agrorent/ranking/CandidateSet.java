@@ -0,0 +1,107 @@
+package com.agrorent.ranking;
+
+import com.agrorent.geo.DistanceKernel;
+
+import java.util.Arrays;
+
+/**
+ * Search candidates as parallel primitive arrays (struct of arrays), holding only what ranking
+ * reads. Candidate {@code i} is slot {@code i} of every array; the arrays grow as candidates are
+ * added.
+ */
+public final class CandidateSet {
+
+    private String[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] distancesKm;
+    private double[] prices;
+    private double[] ratingScores;
+    private boolean[] verified;
+    private int[] timesRented;
+    private int size;
+
+    public CandidateSet(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new String[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        distancesKm = new double[capacity];
+        prices = new double[capacity];
+        ratingScores = new double[capacity];
+        verified = new boolean[capacity];
+        timesRented = new int[capacity];
+    }
+
+    /**
+     * Adds a candidate at the given position. A missing price is stored as NaN and scores as the
+     * dearest. The distance stays NaN until {@link #measureFrom} is called.
+     */
+    public void add(String id, double latitude, double longitude, Double price, Double ratingScore,
+                    Boolean isVerified, Integer rented) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        distancesKm[size] = Double.NaN;
+        prices[size] = price != null ? price : Double.NaN;
+        ratingScores[size] = ratingScore != null ? ratingScore : 0.0;
+        verified[size] = Boolean.TRUE.equals(isVerified);
+        timesRented[size] = rented != null ? rented : 0;
+        size++;
+    }
+
+    /**
+     * Sets the distance of every candidate from the search location in one batch through
+     * {@link DistanceKernel}, and returns how many are within {@code radiusKm}.
+     */
+    public int measureFrom(double latitude, double longitude, double radiusKm) {
+        return DistanceKernel.distancesKm(latitude, longitude, latitudes, longitudes, size, radiusKm, distancesKm);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String id(int index) {
+        return ids[index];
+    }
+
+    public double distanceKm(int index) {
+        return distancesKm[index];
+    }
+
+    double[] distancesKm() {
+        return distancesKm;
+    }
+
+    double[] prices() {
+        return prices;
+    }
+
+    double[] ratingScores() {
+        return ratingScores;
+    }
+
+    boolean[] verified() {
+        return verified;
+    }
+
+    int[] timesRented() {
+        return timesRented;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        distancesKm = Arrays.copyOf(distancesKm, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        ratingScores = Arrays.copyOf(ratingScores, capacity);
+        verified = Arrays.copyOf(verified, capacity);
+        timesRented = Arrays.copyOf(timesRented, capacity);
+    }
+}
@@ -0,0 +1,31 @@
+package com.agrorent.ranking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Blend behind {@code sortBy=relevance} in equipment search. Each factor is scaled to 0..1 before
+ * it is weighted, so the weights are directly comparable.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.search.relevance")
+public class RelevanceProperties {
+
+    // Nearer is better, relative to the search radius; no effect without a location
+    private double distanceWeight = 0.35;
+
+    // Cheaper is better, relative to the cheapest and dearest candidate
+    private double priceWeight = 0.20;
+
+    // Bayesian ratingScore out of 5
+    private double ratingWeight = 0.25;
+
+    // Verified listings
+    private double reliabilityWeight = 0.10;
+
+    // timesRented, on a log scale relative to the most rented candidate
+    private double popularityWeight = 0.10;
+
+    // Deepest result a relevance search can page to: (page + 1) * size
+    private int maxResults = 1_000;
+}
@@ -0,0 +1,97 @@
+package com.agrorent.ranking;
+
+/**
+ * Scores search candidates by the configured blend of distance, price, rating, reliability and
+ * popularity, and keeps the best {@code k} in a {@link TopK}. Scoring reads the primitive arrays of
+ * a {@link CandidateSet} in two passes (one for the price and popularity ranges, one to score), so
+ * nothing is allocated per candidate and no candidate outside the top k is ever turned into a
+ * response.
+ */
+public final class RelevanceRanker {
+
+    private static final double MAX_RATING = 5.0;
+    // log1p of the usual timesRented values; Math.log1p would be most of the cost of a score
+    private static final double[] LOG1P = new double[4096];
+
+    static {
+        for (int i = 0; i < LOG1P.length; i++) {
+            LOG1P[i] = Math.log1p(i);
+        }
+    }
+
+    private final RelevanceProperties properties;
+
+    public RelevanceRanker(RelevanceProperties properties) {
+        if (properties.getDistanceWeight() < 0 || properties.getPriceWeight() < 0 || properties.getRatingWeight() < 0
+                || properties.getReliabilityWeight() < 0 || properties.getPopularityWeight() < 0) {
+            throw new IllegalArgumentException("Relevance weights must not be negative");
+        }
+        this.properties = properties;
+    }
+
+    public int maxResults() {
+        return properties.getMaxResults();
+    }
+
+    /**
+     * Indices into {@code candidates} of the {@code k} most relevant, best first.
+     *
+     * @param radiusKm search radius the distances are relative to; ignored when distances are NaN
+     */
+    public int[] rank(CandidateSet candidates, double radiusKm, int k) {
+        int size = candidates.size();
+        double[] distances = candidates.distancesKm();
+        double[] prices = candidates.prices();
+        double[] ratings = candidates.ratingScores();
+        boolean[] verified = candidates.verified();
+        int[] rented = candidates.timesRented();
+
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        int maxRented = 0;
+        for (int i = 0; i < size; i++) {
+            double price = prices[i];
+            if (price < minPrice) {
+                minPrice = price;
+            }
+            if (price > maxPrice) {
+                maxPrice = price;
+            }
+            if (rented[i] > maxRented) {
+                maxRented = rented[i];
+            }
+        }
+        double priceRange = maxPrice - minPrice;
+        double logMaxRented = log1p(maxRented);
+
+        double distanceWeight = properties.getDistanceWeight();
+        double distanceScale = distanceWeight / radiusKm;
+        double priceWeight = properties.getPriceWeight();
+        double ratingWeight = properties.getRatingWeight() / MAX_RATING;
+        double reliabilityWeight = properties.getReliabilityWeight();
+        double popularityWeight = logMaxRented > 0 ? properties.getPopularityWeight() / logMaxRented : 0;
+
+        TopK top = new TopK(Math.max(1, Math.min(k, size)));
+        for (int i = 0; i < size; i++) {
+            double score = ratingWeight * ratings[i] + popularityWeight * log1p(rented[i]);
+            if (verified[i]) {
+                score += reliabilityWeight;
+            }
+            double distance = distances[i];
+            if (distance == distance) { // not NaN
+                score += distanceWeight - distanceScale * Math.min(distance, radiusKm);
+            }
+            double price = prices[i];
+            if (price == price) {
+                // A single price (or all equal) counts as cheapest
+                score += priceRange > 0 ? priceWeight * (maxPrice - price) / priceRange : priceWeight;
+            }
+            top.offer(i, score);
+        }
+        return size == 0 ? new int[0] : top.drainBestFirst();
+    }
+
+    private static double log1p(int value) {
+        return value < LOG1P.length ? LOG1P[Math.max(0, value)] : Math.log1p(value);
+    }
+}
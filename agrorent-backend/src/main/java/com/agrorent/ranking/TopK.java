@@ -0,0 +1,98 @@
+package com.agrorent.ranking;
+
+/**
+ * The {@code k} highest scores offered, as a bounded min-heap over two primitive arrays: the root
+ * is the weakest of the current top k, so each offer is one comparison and, when it wins, one
+ * sift down. {@code n} offers cost O(n log k) with no allocation after construction.
+ *
+ * Ties keep the candidate offered first, so ranking a list in its stored order is deterministic.
+ */
+public final class TopK {
+
+    private final int[] indices;
+    private final double[] scores;
+    private int size;
+
+    public TopK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        this.indices = new int[k];
+        this.scores = new double[k];
+    }
+
+    public void offer(int index, double score) {
+        if (size < indices.length) {
+            indices[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            indices[0] = index;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The kept indices, best first. Empties the heap.
+     */
+    public int[] drainBestFirst() {
+        // Heap sort in place: the weakest goes to the end each time, leaving best first
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        int[] best = new int[size];
+        System.arraycopy(indices, 0, best, 0, size);
+        size = 0;
+        return best;
+    }
+
+    // True when a ranks below b: lower score, or same score and offered later
+    private boolean weaker(int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && indices[a] > indices[b]);
+    }
+
+    private void siftUp(int child) {
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!weaker(child, parent)) {
+                return;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int parent, int end) {
+        while (true) {
+            int weakest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < end && weaker(left, weakest)) {
+                weakest = left;
+            }
+            if (right < end && weaker(right, weakest)) {
+                weakest = right;
+            }
+            if (weakest == parent) {
+                return;
+            }
+            swap(parent, weakest);
+            parent = weakest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = indices[a];
+        indices[a] = indices[b];
+        indices[b] = index;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
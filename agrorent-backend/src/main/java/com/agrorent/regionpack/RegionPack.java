@@ -0,0 +1,12 @@
+package com.agrorent.regionpack;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * One published version of a district's pack. The ETag is derived from the listings it contains,
+ * so a rebuild that finds nothing changed keeps the same version and ETag.
+ */
+public record RegionPack(String district, long version, String etag, int equipmentCount,
+                         long sizeBytes, Instant builtAt, Path file) {
+}
@@ -0,0 +1,154 @@
+package com.agrorent.regionpack;
+
+import com.agrorent.dto.response.RegionPackItem;
+import com.agrorent.model.Equipment;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the region packs current on one background thread.
+ *
+ * {@code EquipmentService} marks the district of every listing it creates, updates, deletes or
+ * toggles; marked districts are rebuilt together every {@code rebuild-delay}, one query per
+ * district, so a burst of edits in one district costs one rebuild. All districts are rebuilt at
+ * startup and every {@code full-rebuild-interval} in a single pass over the available listings.
+ * Either way the store only writes a new version when a district's listings actually changed.
+ */
+@Slf4j
+@Component
+public class RegionPackBuilder {
+
+    private final RegionPackProperties properties;
+    private final RegionPackStore store;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "region-pack-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RegionPackBuilder(RegionPackProperties properties, RegionPackStore store,
+                             MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Schedules the pack of {@code district} for a rebuild after a write to one of its listings.
+     */
+    public void markDirty(String district) {
+        if (properties.isEnabled() && district != null && !district.isBlank()) {
+            dirty.add(district);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long fullInterval = properties.getFullRebuildInterval().toMillis();
+        long delay = properties.getRebuildDelay().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuildAll, 0, fullInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuildDirty, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void rebuildDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<String> districts = new ArrayList<>(dirty);
+        dirty.removeAll(districts);
+        for (String district : districts) {
+            try {
+                List<RegionPackItem> items = mongoTemplate.find(available(Criteria.where("district").is(district)),
+                                Equipment.class).stream()
+                        .map(RegionPackItem::fromEquipment)
+                        .toList();
+                publish(district, items, "write");
+            } catch (Exception e) {
+                // Retried on the next round
+                dirty.add(district);
+                count("write", "failed");
+                log.warn("Could not rebuild region pack for {}: {}", district, e.getMessage());
+            }
+        }
+    }
+
+    private void rebuildAll() {
+        try {
+            // Grouped straight off the cursor, so only the pack items are held, not the listings
+            Map<String, List<RegionPackItem>> byDistrict = new HashMap<>();
+            try (Stream<Equipment> listings = mongoTemplate.stream(available(new Criteria()), Equipment.class)) {
+                listings.forEach(equipment -> {
+                    String district = equipment.getDistrict();
+                    if (district != null && !district.isBlank()) {
+                        byDistrict.computeIfAbsent(district, d -> new ArrayList<>())
+                                .add(RegionPackItem.fromEquipment(equipment));
+                    }
+                });
+            }
+            // Districts with nothing available any more get an empty pack rather than a stale one
+            for (RegionPack pack : store.all()) {
+                byDistrict.putIfAbsent(pack.district(), List.of());
+            }
+
+            int changed = 0;
+            for (Map.Entry<String, List<RegionPackItem>> entry : byDistrict.entrySet()) {
+                if (publish(entry.getKey(), entry.getValue(), "full")) {
+                    changed++;
+                }
+            }
+            log.info("Rebuilt region packs: {} districts, {} changed", byDistrict.size(), changed);
+        } catch (Exception e) {
+            count("full", "failed");
+            log.warn("Could not rebuild region packs: {}", e.getMessage());
+        }
+    }
+
+    private boolean publish(String district, List<RegionPackItem> items, String trigger) throws Exception {
+        long before = store.get(district).map(RegionPack::version).orElse(0L);
+        boolean changed = store.publish(district, items).version() != before;
+        count(trigger, changed ? "changed" : "unchanged");
+        return changed;
+    }
+
+    // Summary fields only, in _id order so an unchanged district hashes the same
+    private static Query available(Criteria scope) {
+        Query query = new Query(scope.and("available").is(true)).with(Sort.by("_id"));
+        query.fields().include(RegionPackItem.SOURCE_FIELDS).slice("images", 1);
+        return query;
+    }
+
+    private void count(String trigger, String outcome) {
+        meterRegistry.counter("agrorent.region_packs.builds", "trigger", trigger, "outcome", outcome).increment();
+    }
+}
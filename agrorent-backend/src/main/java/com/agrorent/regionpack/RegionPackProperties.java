@@ -0,0 +1,30 @@
+package com.agrorent.regionpack;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Per-district offline snapshots of the available equipment.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.region-packs")
+public class RegionPackProperties {
+
+    private boolean enabled = true;
+
+    // Local directory the versioned pack files are written to; kept across restarts
+    private Path directory = Path.of("data", "region-packs");
+
+    // How long writes to a district are collected before its pack is rebuilt
+    private Duration rebuildDelay = Duration.ofSeconds(30);
+
+    // Every district is rebuilt on this interval (and at startup), picking up changes made
+    // outside EquipmentService such as ratings
+    private Duration fullRebuildInterval = Duration.ofHours(6);
+
+    // Versions kept per district, so a download in progress is not cut off by a rebuild
+    private int keepVersions = 2;
+}
@@ -0,0 +1,179 @@
+package com.agrorent.regionpack;
+
+import com.agrorent.dto.response.RegionPackItem;
+import com.agrorent.dto.response.RegionPackResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Versioned region pack files on local disk, one directory per district:
+ * {@code <directory>/<district-slug>/v<version>-<hash>.json.gz}.
+ *
+ * A pack is only written when its listings differ from the current version, so the ETag (the
+ * hash) and the version stay the same across rebuilds that change nothing. Files are written to a
+ * temporary name and moved into place, and older versions beyond {@code keep-versions} are
+ * removed. The newest version of each district is picked up again on startup.
+ */
+@Slf4j
+@Component
+public class RegionPackStore {
+
+    private static final Pattern FILE_NAME = Pattern.compile("v(\\d+)-([0-9a-f]{16})\\.json\\.gz");
+
+    private final RegionPackProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, RegionPack> current = new ConcurrentHashMap<>();
+
+    public RegionPackStore(RegionPackProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void load() {
+        Path directory = properties.getDirectory();
+        if (!properties.isEnabled() || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> districts = Files.list(directory)) {
+            districts.filter(Files::isDirectory).forEach(this::loadNewest);
+        } catch (IOException e) {
+            log.warn("Could not read region packs from {}: {}", directory, e.getMessage());
+        }
+        log.info("Loaded {} region packs from {}", current.size(), directory);
+    }
+
+    public Optional<RegionPack> get(String district) {
+        return Optional.ofNullable(current.get(district));
+    }
+
+    public List<RegionPack> all() {
+        List<RegionPack> packs = new ArrayList<>(current.values());
+        packs.sort(Comparator.comparing(RegionPack::district));
+        return packs;
+    }
+
+    /**
+     * Makes {@code items} the current pack for {@code district}, unless they are exactly what the
+     * current version already holds. Items must come in a stable order for that to work.
+     */
+    public RegionPack publish(String district, List<RegionPackItem> items) throws IOException {
+        String hash = hash(objectMapper.writeValueAsBytes(items));
+        RegionPack existing = current.get(district);
+        if (existing != null && existing.etag().equals(etag(hash))) {
+            return existing;
+        }
+
+        long version = existing == null ? 1 : existing.version() + 1;
+        Instant builtAt = Instant.now();
+        RegionPackResponse pack = RegionPackResponse.builder()
+                .district(district)
+                .version(version)
+                .builtAt(builtAt)
+                .equipment(items)
+                .build();
+
+        Path directory = Files.createDirectories(properties.getDirectory().resolve(slug(district)));
+        Path temporary = Files.createTempFile(directory, "pack-", ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                objectMapper.writeValue(out, pack);
+            }
+            Path file = directory.resolve("v" + version + "-" + hash + ".json.gz");
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            RegionPack published = new RegionPack(district, version, etag(hash), items.size(),
+                    Files.size(file), builtAt, file);
+            current.put(district, published);
+            prune(directory, version);
+            return published;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void loadNewest(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            Optional<Path> newest = files
+                    .filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .max(Comparator.comparingLong(RegionPackStore::version));
+            if (newest.isEmpty()) {
+                return;
+            }
+            Path file = newest.get();
+            Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+            name.matches();
+            RegionPackResponse pack;
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                pack = objectMapper.readValue(in, RegionPackResponse.class);
+            }
+            current.put(pack.getDistrict(), new RegionPack(pack.getDistrict(), pack.getVersion(),
+                    etag(name.group(2)), pack.getEquipment().size(), Files.size(file), pack.getBuiltAt(), file));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping unreadable region pack in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void prune(Path directory, long newestVersion) throws IOException {
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(directory)) {
+            stale = files
+                    .filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> version(file) <= newestVersion - properties.getKeepVersions())
+                    .toList();
+        }
+        for (Path file : stale) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long version(Path file) {
+        Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+        return name.matches() ? Long.parseLong(name.group(1)) : -1;
+    }
+
+    // Readable and filesystem safe; the suffix keeps districts that differ only in case or
+    // punctuation apart
+    static String slug(String district) {
+        String readable = district.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+        return readable + "-" + hash(district.getBytes(StandardCharsets.UTF_8)).substring(0, 8);
+    }
+
+    private static String etag(String hash) {
+        return "\"" + hash + "\"";
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
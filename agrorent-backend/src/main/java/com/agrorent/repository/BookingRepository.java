@@ -4,11 +4,13 @@ import com.agrorent.model.Booking;
 import com.agrorent.model.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends MongoRepository<Booking, String> {
@@ -18,11 +20,18 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
 
     Page<Booking> findByRenterId(String renterId, Pageable pageable);
 
+    // Cursor-backed, for streamed responses; the caller must close the stream
+    @Meta(cursorBatchSize = 256)
+    Stream<Booking> streamByRenterId(String renterId);
+
     // Find by rent taker
     List<Booking> findByRentTakerId(String rentTakerId);
 
     Page<Booking> findByRentTakerId(String rentTakerId, Pageable pageable);
 
+    @Meta(cursorBatchSize = 256)
+    Stream<Booking> streamByRentTakerId(String rentTakerId);
+
     // Find by equipment
     List<Booking> findByEquipmentId(String equipmentId);
 
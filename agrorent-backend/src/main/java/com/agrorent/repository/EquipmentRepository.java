@@ -7,11 +7,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EquipmentRepository extends MongoRepository<Equipment, String> {
@@ -21,6 +23,10 @@ public interface EquipmentRepository extends MongoRepository<Equipment, String>
 
     Page<Equipment> findByOwnerId(String ownerId, Pageable pageable);
 
+    // Cursor-backed, for streamed responses; the caller must close the stream
+    @Meta(cursorBatchSize = 256)
+    Stream<Equipment> streamByOwnerId(String ownerId);
+
     // Find available equipment
     List<Equipment> findByAvailableTrue();
 
@@ -34,6 +40,9 @@ public interface EquipmentRepository extends MongoRepository<Equipment, String>
     // Find by category
     List<Equipment> findByCategory(EquipmentCategory category);
 
+    @Meta(cursorBatchSize = 256)
+    Stream<Equipment> streamByCategoryAndAvailableTrue(EquipmentCategory category);
+
     // Custom query for advanced search
     @Query("{ 'available': true, 'pricePerDay': { $lte: ?0 } }")
     List<Equipment> findAvailableWithMaxPrice(Double maxPrice);
@@ -0,0 +1,82 @@
+package com.agrorent.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for one endpoint class.
+ *
+ * Latency is tracked as a short moving average. While it stays under the class's latency target
+ * the limit grows by about one per round of {@code limit} completed requests (additive increase),
+ * but only while at least half of it is in use, since an idle class says nothing about how much
+ * more it could take. When the average goes over the target, or a request ends in a server error,
+ * the limit is multiplied by the backoff ratio, at most once per round so a single slow spell is
+ * not punished once per request in it.
+ *
+ * A fixed target rather than a learned baseline: every class mixes cheap and expensive endpoints,
+ * and a baseline learned while already overloaded would simply accept the overload as normal.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+
+    private final AdmissionProperties.Limit settings;
+    private final double backoffRatio;
+    private final double latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double averageRtt;
+    private int samplesSinceBackoff;
+
+    AdaptiveConcurrencyLimit(AdmissionProperties.Limit settings, double backoffRatio) {
+        this.settings = settings;
+        this.backoffRatio = backoffRatio;
+        this.latencyTargetNanos = settings.getLatencyTarget().toNanos();
+        this.limit = settings.getInitialLimit();
+    }
+
+    /**
+     * Takes a slot, or returns -1 when the class is at its limit. The returned value is the number
+     * of requests in flight including this one, to be passed back to {@link #release}.
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    void release(int inFlightAtStart, long rttNanos, boolean overloaded) {
+        inFlight.decrementAndGet();
+        update(inFlightAtStart, rttNanos, overloaded);
+    }
+
+    private synchronized void update(int inFlightAtStart, long rttNanos, boolean overloaded) {
+        averageRtt = averageRtt == 0 ? rttNanos : averageRtt + (rttNanos - averageRtt) / SHORT_WINDOW;
+        samplesSinceBackoff++;
+
+        double next = limit;
+        if (overloaded || averageRtt > latencyTargetNanos) {
+            if (samplesSinceBackoff >= limit) {
+                next = limit * backoffRatio;
+                samplesSinceBackoff = 0;
+            }
+        } else if (inFlightAtStart >= limit / 2) {
+            next = limit + 1 / limit;
+        }
+        limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), next));
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,140 @@
+package com.agrorent.resilience;
+
+import com.agrorent.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission control per {@link EndpointClass}. A request that finds its class at the adaptive
+ * limit is turned away at once with 503 and {@code Retry-After}, before authentication or any
+ * database work, instead of waiting for a Tomcat thread that a burst elsewhere is holding.
+ *
+ * Limits and in-flight counts are exported as {@code agrorent.admission.limit} and
+ * {@code agrorent.admission.in_flight}, rejections as {@code agrorent.admission.rejected}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 2)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String BUSY_MESSAGE = "Server is busy, please try again shortly";
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties.limitFor(endpointClass),
+                    properties.getBackoffRatio());
+            limits.put(endpointClass, limit);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("agrorent.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("agrorent.admission.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || EndpointClass.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            reject(endpointClass, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streaming and reactive responses hold their slot until they finish
+                request.getAsyncContext().addListener(new Release(limit, inFlight, start));
+            } else {
+                limit.release(inFlight, System.nanoTime() - start,
+                        failed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    private void reject(EndpointClass endpointClass, HttpServletResponse response) throws IOException {
+        meterRegistry.counter("agrorent.admission.rejected", "class", endpointClass.name().toLowerCase()).increment();
+        long retryAfter = Math.max(1, properties.limitFor(endpointClass).getRetryAfter().toSeconds());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(BUSY_MESSAGE));
+    }
+
+    private static class Release implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final int inFlight;
+        private final long start;
+        private boolean failed;
+
+        Release(AdaptiveConcurrencyLimit limit, int inFlight, long start) {
+            this.limit = limit;
+            this.inFlight = inFlight;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limit.release(inFlight, System.nanoTime() - start,
+                    failed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.agrorent.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per {@link EndpointClass}. Each limit starts at
+ * {@code initial-limit} and moves between {@code min-limit} and {@code max-limit}, growing while
+ * the class's average latency is under {@code latency-target}; see {@link AdaptiveConcurrencyLimit}.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Multiplier applied to a limit when its class is over its latency target
+    private double backoffRatio = 0.9;
+
+    private Map<EndpointClass, Limit> classes = new EnumMap<>(Map.of(
+            EndpointClass.PUBLIC_SEARCH, new Limit(20, 4, 200, Duration.ofMillis(500), Duration.ofSeconds(1)),
+            EndpointClass.AUTHENTICATED_READ, new Limit(20, 4, 200, Duration.ofMillis(300), Duration.ofSeconds(1)),
+            EndpointClass.WRITE, new Limit(20, 4, 100, Duration.ofMillis(500), Duration.ofSeconds(1)),
+            EndpointClass.AUTH, new Limit(10, 2, 50, Duration.ofMillis(1500), Duration.ofSeconds(2))));
+
+    public Limit limitFor(EndpointClass endpointClass) {
+        return classes.getOrDefault(endpointClass, new Limit());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+
+        // Average latency the class should stay under
+        private Duration latencyTarget = Duration.ofMillis(500);
+
+        // Sent as Retry-After with rejections
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
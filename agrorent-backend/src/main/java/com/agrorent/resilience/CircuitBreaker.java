@@ -0,0 +1,135 @@
+package com.agrorent.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker. Closed, it records the outcome of the last {@code windowSize} calls
+ * and opens once enough of them failed. Open, it refuses calls for {@code openDuration}, then
+ * lets a few trial calls through (half open); if they all succeed it closes and runs the
+ * {@code onClose} callback, otherwise it opens again.
+ *
+ * Transitions are synchronised; a call costs one short critical section on each side.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ResilienceProperties.Breaker settings;
+    private final Clock clock;
+    private final Runnable onClose;
+
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    CircuitBreaker(ResilienceProperties.Breaker settings, Clock clock, Runnable onClose) {
+        this.settings = settings;
+        this.clock = clock;
+        this.onClose = onClose;
+        this.outcomes = new boolean[Math.max(1, settings.getWindowSize())];
+    }
+
+    /**
+     * Whether a call may go to the database now. Every permitted call must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #release()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            Duration open = Duration.ofMillis(clock.millis() - openedAt);
+            if (open.compareTo(settings.getOpenDuration()) < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= settings.getHalfOpenCalls()) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    void onSuccess() {
+        boolean closed;
+        synchronized (this) {
+            closed = false;
+            if (state == State.HALF_OPEN) {
+                if (++trialsSucceeded >= settings.getHalfOpenCalls()) {
+                    state = State.CLOSED;
+                    resetWindow();
+                    closed = true;
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+        if (closed) {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Ends a permitted call that never reached the database, e.g. one shed because the executor
+     * was full, without recording an outcome. A half-open trial slot is handed back.
+     */
+    synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= settings.getMinimumCalls()
+                    && failures >= settings.getFailureRateThreshold() * recorded) {
+                open();
+            }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.millis();
+        resetWindow();
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
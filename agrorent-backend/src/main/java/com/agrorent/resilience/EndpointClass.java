@@ -0,0 +1,42 @@
+package com.agrorent.resilience;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups of endpoints that get their own concurrency limit, so a burst in one cannot take the
+ * request threads another needs.
+ */
+public enum EndpointClass {
+
+    // Anonymous browsing: search, nearby, category listings, single listings
+    PUBLIC_SEARCH,
+
+    // Signed-in reads: my equipment, my bookings, profile
+    AUTHENTICATED_READ,
+
+    // Booking and listing changes
+    WRITE,
+
+    // Login and registration (BCrypt, CPU bound)
+    AUTH;
+
+    /**
+     * Class of a request, or {@code null} for paths that are never limited (actuator, admin).
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") || path.startsWith("/api/admin/")) {
+            return null;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/equipment/public/")
+                || path.startsWith("/api/equipment/search")
+                || path.startsWith("/api/equipment/reactive/")
+                || path.equals("/api/categories")) {
+            return PUBLIC_SEARCH;
+        }
+        return "GET".equals(request.getMethod()) ? AUTHENTICATED_READ : WRITE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.agrorent.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Timeouts, circuit breaker and last-known-good store for the public equipment reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.resilience")
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+
+    // Per-call budget for a read; the query keeps running and refreshes the store if it finishes late
+    private Duration timeout = Duration.ofSeconds(2);
+
+    private Breaker breaker = new Breaker();
+
+    private Store store = new Store();
+
+    @Data
+    public static class Breaker {
+        // Outcomes kept in the sliding window
+        private int windowSize = 50;
+
+        // Calls needed in the window before the failure rate is trusted
+        private int minimumCalls = 10;
+
+        private double failureRateThreshold = 0.5;
+
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        // Trial calls let through while half open; all must succeed to close again
+        private int halfOpenCalls = 3;
+    }
+
+    @Data
+    public static class Store {
+        // Estimated heap taken by all stored results
+        private DataSize maxWeight = DataSize.ofMegabytes(256);
+
+        // Oldest result we are still willing to serve
+        private Duration maxStaleness = Duration.ofHours(6);
+
+        // Stale keys refreshed in the background after the circuit closes again
+        private int maxRevalidations = 500;
+    }
+}
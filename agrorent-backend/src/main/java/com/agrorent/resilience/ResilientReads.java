@@ -0,0 +1,320 @@
+package com.agrorent.resilience;
+
+import com.agrorent.cache.SingleFlight;
+import com.agrorent.exception.ServiceUnavailableException;
+import com.agrorent.monitoring.RoundTripCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resilience for read paths that can fall back to an older answer.
+ *
+ * Each read runs on its own thread so the caller can stop waiting after the configured timeout,
+ * and its outcome feeds a circuit breaker shared by all reads (they all depend on the same Mongo
+ * deployment). Every successful result is kept as the last known good answer for its key. When a
+ * read times out, fails with a database error, or the circuit is open, the stored answer is
+ * returned instead and the request is marked stale so
+ * {@link StaleResponseAdvice} can say so in the response headers. Without a stored answer the
+ * caller gets a {@link ServiceUnavailableException}.
+ *
+ * A read that times out keeps running and refreshes the store if it completes. Keys served stale
+ * are revalidated in the background once the circuit closes again.
+ *
+ * Errors that are not database failures, e.g. "Equipment not found", pass through unchanged and
+ * count as successful calls. Reads are only shed while the circuit is open; how many run at once is
+ * left to admission control.
+ */
+@Slf4j
+@Component
+public class ResilientReads {
+
+    public static final String STALE_AS_OF = ResilientReads.class.getName() + ".staleAsOf";
+
+    private static final String UNAVAILABLE_MESSAGE = "Equipment listings are temporarily unavailable, please try again shortly";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RoundTripCounter roundTripCounter;
+    private final Clock clock = Clock.systemUTC();
+    private final CircuitBreaker breaker;
+    private final ExecutorService executor;
+    private final ExecutorService revalidator;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    private final Cache<Key, Entry> store;
+    private final Set<Key> staleKeys = ConcurrentHashMap.newKeySet();
+
+    public ResilientReads(ResilienceProperties properties, MeterRegistry meterRegistry,
+                          RoundTripCounter roundTripCounter,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.roundTripCounter = roundTripCounter;
+        this.breaker = new CircuitBreaker(properties.getBreaker(), clock, this::revalidateStale);
+
+        this.executor = newReadExecutor(virtualThreads);
+        this.revalidator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resilient-read-revalidator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(properties.getStore().getMaxWeight().toBytes())
+                .weigher((Key key, Entry entry) -> ResultWeigher.weigh(entry.value()))
+                .expireAfterWrite(properties.getStore().getMaxStaleness())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, store, "last-known-good");
+        Gauge.builder("agrorent.resilience.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("Mongo read circuit: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} for {@code key}, falling back to the last good result for the same
+     * operation and key when the database is slow or failing.
+     */
+    public <T> T read(String operation, Object key, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return unwrap(execute(operation, key, call));
+    }
+
+    /**
+     * {@link #read} with identical concurrent calls coalesced first, so a burst on one key makes a
+     * single database call. Every caller is still marked stale when the shared answer is.
+     */
+    public <T> T read(String operation, Object key, SingleFlight singleFlight, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return singleFlight.execute(operation, key, call);
+        }
+        return unwrap(singleFlight.execute(operation, key, () -> execute(operation, key, call)));
+    }
+
+    private static <T> T unwrap(Outcome<T> outcome) {
+        if (outcome.staleAsOf() != null) {
+            markStale(outcome.staleAsOf());
+        }
+        return outcome.value();
+    }
+
+    private <T> Outcome<T> execute(String operation, Object key, Supplier<T> call) {
+        Key id = new Key(operation, key);
+        if (!breaker.tryAcquire()) {
+            count(operation, "short_circuited");
+            return fallback(id, null);
+        }
+
+        RoundTripCounter.Scope scope = roundTripCounter.current();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                roundTripCounter.resume(scope);
+                try {
+                    T value = call.get();
+                    remember(id, value, call);
+                    return value;
+                } finally {
+                    if (scope != null) {
+                        roundTripCounter.end();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down, not a database failure
+            breaker.release();
+            count(operation, "rejected");
+            return fallback(id, e);
+        }
+
+        try {
+            T value = future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            breaker.onSuccess();
+            count(operation, "success");
+            return new Outcome<>(value, null);
+        } catch (TimeoutException e) {
+            // Left running: a late result still refreshes the store
+            breaker.onFailure();
+            count(operation, "timeout");
+            return fallback(id, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException(UNAVAILABLE_MESSAGE, retryAfterSeconds(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (isDatabaseFailure(cause)) {
+                breaker.onFailure();
+                count(operation, "failure");
+                return fallback(id, cause);
+            }
+            breaker.onSuccess();
+            count(operation, "success");
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Outcome<T> fallback(Key id, Throwable cause) {
+        Entry entry = store.getIfPresent(id);
+        if (entry == null) {
+            count(id.operation(), "unavailable");
+            throw new ServiceUnavailableException(UNAVAILABLE_MESSAGE, retryAfterSeconds(), cause);
+        }
+        if (staleKeys.size() < properties.getStore().getMaxRevalidations()) {
+            staleKeys.add(id);
+        }
+        meterRegistry.counter("agrorent.resilience.stale_served", "operation", id.operation()).increment();
+        return new Outcome<>((T) entry.value(), entry.storedAt());
+    }
+
+    private void remember(Key id, Object value, Supplier<?> loader) {
+        if (value != null) {
+            store.put(id, new Entry(value, clock.instant(), loader));
+            staleKeys.remove(id);
+        }
+    }
+
+    // The oldest answer used decides how stale the whole response is
+    private static void markStale(Instant storedAt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Instant previous = (Instant) attributes.getAttribute(STALE_AS_OF, RequestAttributes.SCOPE_REQUEST);
+        if (previous == null || storedAt.isBefore(previous)) {
+            attributes.setAttribute(STALE_AS_OF, storedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Refreshes everything served stale while the circuit was open. Runs on one background thread
+     * and stops as soon as the breaker refuses a call or a refresh fails.
+     */
+    private void revalidateStale() {
+        if (staleKeys.isEmpty() || !revalidating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            revalidator.execute(() -> {
+                List<Key> keys = new ArrayList<>(staleKeys);
+                int refreshed = 0;
+                try {
+                    for (Key id : keys) {
+                        Entry entry = store.getIfPresent(id);
+                        if (entry == null) {
+                            staleKeys.remove(id);
+                            continue;
+                        }
+                        if (!breaker.tryAcquire()) {
+                            break;
+                        }
+                        try {
+                            remember(id, entry.loader().get(), entry.loader());
+                            breaker.onSuccess();
+                            refreshed++;
+                        } catch (RuntimeException e) {
+                            if (isDatabaseFailure(e)) {
+                                breaker.onFailure();
+                                break;
+                            }
+                            breaker.onSuccess();
+                            // The item no longer exists or no longer matches; stop serving it
+                            store.invalidate(id);
+                            staleKeys.remove(id);
+                        }
+                    }
+                } finally {
+                    revalidating.set(false);
+                    log.info("Revalidated {} of {} stale read results", refreshed, keys.size());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.set(false);
+        }
+    }
+
+    /**
+     * One thread per read, uncapped: admission control already bounds how many requests are in
+     * flight, and a fixed pool here would shed reads while Mongo is healthy. Virtual threads when
+     * requests run on them too (Java 21+), otherwise pooled platform threads.
+     */
+    private static ExecutorService newReadExecutor(boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads unavailable for resilient reads, using platform threads", e);
+            }
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "resilient-read-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static boolean isDatabaseFailure(Throwable error) {
+        return error instanceof DataAccessException || error instanceof MongoException;
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, properties.getBreaker().getOpenDuration().toSeconds());
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("agrorent.resilience.calls", "operation", operation, "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        revalidator.shutdownNow();
+    }
+
+    private record Key(String operation, Object key) {
+    }
+
+    // staleAsOf is null for a fresh answer
+    private record Outcome<T>(T value, Instant staleAsOf) {
+    }
+
+    private record Entry(Object value, Instant storedAt, Supplier<?> loader) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.agrorent.resilience;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rough heap footprint of a stored read result, used as the last-known-good store's weight. Same
+ * approach as the entity caches' document weigher, applied to response objects: strings (base64
+ * images, descriptions) are counted by length, collections and maps element by element, and our
+ * own classes field by field; everything else gets a flat per-object cost.
+ */
+final class ResultWeigher {
+
+    private static final int OBJECT_OVERHEAD = 24;
+    private static final int ENTRY_OVERHEAD = 48;
+    // Guards against a cycle; responses are shallow trees
+    private static final int MAX_DEPTH = 16;
+    private static final String OWN_PACKAGE = "com.agrorent.";
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c.getName().startsWith(OWN_PACKAGE); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private ResultWeigher() {
+    }
+
+    static int weigh(Object result) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, weighValue(result, 0)));
+    }
+
+    private static long weighValue(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_OVERHEAD;
+        }
+        if (value instanceof Collection<?> values) {
+            long weight = OBJECT_OVERHEAD;
+            for (Object element : values) {
+                weight += 8 + weighValue(element, depth + 1);
+            }
+            return weight;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long weight = OBJECT_OVERHEAD;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                weight += ENTRY_OVERHEAD + weighValue(entry.getKey(), depth + 1) + weighValue(entry.getValue(), depth + 1);
+            }
+            return weight;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            if (type.getComponentType().isPrimitive()) {
+                return OBJECT_OVERHEAD + 8L * length;
+            }
+            long weight = OBJECT_OVERHEAD;
+            for (int i = 0; i < length; i++) {
+                weight += 8 + weighValue(Array.get(value, i), depth + 1);
+            }
+            return weight;
+        }
+        if (type.isEnum() || !type.getName().startsWith(OWN_PACKAGE)) {
+            return OBJECT_OVERHEAD;
+        }
+        long weight = OBJECT_OVERHEAD;
+        for (Field field : FIELDS.get(type)) {
+            if (field.getType().isPrimitive()) {
+                weight += 8;
+                continue;
+            }
+            try {
+                weight += 8 + weighValue(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                weight += 8;
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,44 @@
+package com.agrorent.resilience;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tells clients when a response was served from the last-known-good store: {@code Warning: 110}
+ * plus {@code Age} in seconds and {@code X-Data-As-Of} with the time the data was read.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object asOf = attributes != null
+                ? attributes.getAttribute(ResilientReads.STALE_AS_OF, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (asOf instanceof Instant storedAt) {
+            long age = Math.max(0, Duration.between(storedAt, Instant.now()).toSeconds());
+            response.getHeaders().set("Warning", "110 - \"Response is Stale\"");
+            response.getHeaders().set("Age", String.valueOf(age));
+            response.getHeaders().set("X-Data-As-Of", storedAt.toString());
+        }
+        return body;
+    }
+}
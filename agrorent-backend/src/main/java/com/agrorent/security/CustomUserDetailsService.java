@@ -1,7 +1,7 @@
 package com.agrorent.security;
 
+import com.agrorent.cache.UserCache;
 import com.agrorent.model.User;
-import com.agrorent.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,11 +15,11 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String phone) throws UsernameNotFoundException {
-        User user = userRepository.findByPhone(phone)
+        User user = userCache.findByPhone(phone)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with phone: " + phone));
 
         return new org.springframework.security.core.userdetails.User(
@@ -34,7 +34,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     public User getUserByPhone(String phone) {
-        return userRepository.findByPhone(phone)
+        return userCache.findByPhone(phone)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with phone: " + phone));
     }
 }
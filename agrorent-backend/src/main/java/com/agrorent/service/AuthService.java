@@ -1,5 +1,6 @@
 package com.agrorent.service;
 
+import com.agrorent.cache.UserCache;
 import com.agrorent.dto.request.LoginRequest;
 import com.agrorent.dto.request.RegisterRequest;
 import com.agrorent.dto.response.AuthResponse;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
@@ -64,14 +66,14 @@ public class AuthService {
 
         String token = jwtTokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByPhone(request.getPhone())
+        User user = userCache.findByPhone(request.getPhone())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return AuthResponse.of(token, UserResponse.fromUser(user));
     }
 
     public UserResponse getCurrentUser(String phone) {
-        User user = userRepository.findByPhone(phone)
+        User user = userCache.findByPhone(phone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return UserResponse.fromUser(user);
     }
@@ -1,22 +1,33 @@
 package com.agrorent.service;
 
+import com.agrorent.cache.UserCache;
 import com.agrorent.dto.request.BookingRequest;
 import com.agrorent.dto.request.RatingRequest;
 import com.agrorent.dto.response.BookingResponse;
+import com.agrorent.fields.FieldSet;
 import com.agrorent.model.Booking;
 import com.agrorent.model.Equipment;
+import com.agrorent.model.RatingScore;
 import com.agrorent.model.User;
 import com.agrorent.model.enums.BookingStatus;
 import com.agrorent.repository.BookingRepository;
 import com.agrorent.repository.EquipmentRepository;
 import com.agrorent.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +36,13 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final EquipmentRepository equipmentRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
 
+    @Timed("agrorent.service")
     public BookingResponse createBooking(String rentTakerPhone, BookingRequest request) {
-        User rentTaker = userRepository.findByPhone(rentTakerPhone)
+        User rentTaker = userCache.findByPhone(rentTakerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Equipment equipment = equipmentRepository.findById(request.getEquipmentId())
@@ -51,24 +66,7 @@ public class BookingService {
         }
 
         // Calculate duration and cost
-        long hours = Duration.between(request.getStartDate(), request.getEndDate()).toHours();
-        long days = hours / 24;
-        String pricingType;
-        double totalCost;
-
-        if (days >= 7 && equipment.getPricePerWeek() != null) {
-            pricingType = "WEEKLY";
-            totalCost = (days / 7.0) * equipment.getPricePerWeek();
-        } else if (days >= 1 && equipment.getPricePerDay() != null) {
-            pricingType = "DAILY";
-            totalCost = days * equipment.getPricePerDay();
-        } else if (equipment.getPricePerHour() != null) {
-            pricingType = "HOURLY";
-            totalCost = hours * equipment.getPricePerHour();
-        } else {
-            pricingType = "DAILY";
-            totalCost = Math.max(1, days) * (equipment.getPricePerDay() != null ? equipment.getPricePerDay() : 0);
-        }
+        Pricing pricing = calculatePricing(equipment, request.getStartDate(), request.getEndDate());
 
         Booking booking = Booking.builder()
                 .equipmentId(equipment.getId())
@@ -82,14 +80,15 @@ public class BookingService {
                 .rentTakerPhone(rentTaker.getPhone())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
-                .durationHours((int) hours)
-                .totalCost(Math.round(totalCost * 100.0) / 100.0)
-                .pricingType(pricingType)
+                .durationHours((int) pricing.hours())
+                .totalCost(pricing.totalCost())
+                .pricingType(pricing.pricingType())
                 .notes(request.getNotes())
                 .status(BookingStatus.PENDING)
                 .build();
 
         booking = bookingRepository.save(booking);
+        recordTransition(null, BookingStatus.PENDING);
         return BookingResponse.fromBooking(booking);
     }
 
@@ -102,6 +101,7 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.APPROVED);
         booking = bookingRepository.save(booking);
+        recordTransition(BookingStatus.PENDING, BookingStatus.APPROVED);
         return BookingResponse.fromBooking(booking);
     }
 
@@ -115,6 +115,7 @@ public class BookingService {
         booking.setStatus(BookingStatus.REJECTED);
         booking.setRejectionReason(reason);
         booking = bookingRepository.save(booking);
+        recordTransition(BookingStatus.PENDING, BookingStatus.REJECTED);
         return BookingResponse.fromBooking(booking);
     }
 
@@ -127,6 +128,7 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.ACTIVE);
         booking = bookingRepository.save(booking);
+        recordTransition(BookingStatus.APPROVED, BookingStatus.ACTIVE);
 
         // Update equipment times rented
         Equipment equipment = equipmentRepository.findById(booking.getEquipmentId()).orElse(null);
@@ -147,11 +149,12 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.COMPLETED);
         booking = bookingRepository.save(booking);
+        recordTransition(BookingStatus.ACTIVE, BookingStatus.COMPLETED);
         return BookingResponse.fromBooking(booking);
     }
 
     public BookingResponse cancelBooking(String userPhone, String bookingId) {
-        User user = userRepository.findByPhone(userPhone)
+        User user = userCache.findByPhone(userPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -166,13 +169,16 @@ public class BookingService {
             throw new RuntimeException("Completed bookings cannot be cancelled");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking = bookingRepository.save(booking);
+        recordTransition(previousStatus, BookingStatus.CANCELLED);
         return BookingResponse.fromBooking(booking);
     }
 
+    @Timed("agrorent.service")
     public BookingResponse rateByRentTaker(String rentTakerPhone, RatingRequest request) {
-        User rentTaker = userRepository.findByPhone(rentTakerPhone)
+        User rentTaker = userCache.findByPhone(rentTakerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Booking booking = bookingRepository.findById(request.getBookingId())
@@ -196,6 +202,7 @@ public class BookingService {
         return BookingResponse.fromBooking(booking);
     }
 
+    @Timed("agrorent.service")
     public BookingResponse rateByRenter(String renterPhone, RatingRequest request) {
         Booking booking = getBookingForRenter(renterPhone, request.getBookingId());
 
@@ -213,44 +220,70 @@ public class BookingService {
         return BookingResponse.fromBooking(booking);
     }
 
-    public List<BookingResponse> getRenterBookings(String renterPhone) {
-        User renter = userRepository.findByPhone(renterPhone)
+    public List<BookingResponse> getRenterBookings(String renterPhone, FieldSet fields) {
+        User renter = userCache.findByPhone(renterPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return bookingRepository.findByRenterId(renter.getId())
-                .stream()
-                .map(BookingResponse::fromBooking)
-                .collect(Collectors.toList());
+        return findBookings(fields.applyTo(new Query(Criteria.where("renterId").is(renter.getId()))));
     }
 
-    public List<BookingResponse> getRentTakerBookings(String rentTakerPhone) {
-        User rentTaker = userRepository.findByPhone(rentTakerPhone)
+    /**
+     * Streamed variant of {@link #getRenterBookings}: bookings are read from a cursor while the
+     * response is written. The caller must close the stream.
+     */
+    public Stream<BookingResponse> streamRenterBookings(String renterPhone) {
+        User renter = userCache.findByPhone(renterPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return bookingRepository.findByRentTakerId(rentTaker.getId())
-                .stream()
-                .map(BookingResponse::fromBooking)
-                .collect(Collectors.toList());
+        return bookingRepository.streamByRenterId(renter.getId())
+                .map(BookingResponse::fromBooking);
     }
 
-    public List<BookingResponse> getPendingBookingsForRenter(String renterPhone) {
-        User renter = userRepository.findByPhone(renterPhone)
+    public List<BookingResponse> getRentTakerBookings(String rentTakerPhone, FieldSet fields) {
+        User rentTaker = userCache.findByPhone(rentTakerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return bookingRepository.findByRenterIdAndStatusOrderByCreatedAtDesc(renter.getId(), BookingStatus.PENDING)
-                .stream()
-                .map(BookingResponse::fromBooking)
-                .collect(Collectors.toList());
+        return findBookings(fields.applyTo(new Query(Criteria.where("rentTakerId").is(rentTaker.getId()))));
     }
 
-    public BookingResponse getBookingById(String bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+    /**
+     * Streamed variant of {@link #getRentTakerBookings}. The caller must close the stream.
+     */
+    public Stream<BookingResponse> streamRentTakerBookings(String rentTakerPhone) {
+        User rentTaker = userCache.findByPhone(rentTakerPhone)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return bookingRepository.streamByRentTakerId(rentTaker.getId())
+                .map(BookingResponse::fromBooking);
+    }
+
+    public List<BookingResponse> getPendingBookingsForRenter(String renterPhone, FieldSet fields) {
+        User renter = userCache.findByPhone(renterPhone)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Query query = new Query(Criteria.where("renterId").is(renter.getId()).and("status").is(BookingStatus.PENDING))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        return findBookings(fields.applyTo(query));
+    }
+
+    public BookingResponse getBookingById(String bookingId, FieldSet fields) {
+        Booking booking = mongoTemplate.findOne(fields.applyTo(new Query(Criteria.where("_id").is(bookingId))), Booking.class);
+        if (booking == null) {
+            throw new RuntimeException("Booking not found");
+        }
         return BookingResponse.fromBooking(booking);
     }
 
+    // Loads only the fields behind the selected properties
+    private List<BookingResponse> findBookings(Query query) {
+        return mongoTemplate.find(query, Booking.class)
+                .stream()
+                .map(BookingResponse::fromBooking)
+                .collect(Collectors.toList());
+    }
+
     private Booking getBookingForRenter(String renterPhone, String bookingId) {
-        User renter = userRepository.findByPhone(renterPhone)
+        User renter = userCache.findByPhone(renterPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -263,6 +296,44 @@ public class BookingService {
         return booking;
     }
 
+    /**
+     * Picks the tariff by the length of the booking window alone, not by which is cheaper: weekly
+     * from 7 whole days, daily from 1, otherwise hourly, each only if the listing sets that price,
+     * and daily for at least one day when none of those applies. The weekly and daily tariffs do not
+     * charge hours past the last whole day. Total cost is rounded to paise.
+     */
+    public static Pricing calculatePricing(Equipment equipment, LocalDateTime startDate, LocalDateTime endDate) {
+        long hours = Duration.between(startDate, endDate).toHours();
+        long days = hours / 24;
+        String pricingType;
+        double totalCost;
+
+        if (days >= 7 && equipment.getPricePerWeek() != null) {
+            pricingType = "WEEKLY";
+            totalCost = (days / 7.0) * equipment.getPricePerWeek();
+        } else if (days >= 1 && equipment.getPricePerDay() != null) {
+            pricingType = "DAILY";
+            totalCost = days * equipment.getPricePerDay();
+        } else if (equipment.getPricePerHour() != null) {
+            pricingType = "HOURLY";
+            totalCost = hours * equipment.getPricePerHour();
+        } else {
+            pricingType = "DAILY";
+            totalCost = Math.max(1, days) * (equipment.getPricePerDay() != null ? equipment.getPricePerDay() : 0);
+        }
+
+        return new Pricing(pricingType, Math.round(totalCost * 100.0) / 100.0, hours);
+    }
+
+    public record Pricing(String pricingType, double totalCost, long hours) {
+    }
+
+    private void recordTransition(BookingStatus from, BookingStatus to) {
+        meterRegistry.counter("agrorent.booking.transitions",
+                "from", from != null ? from.name() : "NONE",
+                "to", to.name()).increment();
+    }
+
     private void updateEquipmentRating(String equipmentId) {
         List<Booking> completedBookings = bookingRepository.findByEquipmentId(equipmentId)
                 .stream()
@@ -279,6 +350,7 @@ public class BookingService {
             if (equipment != null) {
                 equipment.setRating(Math.round(avgRating * 10.0) / 10.0);
                 equipment.setTotalRatings(completedBookings.size());
+                equipment.setRatingScore(RatingScore.of(equipment.getRating(), equipment.getTotalRatings()));
                 equipmentRepository.save(equipment);
             }
         }
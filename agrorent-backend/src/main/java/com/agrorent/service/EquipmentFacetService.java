@@ -0,0 +1,173 @@
+package com.agrorent.service;
+
+import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.FacetBucket;
+import com.agrorent.dto.response.SearchFacets;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.enums.EquipmentCategory;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts for an equipment search, all from one {@code $facet} aggregation. The first stage
+ * selects the available listings within the search radius ({@code $geoNear}, which also yields the
+ * distance) or all available listings; each facet is then a sub-pipeline over that set.
+ *
+ * A facet leaves out its own filter, so category counts ignore the category filter and price
+ * counts the price filter; the other facets apply both, matching the hits.
+ */
+@Service
+@RequiredArgsConstructor
+public class EquipmentFacetService {
+
+    private static final List<Double> RATING_BOUNDS = List.of(0.0, 1.0, 2.0, 3.0, 4.0);
+    private static final String DISTANCE_FIELD = "distanceKm";
+    // Listings with no value for the bucketed field land here and are not reported
+    private static final String NO_VALUE = "none";
+
+    private final MongoTemplate mongoTemplate;
+
+    // Lower bounds of the buckets; the last one is open-ended
+    @Value("${agrorent.search.facets.price-bounds:0,500,1000,2000,5000}")
+    private List<Double> priceBounds;
+
+    @Value("${agrorent.search.facets.distance-bounds-km:0,5,10,25,50}")
+    private List<Double> distanceBounds;
+
+    @Timed("agrorent.service")
+    public SearchFacets countFacets(EquipmentSearchRequest request) {
+        boolean located = request.getLatitude() != null && request.getLongitude() != null;
+        String priceField = EquipmentService.priceField(request);
+        Criteria categoryFilter = request.getCategory() != null
+                ? Criteria.where("category").is(request.getCategory())
+                : null;
+        Criteria priceFilter = EquipmentService.priceCriteria(request);
+        Criteria bothFilters = categoryFilter != null && priceFilter != null
+                ? new Criteria().andOperator(categoryFilter, priceFilter)
+                : categoryFilter != null ? categoryFilter : priceFilter;
+
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        Criteria available = Criteria.where("available").is(true);
+        if (located) {
+            // Same default radius as the $nearSphere in EquipmentService.buildSearchQuery
+            double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : 50.0;
+            NearQuery near = NearQuery.near(new Point(request.getLongitude(), request.getLatitude()), Metrics.KILOMETERS)
+                    .maxDistance(radiusKm)
+                    .query(new Query(available));
+            pipeline.add(Aggregation.geoNear(near, DISTANCE_FIELD));
+            pipeline.add(Aggregation.project("category", "verified", "rating", priceField, DISTANCE_FIELD));
+        } else {
+            pipeline.add(Aggregation.match(available));
+            pipeline.add(Aggregation.project("category", "verified", "rating", priceField));
+        }
+
+        FacetOperation facets = Aggregation
+                .facet(filtered(priceFilter, Aggregation.group("category").count().as("count"))).as("category")
+                .and(filtered(categoryFilter, bucket(priceField, priceBounds))).as("price")
+                .and(filtered(bothFilters, bucket("rating", RATING_BOUNDS))).as("rating")
+                .and(filtered(bothFilters, Aggregation.group("verified").count().as("count"))).as("verified");
+        if (located) {
+            facets = facets.and(filtered(bothFilters, bucket(DISTANCE_FIELD, distanceBounds))).as(DISTANCE_FIELD);
+        }
+        pipeline.add(facets);
+
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), Equipment.class, Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+
+        Map<EquipmentCategory, Long> categories = new EnumMap<>(EquipmentCategory.class);
+        for (EquipmentCategory category : EquipmentCategory.values()) {
+            categories.put(category, 0L);
+        }
+        for (Document group : groups(result, "category")) {
+            Object category = group.get("_id");
+            if (category != null) {
+                categories.put(EquipmentCategory.valueOf(category.toString()), count(group));
+            }
+        }
+        long verified = 0;
+        long unverified = 0;
+        for (Document group : groups(result, "verified")) {
+            if (Boolean.TRUE.equals(group.get("_id"))) {
+                verified += count(group);
+            } else {
+                unverified += count(group);
+            }
+        }
+
+        return SearchFacets.builder()
+                .category(categories)
+                .price(buckets(groups(result, "price"), priceBounds))
+                .rating(buckets(groups(result, "rating"), RATING_BOUNDS))
+                .verified(verified)
+                .unverified(unverified)
+                .distanceKm(located ? buckets(groups(result, DISTANCE_FIELD), distanceBounds) : null)
+                .build();
+    }
+
+    private static AggregationOperation[] filtered(Criteria filter, AggregationOperation operation) {
+        return filter == null
+                ? new AggregationOperation[]{operation}
+                : new AggregationOperation[]{Aggregation.match(filter), operation};
+    }
+
+    private static AggregationOperation bucket(String field, List<Double> lowerBounds) {
+        Object[] boundaries = new Object[lowerBounds.size() + 1];
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            boundaries[i] = lowerBounds.get(i);
+        }
+        boundaries[lowerBounds.size()] = Double.MAX_VALUE;
+        return Aggregation.bucket(field)
+                .withBoundaries(boundaries)
+                .withDefaultBucket(NO_VALUE)
+                .andOutputCount().as("count");
+    }
+
+    // Every bucket of the bounds in order, empty ones included, so clients get the same bands each time
+    private static List<FacetBucket> buckets(List<Document> groups, List<Double> lowerBounds) {
+        Map<Double, Long> counts = new HashMap<>();
+        for (Document group : groups) {
+            if (group.get("_id") instanceof Number lowerBound) {
+                counts.put(lowerBound.doubleValue(), count(group));
+            }
+        }
+        List<FacetBucket> buckets = new ArrayList<>(lowerBounds.size());
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            double min = lowerBounds.get(i);
+            buckets.add(FacetBucket.builder()
+                    .min(min)
+                    .max(i + 1 < lowerBounds.size() ? lowerBounds.get(i + 1) : null)
+                    .count(counts.getOrDefault(min, 0L))
+                    .build());
+        }
+        return buckets;
+    }
+
+    private static List<Document> groups(Document result, String facet) {
+        return result.getList(facet, Document.class, List.of());
+    }
+
+    private static long count(Document group) {
+        return ((Number) group.get("count")).longValue();
+    }
+}
@@ -1,14 +1,33 @@
 package com.agrorent.service;
 
+import com.agrorent.cache.EquipmentCache;
+import com.agrorent.cache.SingleFlight;
+import com.agrorent.cache.UserCache;
+import com.agrorent.cluster.MapClusterIndex;
+import com.agrorent.dto.request.EquipmentBatchRequest;
 import com.agrorent.dto.request.EquipmentRequest;
 import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.EquipmentBatchResponse;
 import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.dto.response.EquipmentSearchResponse;
+import com.agrorent.dto.response.NearestEquipmentResponse;
+import com.agrorent.fields.FieldSet;
+import com.agrorent.geo.NearestSearchProperties;
 import com.agrorent.model.Equipment;
+import com.agrorent.model.EquipmentTombstone;
+import com.agrorent.model.RatingScore;
 import com.agrorent.model.User;
 import com.agrorent.model.enums.EquipmentCategory;
+import com.agrorent.ranking.CandidateSet;
+import com.agrorent.ranking.RelevanceRanker;
+import com.agrorent.regionpack.RegionPackBuilder;
+import com.agrorent.resilience.ResilientReads;
+import com.agrorent.servicearea.ServiceAreaIndex;
+import com.agrorent.servicearea.ServiceAreaMatch;
 import com.agrorent.repository.EquipmentRepository;
-import com.agrorent.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,20 +44,40 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EquipmentService {
 
     private final EquipmentRepository equipmentRepository;
-    private final UserRepository userRepository;
+    private final EquipmentCache equipmentCache;
+    private final UserCache userCache;
+    private final SingleFlight singleFlight;
+    private final ResilientReads resilientReads;
     private final MongoTemplate mongoTemplate;
+    private final RegionPackBuilder regionPackBuilder;
+    private final MapClusterIndex mapClusterIndex;
+    private final ServiceAreaIndex serviceAreaIndex;
+    private final EquipmentFacetService equipmentFacetService;
+    private final RelevanceRanker relevanceRanker;
+    private final NearestSearchProperties nearestSearchProperties;
+
+    @Value("${agrorent.equipment.batch-max-ids:100}")
+    private int batchMaxIds;
+
+    @Value("${agrorent.equipment.top-rated-max-limit:100}")
+    private int topRatedMaxLimit;
 
     public EquipmentResponse createEquipment(String ownerPhone, EquipmentRequest request) {
-        User owner = userRepository.findByPhone(ownerPhone)
+        User owner = userCache.findByPhone(ownerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        serviceAreaIndex.validate(request.getServiceArea());
 
         Equipment equipment = Equipment.builder()
                 .ownerId(owner.getId())
@@ -58,9 +97,14 @@ public class EquipmentService {
                 .district(request.getDistrict())
                 .state(request.getState())
                 .pincode(request.getPincode())
+                .serviceArea(request.getServiceArea())
+                .ratingScore(RatingScore.of(0.0, 0))
                 .build();
 
         equipment = equipmentRepository.save(equipment);
+        regionPackBuilder.markDirty(equipment.getDistrict());
+        mapClusterIndex.update(equipment);
+        serviceAreaIndex.update(equipment);
         return EquipmentResponse.fromEquipment(equipment);
     }
 
@@ -68,13 +112,16 @@ public class EquipmentService {
         Equipment equipment = equipmentRepository.findById(equipmentId)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
-        User owner = userRepository.findByPhone(ownerPhone)
+        User owner = userCache.findByPhone(ownerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (!equipment.getOwnerId().equals(owner.getId())) {
             throw new RuntimeException("You can only update your own equipment");
         }
+        serviceAreaIndex.validate(request.getServiceArea());
 
+        // The listing may move to another district; both packs change
+        regionPackBuilder.markDirty(equipment.getDistrict());
         equipment.setName(request.getName());
         equipment.setDescription(request.getDescription());
         equipment.setCategory(request.getCategory());
@@ -89,8 +136,12 @@ public class EquipmentService {
         equipment.setDistrict(request.getDistrict());
         equipment.setState(request.getState());
         equipment.setPincode(request.getPincode());
+        equipment.setServiceArea(request.getServiceArea());
 
         equipment = equipmentRepository.save(equipment);
+        regionPackBuilder.markDirty(equipment.getDistrict());
+        mapClusterIndex.update(equipment);
+        serviceAreaIndex.update(equipment);
         return EquipmentResponse.fromEquipment(equipment);
     }
 
@@ -98,21 +149,27 @@ public class EquipmentService {
         Equipment equipment = equipmentRepository.findById(equipmentId)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
-        User owner = userRepository.findByPhone(ownerPhone)
+        User owner = userCache.findByPhone(ownerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (!equipment.getOwnerId().equals(owner.getId())) {
             throw new RuntimeException("You can only delete your own equipment");
         }
 
+        // Written first: if the delete then fails, clients drop a listing that still exists until
+        // its next update, which is better than never hearing about a delete
+        mongoTemplate.save(EquipmentTombstone.of(equipment));
         equipmentRepository.delete(equipment);
+        regionPackBuilder.markDirty(equipment.getDistrict());
+        mapClusterIndex.remove(equipment.getId());
+        serviceAreaIndex.remove(equipment.getId());
     }
 
     public EquipmentResponse toggleAvailability(String ownerPhone, String equipmentId) {
         Equipment equipment = equipmentRepository.findById(equipmentId)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
-        User owner = userRepository.findByPhone(ownerPhone)
+        User owner = userCache.findByPhone(ownerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (!equipment.getOwnerId().equals(owner.getId())) {
@@ -121,11 +178,14 @@ public class EquipmentService {
 
         equipment.setAvailable(!equipment.getAvailable());
         equipment = equipmentRepository.save(equipment);
+        regionPackBuilder.markDirty(equipment.getDistrict());
+        mapClusterIndex.update(equipment);
+        serviceAreaIndex.update(equipment);
         return EquipmentResponse.fromEquipment(equipment);
     }
 
     public List<EquipmentResponse> getMyEquipment(String ownerPhone) {
-        User owner = userRepository.findByPhone(ownerPhone)
+        User owner = userCache.findByPhone(ownerPhone)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return equipmentRepository.findByOwnerId(owner.getId())
@@ -134,53 +194,108 @@ public class EquipmentService {
                 .collect(Collectors.toList());
     }
 
-    public EquipmentResponse getEquipmentById(String equipmentId) {
-        Equipment equipment = equipmentRepository.findById(equipmentId)
-                .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        return EquipmentResponse.fromEquipment(equipment);
+    /**
+     * Streamed variant of {@link #getMyEquipment}: listings are read from a cursor while the
+     * response is written. The caller must close the stream.
+     */
+    public Stream<EquipmentResponse> streamMyEquipment(String ownerPhone) {
+        User owner = userCache.findByPhone(ownerPhone)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return equipmentRepository.streamByOwnerId(owner.getId())
+                .map(EquipmentResponse::fromEquipment);
     }
 
-    public List<EquipmentResponse> searchEquipment(EquipmentSearchRequest request) {
-        // Build query
-        Query query = new Query();
-        query.addCriteria(Criteria.where("available").is(true));
+    public EquipmentResponse getEquipmentById(String equipmentId) {
+        return resilientReads.read("equipment-by-id", equipmentId, singleFlight, () -> {
+            Equipment equipment = equipmentCache.findById(equipmentId)
+                    .orElseThrow(() -> new RuntimeException("Equipment not found"));
+            return EquipmentResponse.fromEquipment(equipment);
+        });
+    }
 
-        // Category filter
-        if (request.getCategory() != null) {
-            query.addCriteria(Criteria.where("category").is(request.getCategory()));
+    /**
+     * Several listings in one {@code $in} query, e.g. the equipment behind a page of bookings.
+     * Results follow the order of the requested ids, with null (and an entry in {@code missing})
+     * for ids that do not exist; duplicates are fetched once. Only the fields behind the selected
+     * response properties are loaded.
+     */
+    @Timed("agrorent.service")
+    public EquipmentBatchResponse getEquipmentByIds(EquipmentBatchRequest request, FieldSet fields) {
+        List<String> ids = request.getIds();
+        if (ids.size() > batchMaxIds) {
+            throw new RuntimeException("At most " + batchMaxIds + " equipment IDs can be requested at once");
         }
-
-        // Price filter
-        if (request.getMaxPrice() != null) {
-            String priceField = "pricePerDay";
-            if ("HOURLY".equals(request.getPricingType())) {
-                priceField = "pricePerHour";
-            } else if ("WEEKLY".equals(request.getPricingType())) {
-                priceField = "pricePerWeek";
+        List<String> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        // Only the lookup by id is stored under the key; each caller's ordering, duplicates
+        // included, is applied to it below
+        Map<String, EquipmentResponse> found = resilientReads.read("equipment-batch", new BatchQuery(unique, fields), () -> {
+            Query query = fields.applyTo(new Query(Criteria.where("_id").in(unique)));
+            Map<String, EquipmentResponse> byId = new HashMap<>();
+            for (Equipment equipment : mongoTemplate.find(query, Equipment.class)) {
+                byId.put(equipment.getId(), EquipmentResponse.fromEquipment(equipment));
             }
-
-            Criteria priceCriteria = Criteria.where(priceField);
-            if (request.getMinPrice() != null) {
-                priceCriteria = priceCriteria.gte(request.getMinPrice());
+            return byId;
+        });
+
+        List<EquipmentResponse> equipment = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            EquipmentResponse response = found.get(id);
+            equipment.add(response);
+            if (response == null) {
+                missing.add(id);
             }
-            priceCriteria = priceCriteria.lte(request.getMaxPrice());
-            query.addCriteria(priceCriteria);
         }
+        return EquipmentBatchResponse.builder()
+                .equipment(equipment)
+                .missing(missing)
+                .build();
+    }
 
-        List<Equipment> results;
+    @Timed("agrorent.service")
+    public List<EquipmentResponse> searchEquipment(EquipmentSearchRequest request, FieldSet fields) {
+        return resilientReads.read("equipment-search", new SearchQuery(request, fields), () -> findEquipment(request, fields));
+    }
 
-        // Location-based search
-        if (request.getLatitude() != null && request.getLongitude() != null) {
-            Point searchPoint = new Point(request.getLongitude(), request.getLatitude());
-            double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : 50.0;
+    /**
+     * {@link #searchEquipment} with facet counts: the hits come from the same find, the counts from
+     * one aggregation in {@link EquipmentFacetService}.
+     */
+    @Timed("agrorent.service")
+    public EquipmentSearchResponse searchEquipmentWithFacets(EquipmentSearchRequest request, FieldSet fields) {
+        return resilientReads.read("equipment-search-facets", new SearchQuery(request, fields), () ->
+                EquipmentSearchResponse.builder()
+                        .equipment(findEquipment(request, fields))
+                        .facets(equipmentFacetService.countFacets(request))
+                        .build());
+    }
 
-            query.addCriteria(
-                    Criteria.where("location").nearSphere(searchPoint)
-                            .maxDistance(radiusKm / 6378.1) // Convert km to radians
-            );
+    /**
+     * k-nearest search: the {@code nearest} available listings matching the request's filters,
+     * nearest first, searched in growing rings (see {@link #findNearestEquipment}).
+     */
+    @Timed("agrorent.service")
+    public NearestEquipmentResponse getNearestEquipment(EquipmentSearchRequest request, FieldSet fields) {
+        return resilientReads.read("equipment-nearest", new SearchQuery(request, fields), () ->
+                findNearestEquipment(request, fields));
+    }
 
-            results = mongoTemplate.find(query, Equipment.class);
+    private List<EquipmentResponse> findEquipment(EquipmentSearchRequest request, FieldSet fields) {
+        if (request.getNearest() != null) {
+            return findNearestEquipment(request, fields).getEquipment();
+        }
+        if ("relevance".equalsIgnoreCase(request.getSortBy())) {
+            return findEquipmentByRelevance(request, fields);
+        }
 
+        // Location and the sort keys are needed here whatever the client selected
+        Query query = fields.applyTo(buildSearchQuery(request), "location", "pricePerDay", "ratingScore");
+
+        List<Equipment> results = mongoTemplate.find(query, Equipment.class);
+
+        // Location-based search
+        if (request.getLatitude() != null && request.getLongitude() != null) {
             // Calculate distances and convert to response
             return results.stream()
                     .map(eq -> {
@@ -194,7 +309,6 @@ public class EquipmentService {
                     .collect(Collectors.toList());
         } else {
             // Non-location based search
-            results = mongoTemplate.find(query, Equipment.class);
             return results.stream()
                     .map(EquipmentResponse::fromEquipment)
                     .sorted(getSorter(request))
@@ -202,7 +316,203 @@ public class EquipmentService {
         }
     }
 
-    public List<EquipmentResponse> getNearbyEquipment(double latitude, double longitude, double radiusKm) {
+    /**
+     * One page of the search in relevance order. The matches are read with only the ranked fields
+     * into a {@link CandidateSet}, {@link RelevanceRanker} keeps the best {@code (page + 1) * size},
+     * and only the listings of the requested page are then loaded in full, by id.
+     */
+    private List<EquipmentResponse> findEquipmentByRelevance(EquipmentSearchRequest request, FieldSet fields) {
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = request.getSize() != null ? request.getSize() : 20;
+        if (page < 0 || size < 1 || (long) (page + 1) * size > relevanceRanker.maxResults()) {
+            throw new RuntimeException("Relevance search returns at most the first " + relevanceRanker.maxResults() + " results");
+        }
+        boolean located = request.getLatitude() != null && request.getLongitude() != null;
+        double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : 50.0;
+        String priceField = priceField(request);
+
+        Query query = buildSearchQuery(request);
+        query.fields().include("location", priceField, "ratingScore", "verified", "timesRented");
+        List<Equipment> matches = mongoTemplate.find(query, Equipment.class);
+
+        CandidateSet candidates = new CandidateSet(matches.size());
+        for (Equipment eq : matches) {
+            Point location = eq.getLocation();
+            Double price = switch (priceField) {
+                case "pricePerHour" -> eq.getPricePerHour();
+                case "pricePerWeek" -> eq.getPricePerWeek();
+                default -> eq.getPricePerDay();
+            };
+            candidates.add(eq.getId(), location != null ? location.getY() : Double.NaN,
+                    location != null ? location.getX() : Double.NaN,
+                    price, eq.getRatingScore(), eq.getVerified(), eq.getTimesRented());
+        }
+        if (located) {
+            candidates.measureFrom(request.getLatitude(), request.getLongitude(), radiusKm);
+        }
+
+        int[] ranked = relevanceRanker.rank(candidates, radiusKm, (page + 1) * size);
+        int from = page * size;
+        if (from >= ranked.length) {
+            return List.of();
+        }
+        List<String> pageIds = new ArrayList<>(ranked.length - from);
+        for (int i = from; i < ranked.length; i++) {
+            pageIds.add(candidates.id(ranked[i]));
+        }
+
+        Map<String, Equipment> loaded = new HashMap<>();
+        for (Equipment eq : mongoTemplate.find(fields.applyTo(new Query(Criteria.where("_id").in(pageIds)), "location"), Equipment.class)) {
+            loaded.put(eq.getId(), eq);
+        }
+        List<EquipmentResponse> results = new ArrayList<>(pageIds.size());
+        for (int i = from; i < ranked.length; i++) {
+            // Skips a listing deleted between the two reads
+            Equipment eq = loaded.get(candidates.id(ranked[i]));
+            if (eq != null) {
+                // The batch distances are approximate away from the radius; the page shows exact ones
+                results.add(EquipmentResponse.fromEquipment(eq, located && eq.getLocation() != null
+                        ? calculateDistance(request.getLatitude(), request.getLongitude(),
+                        eq.getLocation().getY(), eq.getLocation().getX())
+                        : null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Expanding-ring k-nearest search. Each ring is a {@code $nearSphere} find between the previous
+     * radius and the next, limited to the matches still missing, so the 2dsphere index stops after
+     * at most k listings per ring: the cost follows k rather than how many listings a fixed radius
+     * would hold. Rings grow by the configured factor until k are found or the maximum radius has
+     * been searched. Listings already found are excluded, since both ring bounds are inclusive.
+     */
+    private NearestEquipmentResponse findNearestEquipment(EquipmentSearchRequest request, FieldSet fields) {
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            throw new RuntimeException("Nearest search needs a latitude and longitude");
+        }
+        int k = request.getNearest();
+        if (k < 1 || k > nearestSearchProperties.getMaxResults()) {
+            throw new RuntimeException("nearest must be between 1 and " + nearestSearchProperties.getMaxResults());
+        }
+        if (request.getRadiusKm() != null && !(request.getRadiusKm() > 0)) {
+            throw new RuntimeException("radiusKm must be positive");
+        }
+        double maxRadiusKm = request.getRadiusKm() != null
+                ? Math.min(request.getRadiusKm(), nearestSearchProperties.getMaxRadiusKm())
+                : nearestSearchProperties.getMaxRadiusKm();
+        Point searchPoint = new Point(request.getLongitude(), request.getLatitude());
+
+        List<EquipmentResponse> found = new ArrayList<>(k);
+        List<String> foundIds = new ArrayList<>(k);
+        double innerKm = 0;
+        double outerKm = Math.min(nearestSearchProperties.getInitialRadiusKm(), maxRadiusKm);
+        int rings = 0;
+        while (true) {
+            rings++;
+            Criteria ring = Criteria.where("location").nearSphere(searchPoint)
+                    .maxDistance(outerKm / 6378.1); // Convert km to radians
+            if (innerKm > 0) {
+                ring = ring.minDistance(innerKm / 6378.1);
+            }
+            Query query = buildFilterQuery(request).addCriteria(ring);
+            if (!foundIds.isEmpty()) {
+                query.addCriteria(Criteria.where("_id").nin(foundIds));
+            }
+            query = fields.applyTo(query, "location").limit(k - found.size());
+
+            for (Equipment eq : mongoTemplate.find(query, Equipment.class)) {
+                foundIds.add(eq.getId());
+                found.add(EquipmentResponse.fromEquipment(eq, calculateDistance(
+                        request.getLatitude(), request.getLongitude(),
+                        eq.getLocation().getY(), eq.getLocation().getX())));
+            }
+            if (found.size() >= k || outerKm >= maxRadiusKm) {
+                break;
+            }
+            innerKm = outerKm;
+            outerKm = Math.min(outerKm * nearestSearchProperties.getGrowthFactor(), maxRadiusKm);
+        }
+
+        return NearestEquipmentResponse.builder()
+                .equipment(found)
+                .radiusKm(outerKm)
+                .rings(rings)
+                .complete(found.size() >= k)
+                .build();
+    }
+
+    /**
+     * Builds the filter for a search request, including the {@code $nearSphere} radius when a
+     * location is given. Shared with the reactive search so both paths return the same matches.
+     */
+    static Query buildSearchQuery(EquipmentSearchRequest request) {
+        Query query = buildFilterQuery(request);
+
+        // Location-based search
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            Point searchPoint = new Point(request.getLongitude(), request.getLatitude());
+            double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : 50.0;
+
+            query.addCriteria(
+                    Criteria.where("location").nearSphere(searchPoint)
+                            .maxDistance(radiusKm / 6378.1) // Convert km to radians
+            );
+        }
+
+        return query;
+    }
+
+    // The request's availability, category and price filters, without the location
+    private static Query buildFilterQuery(EquipmentSearchRequest request) {
+        Query query = new Query();
+        query.addCriteria(Criteria.where("available").is(true));
+
+        // Category filter
+        if (request.getCategory() != null) {
+            query.addCriteria(Criteria.where("category").is(request.getCategory()));
+        }
+
+        // Price filter
+        Criteria priceCriteria = priceCriteria(request);
+        if (priceCriteria != null) {
+            query.addCriteria(priceCriteria);
+        }
+
+        return query;
+    }
+
+    // Null when the request has no price filter; a minimum only counts together with a maximum
+    static Criteria priceCriteria(EquipmentSearchRequest request) {
+        if (request.getMaxPrice() == null) {
+            return null;
+        }
+        Criteria priceCriteria = Criteria.where(priceField(request));
+        if (request.getMinPrice() != null) {
+            priceCriteria = priceCriteria.gte(request.getMinPrice());
+        }
+        return priceCriteria.lte(request.getMaxPrice());
+    }
+
+    // The price the request filters on, by its pricing type (daily by default)
+    static String priceField(EquipmentSearchRequest request) {
+        if ("HOURLY".equals(request.getPricingType())) {
+            return "pricePerHour";
+        } else if ("WEEKLY".equals(request.getPricingType())) {
+            return "pricePerWeek";
+        }
+        return "pricePerDay";
+    }
+
+    @Timed("agrorent.service")
+    public List<EquipmentResponse> getNearbyEquipment(double latitude, double longitude, double radiusKm, FieldSet fields) {
+        NearbyQuery key = new NearbyQuery(latitude, longitude, radiusKm, fields);
+        return resilientReads.read("equipment-nearby", key, singleFlight, () -> fields.isAll()
+                    ? findNearbyEquipment(latitude, longitude, radiusKm)
+                    : findNearbyEquipment(latitude, longitude, radiusKm, fields));
+    }
+
+    private List<EquipmentResponse> findNearbyEquipment(double latitude, double longitude, double radiusKm) {
         Point location = new Point(longitude, latitude);
         Distance distance = new Distance(radiusKm, Metrics.KILOMETERS);
 
@@ -214,18 +524,104 @@ public class EquipmentService {
                     double distanceKm = result.getDistance().getValue();
                     return EquipmentResponse.fromEquipment(result.getContent(), distanceKm);
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    public List<EquipmentResponse> getEquipmentByCategory(EquipmentCategory category) {
-        return equipmentRepository.findByCategory(category)
-                .stream()
-                .filter(Equipment::getAvailable)
-                .map(EquipmentResponse::fromEquipment)
-                .collect(Collectors.toList());
+    /**
+     * Projected variant of the nearby search: {@code $geoNear} cannot project, so this uses a
+     * {@code $nearSphere} find (same order) and computes distances the way {@link #findEquipment}
+     * does, rounded to 0.1 km.
+     */
+    private List<EquipmentResponse> findNearbyEquipment(double latitude, double longitude, double radiusKm,
+                                                        FieldSet fields) {
+        Query query = fields.applyTo(new Query(Criteria.where("available").is(true)
+                .and("location").nearSphere(new Point(longitude, latitude)).maxDistance(radiusKm / 6378.1)), "location");
+
+        return mongoTemplate.find(query, Equipment.class).stream()
+                .map(eq -> EquipmentResponse.fromEquipment(eq, calculateDistance(
+                        latitude, longitude, eq.getLocation().getY(), eq.getLocation().getX())))
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    private Comparator<EquipmentResponse> getSorter(EquipmentSearchRequest request) {
+    public List<EquipmentResponse> getEquipmentByCategory(EquipmentCategory category, FieldSet fields) {
+        CategoryQuery key = new CategoryQuery(category, fields);
+        return resilientReads.read("equipment-by-category", key, singleFlight, () -> {
+            Query query = fields.applyTo(new Query(Criteria.where("category").is(category)
+                    .and("available").is(true)));
+            return mongoTemplate.find(query, Equipment.class)
+                    .stream()
+                    .map(EquipmentResponse::fromEquipment)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    /**
+     * The best rated available listings, overall or in one category, by {@code ratingScore}. The
+     * {@code available_rating_score} and {@code category_available_rating_score} indexes give the
+     * order, so Mongo reads only {@code limit} entries.
+     */
+    public List<EquipmentResponse> getTopRatedEquipment(EquipmentCategory category, int limit, FieldSet fields) {
+        if (limit < 1 || limit > topRatedMaxLimit) {
+            throw new RuntimeException("Limit must be between 1 and " + topRatedMaxLimit);
+        }
+        TopRatedQuery key = new TopRatedQuery(category, limit, fields);
+        return resilientReads.read("equipment-top-rated", key, singleFlight, () -> {
+            Criteria criteria = category != null
+                    ? Criteria.where("category").is(category).and("available").is(true)
+                    : Criteria.where("available").is(true);
+            Query query = fields.applyTo(new Query(criteria))
+                    .with(Sort.by(Sort.Direction.DESC, "ratingScore"))
+                    .limit(limit);
+            return mongoTemplate.find(query, Equipment.class)
+                    .stream()
+                    .map(EquipmentResponse::fromEquipment)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    /**
+     * Listings that deliver to a farm: {@link ServiceAreaIndex} finds the available listings whose
+     * service area contains the point, nearest first, and only those are loaded, by id. Their
+     * distance is the farm's distance from the listing.
+     */
+    @Timed("agrorent.service")
+    public List<EquipmentResponse> getServingEquipment(double latitude, double longitude, EquipmentCategory category,
+                                                       int limit, FieldSet fields) {
+        List<ServiceAreaMatch> matches = serviceAreaIndex.serving(latitude, longitude, category, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(matches.size());
+        for (ServiceAreaMatch match : matches) {
+            ids.add(match.equipmentId());
+        }
+        return resilientReads.read("equipment-serving", new ServingQuery(ids, fields), () -> {
+            Map<String, Equipment> loaded = new HashMap<>();
+            for (Equipment eq : mongoTemplate.find(fields.applyTo(new Query(Criteria.where("_id").in(ids))), Equipment.class)) {
+                loaded.put(eq.getId(), eq);
+            }
+            List<EquipmentResponse> results = new ArrayList<>(matches.size());
+            for (ServiceAreaMatch match : matches) {
+                // Skips a listing deleted since the index last heard of it
+                Equipment eq = loaded.get(match.equipmentId());
+                if (eq != null) {
+                    results.add(EquipmentResponse.fromEquipment(eq, Math.round(match.distanceKm() * 10.0) / 10.0));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Streamed variant of {@link #getEquipmentByCategory}, with the availability filter applied by
+     * the query. The caller must close the stream.
+     */
+    public Stream<EquipmentResponse> streamEquipmentByCategory(EquipmentCategory category) {
+        return equipmentRepository.streamByCategoryAndAvailableTrue(category)
+                .map(EquipmentResponse::fromEquipment);
+    }
+
+    static Comparator<EquipmentResponse> getSorter(EquipmentSearchRequest request) {
         String sortBy = request.getSortBy() != null ? request.getSortBy() : "distance";
         boolean asc = !"desc".equalsIgnoreCase(request.getSortOrder());
 
@@ -238,8 +634,9 @@ public class EquipmentService {
                 );
                 break;
             case "rating":
+                // By the Bayesian score, so one 5-star rating does not outrank two hundred 4.8s
                 comparator = Comparator.comparing(
-                        eq -> eq.getRating() != null ? eq.getRating() : 0.0
+                        eq -> eq.getRatingScore() != null ? eq.getRatingScore() : 0.0
                 );
                 if (asc) comparator = comparator.reversed(); // Higher rating first by default
                 break;
@@ -254,7 +651,7 @@ public class EquipmentService {
         return asc ? comparator : comparator.reversed();
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+    static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
         // Haversine formula
         double R = 6371; // Earth's radius in km
         double dLat = Math.toRadians(lat2 - lat1);
@@ -265,4 +662,24 @@ public class EquipmentService {
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
         return Math.round(R * c * 10.0) / 10.0; // Round to 1 decimal place
     }
+
+    // Keys for coalescing and fallback of identical reads; each includes the selected fields
+
+    private record NearbyQuery(double latitude, double longitude, double radiusKm, FieldSet fields) {
+    }
+
+    private record CategoryQuery(EquipmentCategory category, FieldSet fields) {
+    }
+
+    private record TopRatedQuery(EquipmentCategory category, int limit, FieldSet fields) {
+    }
+
+    private record ServingQuery(List<String> ids, FieldSet fields) {
+    }
+
+    private record SearchQuery(EquipmentSearchRequest request, FieldSet fields) {
+    }
+
+    private record BatchQuery(List<String> ids, FieldSet fields) {
+    }
 }
@@ -0,0 +1,97 @@
+package com.agrorent.service;
+
+import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.enums.EquipmentCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of the public read paths in {@link EquipmentService}. Results are emitted
+ * as they come off the Mongo cursor, so ordering is pushed into the query wherever possible instead
+ * of sorting in memory.
+ */
+@Service
+@ConditionalOnProperty(name = "agrorent.reactive.enabled", havingValue = "true")
+public class ReactiveEquipmentService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final int cursorBatchSize;
+
+    public ReactiveEquipmentService(ReactiveMongoTemplate reactiveMongoTemplate,
+                                    @Value("${agrorent.reactive.cursor-batch-size:64}") int cursorBatchSize) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    public Flux<EquipmentResponse> searchEquipment(EquipmentSearchRequest request) {
+        Query query = EquipmentService.buildSearchQuery(request).cursorBatchSize(cursorBatchSize);
+        boolean hasLocation = request.getLatitude() != null && request.getLongitude() != null;
+        String sortBy = request.getSortBy() != null ? request.getSortBy().toLowerCase() : "distance";
+        boolean asc = !"desc".equalsIgnoreCase(request.getSortOrder());
+
+        boolean sortInMemory = false;
+        Query unpriced = null;
+        switch (sortBy) {
+            case "price":
+                // Mongo orders a missing price before every price, EquipmentService.getSorter after
+                // (so last ascending, first descending): unpriced listings come from a second cursor
+                query.addCriteria(new Criteria().andOperator(Criteria.where("pricePerDay").ne(null)))
+                        .with(Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, "pricePerDay"));
+                unpriced = EquipmentService.buildSearchQuery(request).cursorBatchSize(cursorBatchSize)
+                        .addCriteria(new Criteria().andOperator(Criteria.where("pricePerDay").is(null)));
+                break;
+            case "rating":
+                // Matches EquipmentService.getSorter: higher ratings first regardless of order
+                query.with(Sort.by(Sort.Direction.DESC, "ratingScore"));
+                break;
+            default:
+                // $nearSphere already returns nearest first; only the reverse needs the full result set
+                sortInMemory = hasLocation && !asc;
+                break;
+        }
+
+        Flux<Equipment> found = reactiveMongoTemplate.find(query, Equipment.class);
+        if (unpriced != null) {
+            Flux<Equipment> withoutPrice = reactiveMongoTemplate.find(unpriced, Equipment.class);
+            found = asc ? found.concatWith(withoutPrice) : withoutPrice.concatWith(found);
+        }
+        Flux<EquipmentResponse> results = found
+                .map(eq -> hasLocation
+                        ? EquipmentResponse.fromEquipment(eq, EquipmentService.calculateDistance(
+                                request.getLatitude(), request.getLongitude(),
+                                eq.getLocation().getY(), eq.getLocation().getX()))
+                        : EquipmentResponse.fromEquipment(eq));
+
+        return sortInMemory ? results.sort(EquipmentService.getSorter(request)) : results;
+    }
+
+    public Flux<EquipmentResponse> getNearbyEquipment(double latitude, double longitude, double radiusKm) {
+        NearQuery nearQuery = NearQuery.near(new Point(longitude, latitude))
+                .spherical(true)
+                .maxDistance(new Distance(radiusKm, Metrics.KILOMETERS))
+                .query(new Query(Criteria.where("available").is(true)));
+
+        return reactiveMongoTemplate.geoNear(nearQuery, Equipment.class)
+                .map(result -> EquipmentResponse.fromEquipment(result.getContent(), result.getDistance().getValue()));
+    }
+
+    public Flux<EquipmentResponse> getEquipmentByCategory(EquipmentCategory category) {
+        Query query = new Query(Criteria.where("category").is(category).and("available").is(true))
+                .cursorBatchSize(cursorBatchSize);
+
+        return reactiveMongoTemplate.find(query, Equipment.class)
+                .map(EquipmentResponse::fromEquipment);
+    }
+}
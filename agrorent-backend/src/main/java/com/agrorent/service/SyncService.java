@@ -0,0 +1,228 @@
+package com.agrorent.service;
+
+import com.agrorent.cache.UserCache;
+import com.agrorent.dto.response.BookingResponse;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.dto.response.SyncResponse;
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.EquipmentTombstone;
+import com.agrorent.model.User;
+import com.agrorent.model.enums.EquipmentCategory;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "Changes since" for mobile clients: the caller's listings (plus one catalogue category if asked
+ * for), bookings on either side, and listings deleted since the last call, so a client can keep a
+ * local copy current without downloading the full lists again.
+ *
+ * Each list is read in {@code (updatedAt, _id)} order ({@code deletedAt} for tombstones) and capped
+ * at {@code max-changes}. The answer carries a cursor to pass back on the next call. When a list is
+ * cut off, the cursor points just past its last item (the earliest such item if several lists are
+ * cut off) and {@code hasMore} is set; later items of the other lists are sent again, so clients
+ * must apply changes by id. Ties on the timestamp are broken by id, so a page always moves forward
+ * however many items share one {@code updatedAt}. A complete answer returns a cursor at the time of
+ * the query less the overlap, to catch writes that were still in flight while it ran.
+ *
+ * A full sync (no cursor, or one older than the tombstones' retention) records when it started in
+ * its cursor, so its later pages carry on from where the last one stopped rather than starting
+ * over. Once it completes, the cursor goes back to its start time, which brings in the deletes and
+ * changes made while it ran.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final UserCache userCache;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${agrorent.sync.max-changes:500}")
+    private int maxChanges;
+
+    @Value("${agrorent.sync.overlap:5s}")
+    private Duration overlap;
+
+    // cursor wins over since; since alone starts a delta sync at that time
+    @Timed("agrorent.service")
+    public SyncResponse getChanges(String phone, String cursor, LocalDateTime since, EquipmentCategory category) {
+        User user = userCache.findByPhone(phone)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        SyncCursor position = cursor != null ? SyncCursor.decode(cursor)
+                : since != null ? new SyncCursor(since, null, null)
+                : null;
+
+        Criteria equipmentScope = Criteria.where("ownerId").is(user.getId());
+        if (category != null) {
+            equipmentScope = new Criteria().orOperator(equipmentScope, Criteria.where("category").is(category));
+        }
+        Criteria bookingScope = new Criteria().orOperator(
+                Criteria.where("renterId").is(user.getId()),
+                Criteria.where("rentTakerId").is(user.getId()));
+
+        Changes changes = collect(position, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), overlap, maxChanges,
+                new MongoFeed<>(mongoTemplate, Equipment.class, equipmentScope, "updatedAt",
+                        Equipment::getUpdatedAt, Equipment::getId),
+                new MongoFeed<>(mongoTemplate, Booking.class, bookingScope, "updatedAt",
+                        Booking::getUpdatedAt, Booking::getId),
+                new MongoFeed<>(mongoTemplate, EquipmentTombstone.class, equipmentScope, "deletedAt",
+                        EquipmentTombstone::getDeletedAt, EquipmentTombstone::getId));
+
+        return SyncResponse.builder()
+                .cursor(changes.next().encode())
+                .watermark(changes.next().since())
+                .hasMore(changes.hasMore())
+                .fullSync(changes.fullSync())
+                .equipment(changes.equipment().stream()
+                        .map(EquipmentResponse::fromEquipment)
+                        .collect(Collectors.toList()))
+                .deletedEquipmentIds(changes.deleted().stream()
+                        .map(EquipmentTombstone::getId)
+                        .collect(Collectors.toList()))
+                .bookings(changes.bookings().stream()
+                        .map(BookingResponse::fromBooking)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    // One page of changes after the cursor, and the cursor for the next call
+    static Changes collect(SyncCursor cursor, LocalDateTime now, Duration overlap, int maxChanges,
+                           ChangeFeed<Equipment> equipmentFeed, ChangeFeed<Booking> bookingFeed,
+                           ChangeFeed<EquipmentTombstone> tombstoneFeed) {
+        LocalDateTime retainedFrom = now.minus(EquipmentTombstone.RETENTION);
+        // Deletes older than the tombstones' retention can no longer be reported
+        boolean startFullSync = cursor == null || (cursor.fullSyncStartedAt() == null
+                ? cursor.since().isBefore(retainedFrom)
+                : cursor.fullSyncStartedAt().isBefore(retainedFrom));
+        SyncCursor from = startFullSync ? new SyncCursor(null, null, now) : cursor;
+        boolean inFullSync = from.fullSyncStartedAt() != null;
+
+        Page<Equipment> equipment = page(equipmentFeed, from, maxChanges);
+        Page<Booking> bookings = page(bookingFeed, from, maxChanges);
+        // A full sync replaces the local copy, so there is nothing to delete yet
+        Page<EquipmentTombstone> deleted = inFullSync
+                ? new Page<>(List.of(), null)
+                : page(tombstoneFeed, from, maxChanges);
+
+        SyncCursor next = List.of(equipment, bookings, deleted).stream()
+                .map(Page::cutOff)
+                .filter(cutOff -> cutOff != null)
+                .min(SyncCursor.ORDER)
+                .map(cutOff -> new SyncCursor(cutOff.since(), cutOff.afterId(), from.fullSyncStartedAt()))
+                .orElse(null);
+        boolean hasMore = next != null;
+        if (!hasMore) {
+            LocalDateTime watermark = (inFullSync ? from.fullSyncStartedAt() : now).minus(overlap);
+            next = !inFullSync && watermark.isBefore(from.since()) ? from : new SyncCursor(watermark, null, null);
+        }
+        return new Changes(equipment.items(), bookings.items(), deleted.items(), next, hasMore, startFullSync);
+    }
+
+    private static <T> Page<T> page(ChangeFeed<T> feed, SyncCursor from, int maxChanges) {
+        List<T> items = feed.read(from.since(), from.afterId(), maxChanges + 1);
+        if (items.size() <= maxChanges) {
+            return new Page<>(items, null);
+        }
+        items = items.subList(0, maxChanges);
+        T last = items.get(maxChanges - 1);
+        return new Page<>(items, new SyncCursor(feed.timestampOf(last), feed.idOf(last), null));
+    }
+
+    /**
+     * Position in the change lists: after (since, afterId) in timestamp-then-id order, or at or after
+     * since when afterId is null, or from the start when since is null. fullSyncStartedAt is set
+     * while a full sync is being paged through.
+     */
+    record SyncCursor(LocalDateTime since, String afterId, LocalDateTime fullSyncStartedAt) {
+
+        static final Comparator<SyncCursor> ORDER = Comparator.comparing(SyncCursor::since)
+                .thenComparing(SyncCursor::afterId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        String encode() {
+            String raw = since + "|" + (afterId == null ? "" : afterId) + "|"
+                    + (fullSyncStartedAt == null ? "" : fullSyncStartedAt);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SyncCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                        .split("\\|", -1);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException();
+                }
+                return new SyncCursor(LocalDateTime.parse(parts[0]),
+                        parts[1].isEmpty() ? null : parts[1],
+                        parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new RuntimeException("Invalid sync cursor");
+            }
+        }
+    }
+
+    // One list of changes in (timestamp, id) order
+    interface ChangeFeed<T> {
+
+        // Up to limit items after the position (see SyncCursor), oldest first
+        List<T> read(LocalDateTime since, String afterId, int limit);
+
+        LocalDateTime timestampOf(T item);
+
+        String idOf(T item);
+    }
+
+    record Changes(List<Equipment> equipment, List<Booking> bookings, List<EquipmentTombstone> deleted,
+                   SyncCursor next, boolean hasMore, boolean fullSync) {
+    }
+
+    // cutOff is null when every change was returned
+    private record Page<T>(List<T> items, SyncCursor cutOff) {
+    }
+
+    private record MongoFeed<T>(MongoTemplate mongoTemplate, Class<T> type, Criteria scope, String timestampField,
+                                Function<T, LocalDateTime> timestamp, Function<T, String> id)
+            implements ChangeFeed<T> {
+
+        @Override
+        public List<T> read(LocalDateTime since, String afterId, int limit) {
+            Criteria criteria = scope;
+            if (since != null && afterId != null) {
+                criteria = new Criteria().andOperator(scope, new Criteria().orOperator(
+                        Criteria.where(timestampField).gt(since),
+                        Criteria.where(timestampField).is(since).and("_id").gt(afterId)));
+            } else if (since != null) {
+                criteria = new Criteria().andOperator(scope, Criteria.where(timestampField).gte(since));
+            }
+            Query query = new Query(criteria).with(Sort.by(timestampField, "_id")).limit(limit);
+            return mongoTemplate.find(query, type);
+        }
+
+        @Override
+        public LocalDateTime timestampOf(T item) {
+            return timestamp.apply(item);
+        }
+
+        @Override
+        public String idOf(T item) {
+            return id.apply(item);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.agrorent.servicearea;
+
+import com.agrorent.geo.DistanceKernel;
+import com.agrorent.ranking.TopK;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverse index of delivery areas: which listings' areas contain a given farm. The world is cut
+ * into {@code cellDegrees} square cells of latitude and longitude, and each area is filed under
+ * every cell its bounding box overlaps. A lookup reads the one cell holding the farm and tests only
+ * the areas filed there, first against their bounding box, then exactly: a haversine distance for a
+ * radius, a ray-casting test for a polygon.
+ *
+ * Bounding boxes are clamped at the antimeridian rather than wrapped around it. Not thread safe;
+ * {@link ServiceAreaIndex} guards it.
+ */
+final class ServiceAreaGrid {
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+    private final Map<Long, List<Region>> cells = new HashMap<>();
+    private final Map<String, Region> regions = new HashMap<>();
+
+    ServiceAreaGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("cellDegrees must be above 0 and at most 90");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    int size() {
+        return regions.size();
+    }
+
+    /**
+     * Adds a listing that delivers within {@code radiusKm} of its location, replacing any area it
+     * had.
+     */
+    void putRadius(String id, int category, double latitude, double longitude, double radiusKm) {
+        double angle = radiusKm / DistanceKernel.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        // Widest longitude the circle reaches; all of them when it covers a pole
+        if (Math.abs(latitude) + dLat < 90) {
+            double dLon = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(latitude))));
+            minLongitude = longitude - dLon;
+            maxLongitude = longitude + dLon;
+        }
+        put(new Region(id, category, latitude, longitude, radiusKm, null, null,
+                latitude - dLat, minLongitude, latitude + dLat, maxLongitude));
+    }
+
+    /**
+     * Adds a listing that delivers inside a polygon, replacing any area it had. The vertices are
+     * taken in order and the ring is closed implicitly.
+     */
+    void putPolygon(String id, int category, double latitude, double longitude,
+                    double[] latitudes, double[] longitudes) {
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < latitudes.length; i++) {
+            minLatitude = Math.min(minLatitude, latitudes[i]);
+            maxLatitude = Math.max(maxLatitude, latitudes[i]);
+            minLongitude = Math.min(minLongitude, longitudes[i]);
+            maxLongitude = Math.max(maxLongitude, longitudes[i]);
+        }
+        put(new Region(id, category, latitude, longitude, Double.NaN, latitudes, longitudes,
+                minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    boolean remove(String id) {
+        Region region = regions.remove(id);
+        if (region == null) {
+            return false;
+        }
+        for (int column = region.minColumn; column <= region.maxColumn; column++) {
+            for (int row = region.minRow; row <= region.maxRow; row++) {
+                long key = key(column, row);
+                List<Region> cell = cells.get(key);
+                cell.remove(region);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Listings whose area contains the point, nearest listing first, at most {@code limit}.
+     * {@code category} is an {@code EquipmentCategory} ordinal, or -1 for any.
+     */
+    List<ServiceAreaMatch> serving(double latitude, double longitude, int category, int limit) {
+        List<Region> cell = cells.get(key(column(longitude), row(latitude)));
+        if (cell == null) {
+            return List.of();
+        }
+        return nearest(cell, latitude, longitude, category, limit);
+    }
+
+    /**
+     * {@link #serving} by testing every area, for comparison in benchmarks.
+     */
+    List<ServiceAreaMatch> servingByScan(double latitude, double longitude, int category, int limit) {
+        return nearest(regions.values(), latitude, longitude, category, limit);
+    }
+
+    private static List<ServiceAreaMatch> nearest(Iterable<Region> candidates, double latitude,
+                                                  double longitude, int category, int limit) {
+        List<ServiceAreaMatch> matches = new ArrayList<>();
+        for (Region region : candidates) {
+            if (category < 0 || region.category == category) {
+                double distanceKm = region.distanceIfContains(latitude, longitude);
+                if (distanceKm == distanceKm) { // not NaN
+                    matches.add(new ServiceAreaMatch(region.id, distanceKm));
+                }
+            }
+        }
+        if (matches.size() <= limit) {
+            matches.sort(Comparator.comparingDouble(ServiceAreaMatch::distanceKm));
+            return matches;
+        }
+        // A dense area can hold hundreds of matches; only the nearest few are ordered
+        TopK nearest = new TopK(limit);
+        for (int i = 0; i < matches.size(); i++) {
+            nearest.offer(i, -matches.get(i).distanceKm());
+        }
+        List<ServiceAreaMatch> result = new ArrayList<>(limit);
+        for (int index : nearest.drainBestFirst()) {
+            result.add(matches.get(index));
+        }
+        return result;
+    }
+
+    private void put(Region region) {
+        remove(region.id);
+        region.minColumn = column(region.minLongitude);
+        region.maxColumn = column(region.maxLongitude);
+        region.minRow = row(region.minLatitude);
+        region.maxRow = row(region.maxLatitude);
+        regions.put(region.id, region);
+        for (int column = region.minColumn; column <= region.maxColumn; column++) {
+            for (int row = region.minRow; row <= region.maxRow; row++) {
+                cells.computeIfAbsent(key(column, row), k -> new ArrayList<>()).add(region);
+            }
+        }
+    }
+
+    private int column(double longitude) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((longitude + 180) / cellDegrees)));
+    }
+
+    private int row(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    private static final class Region {
+
+        private final String id;
+        private final int category;
+        // The listing's own location, which distances are measured to
+        private final double latitude;
+        private final double longitude;
+        // NaN for a polygon
+        private final double radiusKm;
+        // Null for a radius
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double minLatitude;
+        private final double minLongitude;
+        private final double maxLatitude;
+        private final double maxLongitude;
+        private int minColumn;
+        private int maxColumn;
+        private int minRow;
+        private int maxRow;
+
+        private Region(String id, int category, double latitude, double longitude, double radiusKm,
+                       double[] latitudes, double[] longitudes,
+                       double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+            this.id = id;
+            this.category = category;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.minLatitude = minLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLatitude = maxLatitude;
+            this.maxLongitude = maxLongitude;
+        }
+
+        // The point's distance from the listing when the area contains it, NaN otherwise
+        private double distanceIfContains(double pointLatitude, double pointLongitude) {
+            if (pointLatitude < minLatitude || pointLatitude > maxLatitude
+                    || pointLongitude < minLongitude || pointLongitude > maxLongitude) {
+                return Double.NaN;
+            }
+            if (latitudes == null) {
+                double distanceKm = DistanceKernel.haversineKm(latitude, longitude, pointLatitude, pointLongitude);
+                return distanceKm <= radiusKm ? distanceKm : Double.NaN;
+            }
+            // Even-odd rule, treating latitude and longitude as plane coordinates
+            boolean inside = false;
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if ((latitudes[i] > pointLatitude) != (latitudes[j] > pointLatitude)
+                        && pointLongitude < (longitudes[j] - longitudes[i]) * (pointLatitude - latitudes[i])
+                        / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside
+                    ? DistanceKernel.haversineKm(latitude, longitude, pointLatitude, pointLongitude)
+                    : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.agrorent.servicearea;
+
+import com.agrorent.exception.ServiceUnavailableException;
+import com.agrorent.geo.DistanceKernel;
+import com.agrorent.geo.ReloadableIndex;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.ServiceArea;
+import com.agrorent.model.enums.EquipmentCategory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Delivery areas of the available listings, in an in-memory {@link ServiceAreaGrid}, answering
+ * which listings deliver to a given farm.
+ *
+ * Kept current by a {@link ReloadableIndex}, like {@code MapClusterIndex}: {@code EquipmentService}
+ * reports every listing it saves or deletes, and the whole grid is reloaded from Mongo at startup
+ * and every {@code full-rebuild-interval}, with the updates that arrive meanwhile replayed onto the
+ * new grid.
+ */
+@Component
+public class ServiceAreaIndex {
+
+    private static final String[] SOURCE_FIELDS = {"location", "category", "serviceArea"};
+
+    private final ServiceAreaProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final ReloadableIndex<ServiceAreaGrid> grid;
+
+    public ServiceAreaIndex(ServiceAreaProperties properties, MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        // Fails at startup rather than at the first load
+        new ServiceAreaGrid(properties.getCellDegrees());
+        this.grid = new ReloadableIndex<>("service area index", this::load, ServiceAreaGrid::size);
+        Gauge.builder("agrorent.service-areas.equipment", grid, ReloadableIndex::size)
+                .description("Listings in the service area index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects a service area an owner may not set: both or neither of a radius and a polygon, a
+     * radius over {@code max-radius-km}, or a polygon with too few or too many points, coordinates
+     * out of range, or a bounding box wider than a maximum-radius circle.
+     */
+    public void validate(ServiceArea area) {
+        if (area == null) {
+            return;
+        }
+        boolean hasRadius = area.getRadiusKm() != null;
+        boolean hasPolygon = area.getPolygon() != null;
+        if (hasRadius == hasPolygon) {
+            throw new RuntimeException("A service area needs either a radius or a polygon");
+        }
+        if (hasRadius) {
+            if (!(area.getRadiusKm() > 0 && area.getRadiusKm() <= properties.getMaxRadiusKm())) {
+                throw new RuntimeException("Service radius must be above 0 and at most "
+                        + properties.getMaxRadiusKm() + " km");
+            }
+            return;
+        }
+
+        List<List<Double>> polygon = area.getPolygon();
+        if (polygon.size() < 3 || polygon.size() > properties.getMaxPolygonPoints()) {
+            throw new RuntimeException("A service area polygon needs 3 to "
+                    + properties.getMaxPolygonPoints() + " points");
+        }
+        double minLatitude = 90;
+        double maxLatitude = -90;
+        double minLongitude = 180;
+        double maxLongitude = -180;
+        for (List<Double> point : polygon) {
+            if (point == null || point.size() != 2 || point.get(0) == null || point.get(1) == null
+                    || Math.abs(point.get(0)) > 180 || Math.abs(point.get(1)) > 90) {
+                throw new RuntimeException("Service area points must be [longitude, latitude] pairs");
+            }
+            minLongitude = Math.min(minLongitude, point.get(0));
+            maxLongitude = Math.max(maxLongitude, point.get(0));
+            minLatitude = Math.min(minLatitude, point.get(1));
+            maxLatitude = Math.max(maxLatitude, point.get(1));
+        }
+        double maxSpan = 2 * Math.toDegrees(properties.getMaxRadiusKm() / DistanceKernel.EARTH_RADIUS_KM);
+        double middle = Math.toRadians((minLatitude + maxLatitude) / 2);
+        if (maxLatitude - minLatitude > maxSpan || (maxLongitude - minLongitude) * Math.cos(middle) > maxSpan) {
+            throw new RuntimeException("A service area polygon must fit within "
+                    + 2 * properties.getMaxRadiusKm() + " km across");
+        }
+    }
+
+    /**
+     * Brings the index in line with a listing that was just saved: its area is added or replaced
+     * when the listing is available and delivers, and dropped otherwise.
+     */
+    public void update(Equipment equipment) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String id = equipment.getId();
+        if (Boolean.TRUE.equals(equipment.getAvailable()) && equipment.getLocation() != null
+                && equipment.getCategory() != null && equipment.getServiceArea() != null) {
+            double latitude = equipment.getLocation().getY();
+            double longitude = equipment.getLocation().getX();
+            int category = equipment.getCategory().ordinal();
+            ServiceArea area = equipment.getServiceArea();
+            grid.apply(loaded -> put(loaded, id, category, latitude, longitude, area));
+        } else {
+            grid.apply(loaded -> loaded.remove(id));
+        }
+    }
+
+    public void remove(String equipmentId) {
+        if (properties.isEnabled()) {
+            grid.apply(loaded -> loaded.remove(equipmentId));
+        }
+    }
+
+    /**
+     * Available listings that deliver to the point, nearest first, at most {@code limit} (itself at
+     * most {@code max-results}); {@code category} may be null for any.
+     */
+    public List<ServiceAreaMatch> serving(double latitude, double longitude, EquipmentCategory category, int limit) {
+        if (!properties.isEnabled()) {
+            throw new RuntimeException("Service area search is disabled");
+        }
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new RuntimeException("Latitude or longitude out of range");
+        }
+        if (limit < 1 || limit > properties.getMaxResults()) {
+            throw new RuntimeException("Limit must be between 1 and " + properties.getMaxResults());
+        }
+
+        return grid.read(current -> {
+            if (current == null) {
+                throw new ServiceUnavailableException("Service areas are still loading", 5, null);
+            }
+            return current.serving(latitude, longitude, category != null ? category.ordinal() : -1, limit);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            grid.start(properties.getFullRebuildInterval());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        grid.stop();
+    }
+
+    // Fed row by row from the cursor, so only the grid is held in memory
+    private ServiceAreaGrid load() {
+        Query query = new Query(Criteria.where("available").is(true).and("serviceArea").ne(null));
+        query.fields().include(SOURCE_FIELDS);
+        ServiceAreaGrid loaded = new ServiceAreaGrid(properties.getCellDegrees());
+        try (Stream<Equipment> listings = mongoTemplate.stream(query, Equipment.class)) {
+            listings.forEach(equipment -> {
+                if (equipment.getLocation() != null && equipment.getCategory() != null) {
+                    put(loaded, equipment.getId(), equipment.getCategory().ordinal(),
+                            equipment.getLocation().getY(), equipment.getLocation().getX(), equipment.getServiceArea());
+                }
+            });
+        }
+        return loaded;
+    }
+
+    private static void put(ServiceAreaGrid grid, String id, int category, double latitude, double longitude,
+                            ServiceArea area) {
+        if (area.getRadiusKm() != null) {
+            grid.putRadius(id, category, latitude, longitude, area.getRadiusKm());
+            return;
+        }
+        List<List<Double>> polygon = area.getPolygon();
+        if (polygon == null || polygon.size() < 3) {
+            grid.remove(id);
+            return;
+        }
+        double[] latitudes = new double[polygon.size()];
+        double[] longitudes = new double[polygon.size()];
+        for (int i = 0; i < polygon.size(); i++) {
+            longitudes[i] = polygon.get(i).get(0);
+            latitudes[i] = polygon.get(i).get(1);
+        }
+        grid.putPolygon(id, category, latitude, longitude, latitudes, longitudes);
+    }
+}
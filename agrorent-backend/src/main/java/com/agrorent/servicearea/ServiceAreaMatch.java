@@ -0,0 +1,7 @@
+package com.agrorent.servicearea;
+
+/**
+ * A listing whose delivery area contains the farm, and the farm's distance from the listing.
+ */
+public record ServiceAreaMatch(String equipmentId, double distanceKm) {
+}
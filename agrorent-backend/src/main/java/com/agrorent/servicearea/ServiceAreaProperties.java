@@ -0,0 +1,32 @@
+package com.agrorent.servicearea;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-memory index behind the "who delivers to my farm" search.
+ */
+@Data
+@ConfigurationProperties(prefix = "agrorent.service-areas")
+public class ServiceAreaProperties {
+
+    private boolean enabled = true;
+
+    // Side of a grid cell in degrees. Smaller cells mean fewer areas tested per lookup, but each
+    // area is filed under more cells: a 200 km radius spans about 8 x 8 cells of 0.5 degrees.
+    private double cellDegrees = 0.5;
+
+    // Largest delivery radius an owner can set; polygons must fit in a box twice as wide
+    private double maxRadiusKm = 200;
+
+    private int maxPolygonPoints = 200;
+
+    // Most listings one lookup returns, nearest first
+    private int maxResults = 100;
+
+    // The index is reloaded from Mongo on this interval (and at startup), picking up changes
+    // made by other instances or outside EquipmentService
+    private Duration fullRebuildInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,136 @@
+package com.agrorent.streaming;
+
+import com.agrorent.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a cursor-backed stream to the response one element at a time, so memory stays at one
+ * cursor batch however long the list is. Two opt-in formats, chosen by the {@code Accept} header:
+ *
+ * <ul>
+ *   <li>{@value #NDJSON_VALUE}: one JSON object per line.</li>
+ *   <li>{@value #JSON_STREAM_VALUE}: the usual {@code ApiResponse} document, with the {@code data}
+ *   array written element by element.</li>
+ * </ul>
+ *
+ * The status is sent before the first element, so a database error part way through cannot be
+ * reported as one; the response is cut off instead, which clients see as truncated output.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamWriter {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String JSON_STREAM_VALUE = "application/stream+json";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    private static final MediaType JSON_STREAM = MediaType.parseMediaType(JSON_STREAM_VALUE);
+
+    // Push data out regularly so clients can render while the rest is read
+    private static final int FLUSH_EVERY = 64;
+
+    private final ObjectMapper objectMapper;
+
+    public ResponseEntity<StreamingResponseBody> write(String accept, Stream<?> items) {
+        boolean ndjson = prefersNdjson(accept);
+        StreamingResponseBody body = out -> {
+            try (items) {
+                if (ndjson) {
+                    writeNdjson(out, items.iterator());
+                } else {
+                    writeEnvelope(out, items.iterator());
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : JSON_STREAM)
+                .body(body);
+    }
+
+    /**
+     * A 400 with the usual {@code ApiResponse} error body, for failures before streaming starts
+     * (the streaming handlers cannot return an {@code ApiResponse} through message conversion,
+     * as the client did not accept plain JSON).
+     */
+    public ResponseEntity<StreamingResponseBody> error(String message) {
+        ApiResponse<Void> error = ApiResponse.error(message);
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(out, error));
+    }
+
+    private void writeNdjson(OutputStream out, Iterator<?> items) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            int written = 0;
+            while (items.hasNext()) {
+                generator.writeObject(items.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    // Same shape as ApiResponse.success(list) serialized by Spring
+    private void writeEnvelope(OutputStream out, Iterator<?> items) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeNullField("message");
+            generator.writeArrayFieldStart("data");
+            int written = 0;
+            while (items.hasNext()) {
+                generator.writeObject(items.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    // The servlet container owns the response stream, and a failed stream must not be completed
+    // into a valid but shorter document, so closing the generator only flushes
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return generator;
+    }
+
+    private static boolean prefersNdjson(String accept) {
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.equalsTypeAndSubtype(NDJSON)) {
+                return true;
+            }
+            if (type.equalsTypeAndSubtype(JSON_STREAM)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.agrorent.cluster;
+
+import com.agrorent.model.enums.EquipmentCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterGridTest {
+
+    private static final int MAX_LEVEL = 6;
+
+    @Test
+    void removingTheCheapestListingRecomputesTheMinimumOnEveryLevel() {
+        ClusterGrid grid = new ClusterGrid(MAX_LEVEL);
+        grid.put("cheap", 20.001, 78.001, EquipmentCategory.TRACTOR, 500.0);
+        grid.put("same-cell", 20.002, 78.002, EquipmentCategory.TRACTOR, 900.0);
+        grid.put("far", -30, -60, EquipmentCategory.TILLER, 700.0);
+
+        assertThat(worldCell(grid, 0).minPricePerDay()).isEqualTo(500.0);
+        assertThat(cellAt(grid, MAX_LEVEL, 20.001, 78.001).minPricePerDay()).isEqualTo(500.0);
+
+        grid.remove("cheap");
+
+        assertThat(worldCell(grid, 0).minPricePerDay()).isEqualTo(700.0);
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            assertThat(cellAt(grid, level, 20.002, 78.002).minPricePerDay()).as("level %d", level).isEqualTo(900.0);
+        }
+    }
+
+    @Test
+    void repricingAListingReplacesItsOldPrice() {
+        ClusterGrid grid = new ClusterGrid(MAX_LEVEL);
+        grid.put("a", 10, 10, EquipmentCategory.TRACTOR, 100.0);
+        grid.put("b", 10.001, 10.001, EquipmentCategory.TRACTOR, 300.0);
+
+        grid.put("a", 10, 10, EquipmentCategory.TRACTOR, 400.0);
+
+        assertThat(grid.size()).isEqualTo(2);
+        assertThat(worldCell(grid, 0).minPricePerDay()).isEqualTo(300.0);
+        assertThat(cellAt(grid, MAX_LEVEL, 10, 10).count()).isEqualTo(2);
+    }
+
+    @Test
+    void cellsWithoutADayPriceHaveNoMinimum() {
+        ClusterGrid grid = new ClusterGrid(MAX_LEVEL);
+        grid.put("priced", 10, 10, EquipmentCategory.TRACTOR, 100.0);
+        grid.put("unpriced", 10.001, 10.001, EquipmentCategory.TRACTOR, null);
+
+        grid.remove("priced");
+
+        assertThat(cellAt(grid, MAX_LEVEL, 10, 10).minPricePerDay()).isNull();
+        assertThat(worldCell(grid, 0).count()).isEqualTo(1);
+    }
+
+    @Test
+    void aggregatesMatchARecountAfterRandomChanges() {
+        SplittableRandom random = new SplittableRandom(5);
+        ClusterGrid grid = new ClusterGrid(MAX_LEVEL);
+        Map<String, double[]> listings = new HashMap<>(); // latitude, longitude, price
+        EquipmentCategory[] categories = EquipmentCategory.values();
+
+        for (int step = 0; step < 5000; step++) {
+            String id = "e" + random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                assertThat(grid.remove(id)).isEqualTo(listings.remove(id) != null);
+            } else {
+                // A small area, so cells hold many listings and the cheapest often leaves
+                double latitude = 18 + random.nextDouble() * 6;
+                double longitude = 74 + random.nextDouble() * 6;
+                double price = 100 + random.nextInt(50) * 10;
+                grid.put(id, latitude, longitude, categories[random.nextInt(categories.length)], price);
+                listings.put(id, new double[]{latitude, longitude, price});
+            }
+        }
+
+        assertThat(grid.size()).isEqualTo(listings.size());
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            Map<Long, List<double[]>> expected = new HashMap<>();
+            for (double[] listing : listings.values()) {
+                long key = ((long) ClusterGrid.column(listing[1], level) << 32) | ClusterGrid.row(listing[0], level);
+                expected.computeIfAbsent(key, k -> new ArrayList<>()).add(listing);
+            }
+            List<ClusterGrid.Cell> cells = grid.cells(level, -85, -180, 85, 180);
+            assertThat(cells).as("level %d", level).hasSize(expected.size());
+            for (ClusterGrid.Cell cell : cells) {
+                // A cell's centroid lies inside the cell
+                long key = ((long) ClusterGrid.column(cell.centroidLongitude(), level) << 32)
+                        | ClusterGrid.row(cell.centroidLatitude(), level);
+                List<double[]> members = expected.get(key);
+                assertThat(members).as("level %d", level).isNotNull();
+                assertThat(cell.count()).isEqualTo(members.size());
+                assertThat(cell.minPricePerDay())
+                        .isEqualTo(members.stream().mapToDouble(listing -> listing[2]).min().orElseThrow());
+            }
+        }
+    }
+
+    private static ClusterGrid.Cell worldCell(ClusterGrid grid, int level) {
+        List<ClusterGrid.Cell> cells = grid.cells(level, -85, -180, 85, 180);
+        assertThat(cells).hasSize(1);
+        return cells.get(0);
+    }
+
+    private static ClusterGrid.Cell cellAt(ClusterGrid grid, int level, double latitude, double longitude) {
+        List<ClusterGrid.Cell> cells = grid.cells(level, latitude, longitude, latitude, longitude);
+        assertThat(cells).hasSize(1);
+        return cells.get(0);
+    }
+}
@@ -0,0 +1,178 @@
+package com.agrorent.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DistanceKernelTest {
+
+    private static final int POINTS = 4099; // not a multiple of any vector length, so the tail runs too
+
+    static Stream<Arguments> passes() {
+        ApproximateDistancePass vector = DistanceKernel.vectorPass();
+        assertThat(vector).as("vector pass; surefire starts the JVM with jdk.incubator.vector").isNotNull();
+        return Stream.of(
+                Arguments.of("scalar", DistanceKernel.scalarPass()),
+                Arguments.of("vector", vector));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("passes")
+    void includesExactlyThePointsHaversineIncludes(String name, ApproximateDistancePass pass) {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 200; round++) {
+            double latitude = -70 + random.nextDouble() * 140;
+            double longitude = -180 + random.nextDouble() * 360;
+            double radiusKm = 1 + random.nextDouble() * 499;
+            double[] latitudes = new double[POINTS];
+            double[] longitudes = new double[POINTS];
+            for (int i = 0; i < POINTS; i++) {
+                // Half the points within a hair of the radius, the rest anywhere out to twice it
+                double distanceKm = i % 2 == 0
+                        ? radiusKm * (1 + (random.nextDouble() - 0.5) * 1e-6)
+                        : random.nextDouble() * 2 * radiusKm;
+                double[] point = destination(latitude, longitude, random.nextDouble() * 360, distanceKm);
+                latitudes[i] = point[0];
+                longitudes[i] = point[1];
+            }
+            assertSameInclusion(pass, latitude, longitude, latitudes, longitudes, radiusKm);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("passes")
+    void includesExactlyThePointsHaversineIncludesAcrossTheAntimeridian(String name, ApproximateDistancePass pass) {
+        SplittableRandom random = new SplittableRandom(11);
+        for (double longitude : new double[]{179.95, -179.95}) {
+            double radiusKm = 50;
+            double[] latitudes = new double[POINTS];
+            double[] longitudes = new double[POINTS];
+            for (int i = 0; i < POINTS; i++) {
+                double distanceKm = i % 2 == 0
+                        ? radiusKm * (1 + (random.nextDouble() - 0.5) * 1e-6)
+                        : random.nextDouble() * 2 * radiusKm;
+                double[] point = destination(10, longitude, random.nextDouble() * 360, distanceKm);
+                latitudes[i] = point[0];
+                longitudes[i] = point[1];
+            }
+            int within = assertSameInclusion(pass, 10, longitude, latitudes, longitudes, radiusKm);
+            assertThat(within).isGreaterThan(POINTS / 4);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("passes")
+    void approximateDistancesStayWithinTheBoundaryBand(String name, ApproximateDistancePass pass) {
+        SplittableRandom random = new SplittableRandom(13);
+        double radiusKm = 500;
+        double latitude = 69;
+        double[] latitudes = new double[POINTS];
+        double[] longitudes = new double[POINTS];
+        double[] exact = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            double[] point = destination(latitude, 30, random.nextDouble() * 360, random.nextDouble() * 1.25 * radiusKm);
+            latitudes[i] = point[0];
+            longitudes[i] = point[1];
+            exact[i] = DistanceKernel.haversineKm(latitude, 30, latitudes[i], longitudes[i]);
+        }
+        double[] approximate = new double[POINTS];
+        pass.distancesKm(latitude, 30, latitudes, longitudes, 0, POINTS, approximate);
+        for (int i = 0; i < POINTS; i++) {
+            assertThat(approximate[i]).isCloseTo(exact[i], within(radiusKm * DistanceKernel.BOUNDARY_BAND));
+        }
+    }
+
+    @Test
+    void radiusBeyondTheApproximateLimitIsComputedExactly() {
+        assertExactFallback(10, DistanceKernel.MAX_APPROXIMATE_RADIUS_KM + 1);
+    }
+
+    @Test
+    void latitudeBeyondTheApproximateLimitIsComputedExactly() {
+        assertExactFallback(DistanceKernel.MAX_APPROXIMATE_LATITUDE + 1, 50);
+        assertExactFallback(-DistanceKernel.MAX_APPROXIMATE_LATITUDE - 1, 50);
+    }
+
+    @Test
+    void batchesWithinTheLimitsUseTheApproximatePass() {
+        CountingPass pass = new CountingPass();
+        double[] latitudes = {10.1, 10.2};
+        double[] longitudes = {20.1, 20.2};
+        DistanceKernel.distancesKm(pass, DistanceKernel.MAX_APPROXIMATE_LATITUDE, 20, latitudes, longitudes, 2,
+                DistanceKernel.MAX_APPROXIMATE_RADIUS_KM, new double[2]);
+        assertThat(pass.calls).isEqualTo(1);
+    }
+
+    private static void assertExactFallback(double latitude, double radiusKm) {
+        CountingPass pass = new CountingPass();
+        SplittableRandom random = new SplittableRandom(17);
+        double[] latitudes = new double[64];
+        double[] longitudes = new double[64];
+        for (int i = 0; i < latitudes.length; i++) {
+            double[] point = destination(latitude, 20, random.nextDouble() * 360, random.nextDouble() * 2 * radiusKm);
+            latitudes[i] = point[0];
+            longitudes[i] = point[1];
+        }
+        double[] distances = new double[latitudes.length];
+        DistanceKernel.distancesKm(pass, latitude, 20, latitudes, longitudes, latitudes.length, radiusKm, distances);
+
+        assertThat(pass.calls).isZero();
+        for (int i = 0; i < latitudes.length; i++) {
+            assertThat(distances[i]).isEqualTo(DistanceKernel.haversineKm(latitude, 20, latitudes[i], longitudes[i]));
+        }
+    }
+
+    // Returns how many points are within the radius
+    private static int assertSameInclusion(ApproximateDistancePass pass, double latitude, double longitude,
+                                           double[] latitudes, double[] longitudes, double radiusKm) {
+        double[] distances = new double[latitudes.length];
+        int within = DistanceKernel.distancesKm(pass, latitude, longitude, latitudes, longitudes,
+                latitudes.length, radiusKm, distances);
+        int expected = 0;
+        for (int i = 0; i < latitudes.length; i++) {
+            boolean inside = DistanceKernel.haversineKm(latitude, longitude, latitudes[i], longitudes[i]) <= radiusKm;
+            assertThat(distances[i] <= radiusKm)
+                    .as("point %d (%f, %f) from (%f, %f), radius %f km", i, latitudes[i], longitudes[i],
+                            latitude, longitude, radiusKm)
+                    .isEqualTo(inside);
+            if (inside) {
+                expected++;
+            }
+        }
+        assertThat(within).isEqualTo(expected);
+        return within;
+    }
+
+    // The point distanceKm along the great circle leaving (latitude, longitude) at the bearing
+    private static double[] destination(double latitude, double longitude, double bearingDegrees, double distanceKm) {
+        double angle = distanceKm / DistanceKernel.EARTH_RADIUS_KM;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(latitude);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle)
+                + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+        double lon2 = Math.toRadians(longitude) + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+                Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+        double lonDegrees = Math.toDegrees(lon2);
+        lonDegrees = ((lonDegrees + 540) % 360) - 180;
+        return new double[]{Math.toDegrees(lat2), lonDegrees};
+    }
+
+    private static final class CountingPass implements ApproximateDistancePass {
+
+        private int calls;
+
+        @Override
+        public void distancesKm(double latitude, double longitude, double[] latitudes, double[] longitudes,
+                                int from, int to, double[] distancesKm) {
+            calls++;
+            DistanceKernel.scalarPass().distancesKm(latitude, longitude, latitudes, longitudes, from, to, distancesKm);
+        }
+    }
+}
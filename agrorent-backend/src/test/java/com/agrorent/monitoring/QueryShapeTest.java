@@ -0,0 +1,48 @@
+package com.agrorent.monitoring;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryShapeTest {
+
+    @Test
+    void queriesDifferingOnlyInValuesShareAShape() {
+        String first = QueryShape.of("find", "users", BsonDocument.parse("{filter: {phone: '9876543210'}}"));
+        String second = QueryShape.of("find", "users", BsonDocument.parse("{filter: {phone: '7000000000'}}"));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).startsWith("find users ").doesNotContain("9876543210");
+    }
+
+    @Test
+    void replacesNestedOperatorValues() {
+        BsonDocument shape = QueryShape.normalize(BsonDocument.parse(
+                "{filter: {pricePerDay: {$gte: 100, $lte: 900}, available: true}}"));
+
+        assertThat(shape).isEqualTo(BsonDocument.parse(
+                "{filter: {pricePerDay: {$gte: '?', $lte: '?'}, available: '?'}}"));
+    }
+
+    @Test
+    void collapsesValueListsButKeepsLogicalBranches() {
+        BsonDocument shape = QueryShape.normalize(BsonDocument.parse(
+                "{filter: {category: {$in: ['TRACTOR', 'HARVESTER']},"
+                        + " $or: [{ownerId: 'a'}, {status: {$nin: ['CANCELLED']}}]}}"));
+
+        assertThat(shape).isEqualTo(BsonDocument.parse(
+                "{filter: {category: {$in: '?'}, $or: [{ownerId: '?'}, {status: {$nin: '?'}}]}}"));
+    }
+
+    @Test
+    void keepsSortAndProjectionVerbatim() {
+        BsonDocument shape = QueryShape.normalize(BsonDocument.parse(
+                "{filter: {ownerId: 'x'}, sort: {createdAt: -1},"
+                        + " pipeline: [{$match: {category: 'TRACTOR'}}, {$project: {name: 1}}, {$sort: {rating: -1}}]}"));
+
+        assertThat(shape).isEqualTo(BsonDocument.parse(
+                "{filter: {ownerId: '?'}, sort: {createdAt: -1},"
+                        + " pipeline: [{$match: {category: '?'}}, {$project: {name: 1}}, {$sort: {rating: -1}}]}"));
+    }
+}
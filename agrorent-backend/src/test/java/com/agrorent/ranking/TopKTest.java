@@ -0,0 +1,64 @@
+package com.agrorent.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKTest {
+
+    @Test
+    void keepsTheSameIndicesAsAFullSort() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(500);
+            int k = 1 + random.nextInt(60);
+            // Few distinct scores, so ties are common
+            double[] scores = random.ints(n, 0, 20).asDoubleStream().toArray();
+
+            TopK top = new TopK(k);
+            for (int i = 0; i < n; i++) {
+                top.offer(i, scores[i]);
+            }
+            int[] expected = IntStream.range(0, n).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> i))
+                    .limit(k)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertThat(top.size()).isEqualTo(Math.min(n, k));
+            assertThat(top.drainBestFirst()).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void tiesKeepTheCandidateOfferedFirst() {
+        TopK top = new TopK(2);
+        top.offer(0, 1);
+        top.offer(1, 1);
+        top.offer(2, 1);
+        top.offer(3, 0.5);
+
+        assertThat(top.drainBestFirst()).containsExactly(0, 1);
+    }
+
+    @Test
+    void drainingEmptiesTheHeap() {
+        TopK top = new TopK(3);
+        top.offer(7, 2);
+        assertThat(top.drainBestFirst()).containsExactly(7);
+
+        assertThat(top.size()).isZero();
+        top.offer(8, 1);
+        assertThat(top.drainBestFirst()).containsExactly(8);
+    }
+
+    @Test
+    void rejectsAnEmptyK() {
+        assertThatThrownBy(() -> new TopK(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.agrorent.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties.Limit settings = new AdmissionProperties.Limit();
+        settings.setInitialLimit(10);
+        settings.setMinLimit(4);
+        settings.setMaxLimit(12);
+        settings.setLatencyTarget(Duration.ofMillis(100));
+        limit = new AdaptiveConcurrencyLimit(settings, 0.5);
+    }
+
+    @Test
+    void refusesSlotsBeyondTheLimit() {
+        for (int i = 1; i <= 10; i++) {
+            assertThat(limit.tryAcquire()).isEqualTo(i);
+        }
+        assertThat(limit.tryAcquire()).isEqualTo(-1);
+
+        limit.release(10, FAST, false);
+
+        assertThat(limit.getInFlight()).isEqualTo(9);
+        assertThat(limit.tryAcquire()).isEqualTo(10);
+    }
+
+    @Test
+    void growsByAboutOnePerRoundWhileBusyAndFast() {
+        for (int i = 0; i < 10; i++) {
+            limit.release(10, FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+        limit.release(10, FAST, false);
+        assertThat(limit.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        for (int i = 0; i < 100; i++) {
+            limit.release(2, FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void neverGrowsPastTheMaximum() {
+        for (int i = 0; i < 1000; i++) {
+            limit.release(12, FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void backsOffOncePerRoundOnServerErrors() {
+        for (int i = 0; i < 9; i++) {
+            limit.release(10, FAST, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(10);
+
+        limit.release(10, FAST, true);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void backsOffWhenTheAverageLatencyPassesTheTarget() {
+        for (int i = 0; i < 10; i++) {
+            limit.release(10, SLOW, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void neverShrinksBelowTheMinimum() {
+        for (int i = 0; i < 1000; i++) {
+            limit.release(10, SLOW, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,55 @@
+package com.agrorent.resilience;
+
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.dto.response.EquipmentSearchResponse;
+import com.agrorent.model.enums.EquipmentCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultWeigherTest {
+
+    private static final int IMAGE_CHARS = 100_000;
+
+    @Test
+    void searchResultWeighsAtLeastItsImages() {
+        List<EquipmentResponse> equipment = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            equipment.add(listing(i));
+        }
+        EquipmentSearchResponse response = EquipmentSearchResponse.builder().equipment(equipment).build();
+
+        assertThat(ResultWeigher.weigh(response))
+                .isGreaterThan(50 * IMAGE_CHARS)
+                .isLessThan(2 * 50 * IMAGE_CHARS);
+    }
+
+    @Test
+    void weightGrowsWithTheNumberOfListings() {
+        int one = ResultWeigher.weigh(List.of(listing(0)));
+        int ten = ResultWeigher.weigh(List.of(listing(0), listing(1), listing(2), listing(3), listing(4),
+                listing(5), listing(6), listing(7), listing(8), listing(9)));
+
+        assertThat(ten).isGreaterThan(9 * one);
+    }
+
+    @Test
+    void plainValuesWeighSomething() {
+        assertThat(ResultWeigher.weigh(42L)).isPositive();
+        assertThat(ResultWeigher.weigh(Map.of("a", List.of()))).isPositive();
+    }
+
+    private static EquipmentResponse listing(int i) {
+        return EquipmentResponse.builder()
+                .id("e" + i)
+                .name("Tractor " + i)
+                .category(EquipmentCategory.values()[0])
+                .images(List.of("x".repeat(IMAGE_CHARS)))
+                .pricePerDay(1500.0)
+                .build();
+    }
+}
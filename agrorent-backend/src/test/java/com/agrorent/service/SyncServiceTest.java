@@ -0,0 +1,213 @@
+package com.agrorent.service;
+
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.EquipmentTombstone;
+import com.agrorent.service.SyncService.ChangeFeed;
+import com.agrorent.service.SyncService.Changes;
+import com.agrorent.service.SyncService.SyncCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+    private static final int MAX_CHANGES = 3;
+
+    private final ListFeed<Equipment> equipment = new ListFeed<>(Equipment::getUpdatedAt, Equipment::getId);
+    private final ListFeed<Booking> bookings = new ListFeed<>(Booking::getUpdatedAt, Booking::getId);
+    private final ListFeed<EquipmentTombstone> tombstones =
+            new ListFeed<>(EquipmentTombstone::getDeletedAt, EquipmentTombstone::getId);
+
+    @Test
+    void completePageReturnsACursorAtTheQueryTimeLessTheOverlap() {
+        addEquipment("e1", NOW.minusHours(2));
+        addEquipment("e2", NOW.minusHours(1));
+
+        Changes changes = collect(new SyncCursor(NOW.minusDays(1), null, null));
+
+        assertThat(ids(changes.equipment())).containsExactly("e1", "e2");
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.fullSync()).isFalse();
+        assertThat(changes.next()).isEqualTo(new SyncCursor(NOW.minus(OVERLAP), null, null));
+    }
+
+    @Test
+    void completePageNeverMovesTheCursorBack() {
+        SyncCursor recent = new SyncCursor(NOW.minusSeconds(1), "e9", null);
+
+        Changes changes = collect(recent);
+
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.next()).isEqualTo(recent);
+    }
+
+    @Test
+    void cutOffPageReturnsACursorJustPastItsLastItem() {
+        for (int i = 1; i <= 5; i++) {
+            addEquipment("e" + i, NOW.minusHours(10 - i));
+        }
+        addBooking("b1", NOW.minusHours(8).plusMinutes(30));
+
+        Changes changes = collect(new SyncCursor(NOW.minusDays(1), null, null));
+
+        assertThat(ids(changes.equipment())).containsExactly("e1", "e2", "e3");
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(changes.next()).isEqualTo(new SyncCursor(NOW.minusHours(7), "e3", null));
+
+        Changes rest = collect(changes.next());
+        assertThat(ids(rest.equipment())).containsExactly("e4", "e5");
+        assertThat(rest.hasMore()).isFalse();
+    }
+
+    @Test
+    void earliestCutOffAcrossTheListsWins() {
+        for (int i = 1; i <= 4; i++) {
+            addEquipment("e" + i, NOW.minusHours(10 - i));
+            addBooking("b" + i, NOW.minusHours(20 - i));
+        }
+
+        Changes changes = collect(new SyncCursor(NOW.minusDays(2), null, null));
+
+        assertThat(changes.next()).isEqualTo(new SyncCursor(NOW.minusHours(17), "b3", null));
+    }
+
+    @Test
+    void staleSinceStartsAFullSyncWithoutTombstones() {
+        addEquipment("e1", NOW.minusDays(60));
+        addTombstone("gone", NOW.minusDays(1));
+
+        Changes changes = collect(new SyncCursor(NOW.minusDays(31), null, null));
+
+        assertThat(changes.fullSync()).isTrue();
+        assertThat(ids(changes.equipment())).containsExactly("e1");
+        assertThat(changes.deleted()).isEmpty();
+        assertThat(changes.next()).isEqualTo(new SyncCursor(NOW.minus(OVERLAP), null, null));
+    }
+
+    @Test
+    void fullSyncPagesThroughChangesOlderThanTheRetention() {
+        for (int i = 0; i < 10; i++) {
+            addEquipment(String.format("e%02d", i), NOW.minusDays(100 - i));
+        }
+
+        List<String> seen = syncToTheEnd(null);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(ids(equipment.items));
+    }
+
+    @Test
+    void fullSyncOnlyFlagsItsFirstPageAndEndsAtItsStartTime() {
+        for (int i = 0; i < 4; i++) {
+            addEquipment("e" + i, NOW.minusDays(40 + i));
+        }
+
+        Changes first = collect(null);
+        Changes second = collect(first.next());
+
+        assertThat(first.fullSync()).isTrue();
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.next().fullSyncStartedAt()).isEqualTo(NOW);
+        assertThat(second.fullSync()).isFalse();
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.next()).isEqualTo(new SyncCursor(NOW.minus(OVERLAP), null, null));
+    }
+
+    @Test
+    void moreChangesThanAPageAtOneTimestampArePagedById() {
+        LocalDateTime burst = NOW.minusHours(1);
+        for (int i = 0; i < 10; i++) {
+            addEquipment(String.format("e%02d", i), burst);
+        }
+
+        List<String> seen = syncToTheEnd(new SyncCursor(NOW.minusDays(1), null, null));
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(ids(equipment.items));
+    }
+
+    @Test
+    void cursorSurvivesEncoding() {
+        SyncCursor cursor = new SyncCursor(NOW.minusHours(3), "65f0c0ffee", NOW.minusHours(4));
+
+        assertThat(SyncCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(SyncCursor.decode(new SyncCursor(NOW, null, null).encode()))
+                .isEqualTo(new SyncCursor(NOW, null, null));
+        assertThatThrownBy(() -> SyncCursor.decode("not a cursor")).hasMessage("Invalid sync cursor");
+    }
+
+    // Follows the cursor until hasMore clears, failing on a page that does not move forward
+    private List<String> syncToTheEnd(SyncCursor cursor) {
+        List<String> seen = new ArrayList<>();
+        for (int call = 0; call < 20; call++) {
+            Changes changes = collect(cursor);
+            seen.addAll(ids(changes.equipment()));
+            if (!changes.hasMore()) {
+                return seen;
+            }
+            assertThat(changes.next()).as("cursor after call %d", call).isNotEqualTo(cursor);
+            cursor = changes.next();
+        }
+        throw new AssertionError("sync did not finish: " + seen);
+    }
+
+    private Changes collect(SyncCursor cursor) {
+        return SyncService.collect(cursor, NOW, OVERLAP, MAX_CHANGES, equipment, bookings, tombstones);
+    }
+
+    private void addEquipment(String id, LocalDateTime updatedAt) {
+        equipment.items.add(Equipment.builder().id(id).updatedAt(updatedAt).build());
+    }
+
+    private void addBooking(String id, LocalDateTime updatedAt) {
+        bookings.items.add(Booking.builder().id(id).updatedAt(updatedAt).build());
+    }
+
+    private void addTombstone(String id, LocalDateTime deletedAt) {
+        tombstones.items.add(EquipmentTombstone.builder().id(id).deletedAt(deletedAt).build());
+    }
+
+    private static List<String> ids(List<Equipment> items) {
+        return items.stream().map(Equipment::getId).toList();
+    }
+
+    // What the Mongo query does, over a list
+    private record ListFeed<T>(List<T> items, Function<T, LocalDateTime> timestamp, Function<T, String> id)
+            implements ChangeFeed<T> {
+
+        ListFeed(Function<T, LocalDateTime> timestamp, Function<T, String> id) {
+            this(new ArrayList<>(), timestamp, id);
+        }
+
+        @Override
+        public List<T> read(LocalDateTime since, String afterId, int limit) {
+            return items.stream()
+                    .filter(item -> since == null
+                            || timestamp.apply(item).isAfter(since)
+                            || timestamp.apply(item).isEqual(since)
+                            && (afterId == null || id.apply(item).compareTo(afterId) > 0))
+                    .sorted(Comparator.comparing(timestamp).thenComparing(id))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public LocalDateTime timestampOf(T item) {
+            return timestamp.apply(item);
+        }
+
+        @Override
+        public String idOf(T item) {
+            return id.apply(item);
+        }
+    }
+}
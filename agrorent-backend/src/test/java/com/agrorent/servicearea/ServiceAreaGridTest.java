@@ -0,0 +1,130 @@
+package com.agrorent.servicearea;
+
+import com.agrorent.geo.DistanceKernel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ServiceAreaGridTest {
+
+    private static final int ANY = -1;
+
+    private final ServiceAreaGrid grid = new ServiceAreaGrid(0.5);
+
+    @Test
+    void radiusContainsExactlyThePointsWithinIt() {
+        grid.putRadius("r", 0, 20, 78, 30);
+
+        // 0.2695 degrees of latitude is just under 30 km, 0.2700 just over
+        assertThat(ids(20.2695, 78)).containsExactly("r");
+        assertThat(ids(20.2700, 78)).isEmpty();
+        assertThat(ids(20, 78.2)).containsExactly("r");
+        assertThat(DistanceKernel.haversineKm(20, 78, 20, 78.2)).isLessThan(30);
+    }
+
+    @Test
+    void radiusSpanningSeveralCellsIsFoundFromEachOfThem() {
+        grid.putRadius("wide", 0, 20.25, 78.25, 100);
+
+        for (double latitude = 19.5; latitude <= 21; latitude += 0.5) {
+            for (double longitude = 77.5; longitude <= 79; longitude += 0.5) {
+                boolean within = DistanceKernel.haversineKm(20.25, 78.25, latitude, longitude) <= 100;
+                assertThat(ids(latitude, longitude)).as("(%f, %f)", latitude, longitude)
+                        .isEqualTo(within ? List.of("wide") : List.of());
+            }
+        }
+    }
+
+    @Test
+    void polygonContainsPointsInsideItsOutlineOnly() {
+        // An L: the square from (20, 78) to (21, 79) without its north-east quarter
+        grid.putPolygon("l", 0, 20.2, 78.2,
+                new double[]{20, 20, 20.5, 20.5, 21, 21},
+                new double[]{78, 79, 79, 78.5, 78.5, 78});
+
+        assertThat(ids(20.25, 78.75)).containsExactly("l");
+        assertThat(ids(20.75, 78.25)).containsExactly("l");
+        assertThat(ids(20.75, 78.75)).as("in the notch").isEmpty();
+        assertThat(ids(19.9, 78.5)).isEmpty();
+    }
+
+    @Test
+    void filtersByCategoryAndOrdersNearestFirst() {
+        grid.putRadius("near", 1, 20.01, 78, 50);
+        grid.putRadius("far", 1, 20.2, 78, 50);
+        grid.putRadius("other-category", 2, 20, 78, 50);
+
+        List<ServiceAreaMatch> matches = grid.serving(20, 78, 1, 10);
+
+        assertThat(matches).extracting(ServiceAreaMatch::equipmentId).containsExactly("near", "far");
+        assertThat(matches.get(0).distanceKm()).isCloseTo(1.11, within(0.01));
+    }
+
+    @Test
+    void keepsOnlyTheNearestWhenMoreAreasMatchThanTheLimit() {
+        for (int i = 0; i < 50; i++) {
+            grid.putRadius("e" + i, 0, 20 + i * 0.001, 78, 50);
+        }
+
+        assertThat(grid.serving(20, 78, ANY, 3)).extracting(ServiceAreaMatch::equipmentId)
+                .containsExactly("e0", "e1", "e2");
+    }
+
+    @Test
+    void replacingOrRemovingAnAreaUpdatesEveryCell() {
+        grid.putRadius("moving", 0, 20, 78, 80);
+        grid.putRadius("moving", 0, 30, 78, 10);
+
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(ids(20.5, 78.5)).isEmpty();
+        assertThat(ids(30, 78)).containsExactly("moving");
+
+        assertThat(grid.remove("moving")).isTrue();
+        assertThat(grid.remove("moving")).isFalse();
+        assertThat(ids(30, 78)).isEmpty();
+    }
+
+    @Test
+    void gridAgreesWithTestingEveryArea() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (int i = 0; i < 3000; i++) {
+            double latitude = 15 + random.nextDouble() * 10;
+            double longitude = 73 + random.nextDouble() * 10;
+            double radiusKm = 5 + random.nextDouble() * 95;
+            if (random.nextBoolean()) {
+                grid.putRadius("e" + i, random.nextInt(4), latitude, longitude, radiusKm);
+            } else {
+                double degrees = radiusKm / 111.2;
+                grid.putPolygon("e" + i, random.nextInt(4), latitude, longitude,
+                        new double[]{latitude - degrees, latitude - degrees, latitude + degrees},
+                        new double[]{longitude - degrees, longitude + degrees, longitude});
+            }
+            if (random.nextInt(10) == 0) {
+                grid.remove("e" + random.nextInt(i + 1));
+            }
+        }
+
+        for (int i = 0; i < 500; i++) {
+            double latitude = 15 + random.nextDouble() * 10;
+            double longitude = 73 + random.nextDouble() * 10;
+            int category = random.nextInt(5) - 1;
+            assertThat(grid.serving(latitude, longitude, category, Integer.MAX_VALUE))
+                    .isEqualTo(grid.servingByScan(latitude, longitude, category, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void rejectsCellSizesOutOfRange() {
+        assertThatThrownBy(() -> new ServiceAreaGrid(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ServiceAreaGrid(91)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> ids(double latitude, double longitude) {
+        return grid.serving(latitude, longitude, ANY, 100).stream().map(ServiceAreaMatch::equipmentId).toList();
+    }
+}
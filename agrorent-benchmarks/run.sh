@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Builds the backend and the benchmarks, runs JMH and stores JSON results tagged with the
+# backend version and commit, so runs from different releases can be compared.
+#
+# Usage: ./run.sh [jmh args...]      e.g. ./run.sh EquipmentServiceBenchmark -p size=10000
+set -euo pipefail
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+cd "$HERE"
+
+mvn -B -q -f ../agrorent-backend/pom.xml install -DskipTests
+mvn -B -q package
+
+VERSION=$(mvn -B -q help:evaluate -Dexpression=project.version -DforceStdout -f ../agrorent-backend/pom.xml)
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+mkdir -p results
+OUT="results/jmh-$VERSION-$COMMIT-$(date +%Y%m%d-%H%M%S).json"
+
+java -jar target/benchmarks.jar -rf json -rff "$OUT" "$@"
+echo "Results written to $OUT"
@@ -0,0 +1,46 @@
+package com.agrorent.benchmark;
+
+import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a search response, configured like Spring Boot's default mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<EquipmentResponse>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = mapper.writer();
+        response = ApiResponse.success(Fixtures.equipmentList(42, size).stream()
+                .map(eq -> EquipmentResponse.fromEquipment(eq, 4.2))
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
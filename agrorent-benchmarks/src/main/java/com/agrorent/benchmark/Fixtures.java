@@ -0,0 +1,119 @@
+package com.agrorent.benchmark;
+
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.RatingScore;
+import com.agrorent.model.enums.BookingStatus;
+import com.agrorent.model.enums.EquipmentCategory;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, realistically shaped documents for benchmarks. Field lengths mirror what the
+ * app stores: Hindi/English names, one to four image URLs, village-level addresses.
+ */
+public final class Fixtures {
+
+    // Central India; search radius tests place the query point at the middle
+    public static final double CENTER_LAT = 21.1458;
+    public static final double CENTER_LON = 79.0882;
+
+    private static final EquipmentCategory[] CATEGORIES = EquipmentCategory.values();
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 6, 1, 8, 0);
+
+    private Fixtures() {
+    }
+
+    public static Equipment equipment(SplittableRandom random, int i) {
+        List<String> images = new ArrayList<>();
+        int imageCount = 1 + random.nextInt(4);
+        for (int j = 0; j < imageCount; j++) {
+            images.add("https://res.cloudinary.com/agrorent/image/upload/v1718000000/equipment/"
+                    + Long.toHexString(random.nextLong()) + ".jpg");
+        }
+
+        double pricePerDay = 500 + random.nextInt(4500);
+        Equipment equipment = Equipment.builder()
+                .id(String.format("%024x", i))
+                .ownerId(String.format("%024x", 1_000_000 + random.nextInt(10_000)))
+                .ownerName("Ramesh Kumar Patil " + i)
+                .ownerPhone("98" + String.format("%08d", random.nextInt(100_000_000)))
+                .name("Mahindra 575 DI XP Plus Tractor " + i)
+                .description("45 HP tractor in good condition with rotavator attachment, diesel not included")
+                .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .images(images)
+                .verified(random.nextInt(4) == 0)
+                .pricePerHour(random.nextInt(3) == 0 ? null : Math.rint(pricePerDay / 8))
+                .pricePerDay(pricePerDay)
+                .pricePerWeek(random.nextInt(2) == 0 ? null : Math.rint(pricePerDay * 6))
+                .location(new GeoJsonPoint(
+                        CENTER_LON + (random.nextDouble() - 0.5),
+                        CENTER_LAT + (random.nextDouble() - 0.5)))
+                .address("Near Gram Panchayat Office, Ward " + random.nextInt(20))
+                .village("Kalmeshwar")
+                .district("Nagpur")
+                .state("Maharashtra")
+                .pincode("441501")
+                .available(true)
+                .rating(random.nextInt(5) == 0 ? 0.0 : 3.0 + random.nextInt(21) / 10.0)
+                .totalRatings(random.nextInt(200))
+                .timesRented(random.nextInt(500))
+                .createdAt(EPOCH.minusDays(random.nextInt(365)))
+                .updatedAt(EPOCH)
+                .build();
+        equipment.setRatingScore(RatingScore.of(equipment.getRating(), equipment.getTotalRatings()));
+        return equipment;
+    }
+
+    public static List<Equipment> equipmentList(long seed, int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Equipment> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(equipment(random, i));
+        }
+        return list;
+    }
+
+    public static Booking booking(SplittableRandom random, int i) {
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(120)).plusHours(random.nextInt(12));
+        BookingStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        boolean rated = status == BookingStatus.COMPLETED && random.nextBoolean();
+        return Booking.builder()
+                .id(String.format("%024x", 5_000_000 + i))
+                .equipmentId(String.format("%024x", random.nextInt(100_000)))
+                .equipmentName("Mahindra 575 DI XP Plus Tractor")
+                .equipmentCategory(CATEGORIES[random.nextInt(CATEGORIES.length)].name())
+                .renterId(String.format("%024x", 1_000_000 + random.nextInt(10_000)))
+                .renterName("Ramesh Kumar Patil")
+                .renterPhone("98" + String.format("%08d", random.nextInt(100_000_000)))
+                .rentTakerId(String.format("%024x", 2_000_000 + random.nextInt(10_000)))
+                .rentTakerName("Suresh Yadav")
+                .rentTakerPhone("97" + String.format("%08d", random.nextInt(100_000_000)))
+                .startDate(start)
+                .endDate(start.plusDays(1 + random.nextInt(6)))
+                .durationHours(24 + random.nextInt(120))
+                .totalCost(1500.0 + random.nextInt(10_000))
+                .pricingType("DAILY")
+                .status(status)
+                .notes(random.nextBoolean() ? "Need it for wheat sowing, please bring the rotavator" : null)
+                .ratingByRentTaker(rated ? 1 + random.nextInt(5) : null)
+                .reviewByRentTaker(rated ? "Tractor was in good condition" : null)
+                .createdAt(start.minusDays(3))
+                .updatedAt(start.minusDays(1))
+                .build();
+    }
+
+    public static List<Booking> bookingList(long seed, int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Booking> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(booking(random, i));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,108 @@
+package com.agrorent.benchmark;
+
+import com.agrorent.config.WireFormatConfig;
+import com.agrorent.dto.response.ApiResponse;
+import com.agrorent.dto.response.BookingResponse;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response encodings compared: the current JSON against the CBOR and Smile mappers from
+ * {@link WireFormatConfig}, for equipment and booking lists. {@code serializeGzip} adds the cost of
+ * {@code server.compression} on top. Payload sizes, plain and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"equipment", "bookings"})
+    private String payload;
+
+    @Param({"20", "200"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private ApiResponse<?> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> springBootBuilder().build();
+            case "cbor" -> WireFormatConfig.compactMapper(springBootBuilder(), new CBORFactory());
+            case "smile" -> WireFormatConfig.compactMapper(springBootBuilder(), SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+            default -> throw new IllegalArgumentException(format);
+        };
+        if (payload.equals("equipment")) {
+            response = ApiResponse.success(Fixtures.equipmentList(42, size).stream()
+                    .map(eq -> EquipmentResponse.fromEquipment(eq, 4.2))
+                    .toList());
+            type = responseType(EquipmentResponse.class);
+        } else {
+            response = ApiResponse.success(Fixtures.bookingList(42, size).stream()
+                    .map(BookingResponse::fromBooking)
+                    .toList());
+            type = responseType(BookingResponse.class);
+        }
+        encoded = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s %s x%d: %d bytes, %d gzipped%n",
+                format, payload, size, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return mapper.readValue(encoded, type);
+    }
+
+    // What Spring Boot's auto-configured builder does for this application
+    private static Jackson2ObjectMapperBuilder springBootBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private JavaType responseType(Class<?> element) {
+        return mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, element));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
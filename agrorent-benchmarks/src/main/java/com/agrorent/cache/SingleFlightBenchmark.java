@@ -0,0 +1,63 @@
+package com.agrorent.cache;
+
+import com.agrorent.benchmark.Fixtures;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.model.Equipment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thundering herd on {@link SingleFlight}: 64 threads request the same listing (or one of a
+ * hundred) and each "query" parks for a Mongo-like round trip. The {@code queries} counter shows
+ * how many calls reached the backend; without coalescing it equals the number of requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class SingleFlightBenchmark {
+
+    @Param({"true", "false"})
+    private boolean coalescing;
+
+    // 1 = everyone hits the shared listing; 100 = a busy but spread-out catalogue
+    @Param({"1", "100"})
+    private int keys;
+
+    @Param({"2000"})
+    private long queryMicros;
+
+    private SingleFlight singleFlight;
+    private List<Equipment> equipment;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Backend {
+        public long queries;
+    }
+
+    @Setup
+    public void setUp() {
+        singleFlight = new SingleFlight(new SimpleMeterRegistry(), coalescing);
+        equipment = Fixtures.equipmentList(42, keys);
+    }
+
+    @Benchmark
+    public EquipmentResponse getEquipmentById(Backend backend) {
+        int index = keys == 1 ? 0 : ThreadLocalRandom.current().nextInt(keys);
+        Equipment listing = equipment.get(index);
+        return singleFlight.execute("equipment-by-id", listing.getId(), () -> {
+            backend.queries++;
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+            return EquipmentResponse.fromEquipment(listing);
+        });
+    }
+}
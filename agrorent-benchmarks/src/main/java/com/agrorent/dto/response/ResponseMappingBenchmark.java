@@ -0,0 +1,48 @@
+package com.agrorent.dto.response;
+
+import com.agrorent.benchmark.Fixtures;
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "500", "5000"})
+    private int size;
+
+    private List<Equipment> equipment;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        equipment = Fixtures.equipmentList(42, size);
+        bookings = Fixtures.bookingList(43, size);
+    }
+
+    @Benchmark
+    public void fromEquipment(Blackhole blackhole) {
+        for (Equipment eq : equipment) {
+            blackhole.consume(EquipmentResponse.fromEquipment(eq, 12.3));
+        }
+    }
+
+    @Benchmark
+    public void fromBooking(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingResponse.fromBooking(booking));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.agrorent.geo;
+
+import com.agrorent.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distances from the search location to a batch of listings within a degree of it, with a 50 km
+ * radius so a good share of them sit near the boundary: one exact haversine per point against
+ * {@link DistanceKernel} with the scalar and the Vector API bulk pass. The fork adds
+ * {@code jdk.incubator.vector}; JMH prints its incubator warning once.
+ *
+ * Setup first checks the kernel over random query points, radii and latitudes: every inclusion
+ * decision must match the haversine, and it prints the largest error of the distances it did not
+ * recompute up to a quarter past the radius, which has to stay under
+ * {@link DistanceKernel#BOUNDARY_BAND}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DistanceKernelBenchmark {
+
+    private static final double RADIUS_KM = 50;
+
+    @Param({"1000", "10000", "100000"})
+    private int count;
+
+    @Param({"haversine", "scalar", "vector"})
+    private String kernel;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] distances;
+    private ApproximateDistancePass pass;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        latitudes = new double[count];
+        longitudes = new double[count];
+        distances = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = Fixtures.CENTER_LAT + (random.nextDouble() - 0.5) * 2;
+            longitudes[i] = Fixtures.CENTER_LON + (random.nextDouble() - 0.5) * 2;
+        }
+        pass = switch (kernel) {
+            case "scalar" -> DistanceKernel.scalarPass();
+            case "vector" -> DistanceKernel.vectorPass();
+            default -> null;
+        };
+        if ("vector".equals(kernel) && pass == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+        if (pass != null) {
+            checkAccuracy(pass);
+        }
+    }
+
+    @Benchmark
+    public int distances() {
+        if (pass != null) {
+            return DistanceKernel.distancesKm(pass, Fixtures.CENTER_LAT, Fixtures.CENTER_LON,
+                    latitudes, longitudes, count, RADIUS_KM, distances);
+        }
+        int within = 0;
+        for (int i = 0; i < count; i++) {
+            distances[i] = DistanceKernel.haversineKm(Fixtures.CENTER_LAT, Fixtures.CENTER_LON,
+                    latitudes[i], longitudes[i]);
+            if (distances[i] <= RADIUS_KM) {
+                within++;
+            }
+        }
+        return within;
+    }
+
+    private void checkAccuracy(ApproximateDistancePass pass) {
+        SplittableRandom random = new SplittableRandom(7);
+        int points = 4_099; // not a multiple of the vector length, so the tail runs too
+        double[] lats = new double[points];
+        double[] lons = new double[points];
+        double[] out = new double[points];
+        double maxError = 0;
+        long checked = 0;
+        for (int round = 0; round < 500; round++) {
+            double latitude = -70 + random.nextDouble() * 140;
+            // Some query points next to the antimeridian
+            double longitude = round % 10 == 0 ? 179.9 : -180 + random.nextDouble() * 360;
+            double radiusKm = 1 + random.nextDouble() * 499;
+            double spread = 1.5 * radiusKm / 111.0;
+            for (int i = 0; i < points; i++) {
+                lats[i] = Math.max(-90, Math.min(90, latitude + (random.nextDouble() * 2 - 1) * spread));
+                double lon = longitude + (random.nextDouble() * 2 - 1) * spread / Math.cos(Math.toRadians(latitude));
+                lons[i] = lon > 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+            }
+            int within = DistanceKernel.distancesKm(pass, latitude, longitude, lats, lons, points, radiusKm, out);
+            int expected = 0;
+            for (int i = 0; i < points; i++) {
+                double exact = DistanceKernel.haversineKm(latitude, longitude, lats[i], lons[i]);
+                if ((exact <= radiusKm) != (out[i] <= radiusKm)) {
+                    throw new IllegalStateException(String.format(
+                            "%s pass disagrees at (%f, %f) radius %.1f km: %f vs %f km",
+                            kernel, lats[i], lons[i], radiusKm, out[i], exact));
+                }
+                if (exact <= radiusKm) {
+                    expected++;
+                }
+                if (exact <= 1.25 * radiusKm) {
+                    maxError = Math.max(maxError, Math.abs(out[i] - exact) / radiusKm);
+                }
+            }
+            if (within != expected) {
+                throw new IllegalStateException(kernel + " pass counted " + within + " within, expected " + expected);
+            }
+            checked += points;
+        }
+        System.out.printf("%n%s pass: %d points checked, inclusion identical to haversine, "
+                + "largest error within 1.25x the radius %.4f%% of it (band %.1f%%)%n", kernel, checked, maxError * 100,
+                DistanceKernel.BOUNDARY_BAND * 100);
+    }
+}
@@ -0,0 +1,52 @@
+package com.agrorent.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing runs in {@code JwtAuthFilter} on every authenticated request (currently twice:
+ * validate, then extract the subject).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider = new JwtTokenProvider();
+        set("jwtSecret", "agrorent-secret-key-for-jwt-token-generation-must-be-at-least-256-bits-long-for-security");
+        set("jwtExpiration", 86_400_000L);
+        provider.init();
+        token = provider.generateToken("9876543210");
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(provider, value);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken("9876543210");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return provider.getUsernameFromToken(token);
+    }
+}
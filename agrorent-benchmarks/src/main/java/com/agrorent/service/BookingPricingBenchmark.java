@@ -0,0 +1,42 @@
+package com.agrorent.service;
+
+import com.agrorent.benchmark.Fixtures;
+import com.agrorent.model.Equipment;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tariff selection in {@link BookingService#createBooking}, for hourly, daily and weekly windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPricingBenchmark {
+
+    @Param({"6", "72", "336"})
+    private int durationHours;
+
+    private Equipment equipment;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        equipment = Fixtures.equipment(new SplittableRandom(7), 0);
+        equipment.setPricePerHour(250.0);
+        equipment.setPricePerWeek(12000.0);
+        start = LocalDateTime.of(2026, 11, 1, 6, 0);
+        end = start.plusHours(durationHours);
+    }
+
+    @Benchmark
+    public BookingService.Pricing calculatePricing() {
+        return BookingService.calculatePricing(equipment, start, end);
+    }
+}
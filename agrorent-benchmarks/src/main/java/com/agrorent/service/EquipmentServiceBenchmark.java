@@ -0,0 +1,65 @@
+package com.agrorent.service;
+
+import com.agrorent.benchmark.Fixtures;
+import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.model.Equipment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance computation and result sorting as done by {@link EquipmentService#searchEquipment}.
+ * Lives in the service package to reach the package-private helpers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EquipmentServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"distance", "price", "rating"})
+    private String sortBy;
+
+    private List<Equipment> equipment;
+    private List<EquipmentResponse> responses;
+    private EquipmentSearchRequest request;
+
+    @Setup
+    public void setUp() {
+        equipment = Fixtures.equipmentList(42, size);
+        request = EquipmentSearchRequest.builder()
+                .latitude(Fixtures.CENTER_LAT)
+                .longitude(Fixtures.CENTER_LON)
+                .sortBy(sortBy)
+                .build();
+        responses = new ArrayList<>(size);
+        for (Equipment eq : equipment) {
+            responses.add(EquipmentResponse.fromEquipment(eq, EquipmentService.calculateDistance(
+                    Fixtures.CENTER_LAT, Fixtures.CENTER_LON, eq.getLocation().getY(), eq.getLocation().getX())));
+        }
+    }
+
+    @Benchmark
+    public void calculateDistance(Blackhole blackhole) {
+        for (Equipment eq : equipment) {
+            blackhole.consume(EquipmentService.calculateDistance(
+                    Fixtures.CENTER_LAT, Fixtures.CENTER_LON, eq.getLocation().getY(), eq.getLocation().getX()));
+        }
+    }
+
+    @Benchmark
+    public List<EquipmentResponse> sort() {
+        List<EquipmentResponse> copy = new ArrayList<>(responses);
+        copy.sort(EquipmentService.getSorter(request));
+        return copy;
+    }
+}
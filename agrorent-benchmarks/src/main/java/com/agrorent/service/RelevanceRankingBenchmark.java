@@ -0,0 +1,95 @@
+package com.agrorent.service;
+
+import com.agrorent.benchmark.Fixtures;
+import com.agrorent.dto.request.EquipmentSearchRequest;
+import com.agrorent.dto.response.EquipmentResponse;
+import com.agrorent.model.Equipment;
+import com.agrorent.ranking.CandidateSet;
+import com.agrorent.ranking.RelevanceProperties;
+import com.agrorent.ranking.RelevanceRanker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a search over many candidates: the full sort {@link EquipmentService#searchEquipment}
+ * does for the other sort orders (every candidate mapped to a response, then sorted) against
+ * relevance ranking (candidates into primitive arrays, a bounded top-k heap, responses for the
+ * winners only). {@code rankOnly} is the heap pass on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RelevanceRankingBenchmark {
+
+    private static final double RADIUS_KM = 50;
+
+    @Param({"10000", "100000"})
+    private int candidates;
+
+    @Param({"20"})
+    private int k;
+
+    private List<Equipment> equipment;
+    private EquipmentSearchRequest request;
+    private RelevanceRanker ranker;
+    private CandidateSet filled;
+
+    @Setup
+    public void setUp() {
+        equipment = Fixtures.equipmentList(42, candidates);
+        request = EquipmentSearchRequest.builder()
+                .latitude(Fixtures.CENTER_LAT)
+                .longitude(Fixtures.CENTER_LON)
+                .sortBy("rating")
+                .build();
+        ranker = new RelevanceRanker(new RelevanceProperties());
+        filled = candidateSet();
+    }
+
+    @Benchmark
+    public List<EquipmentResponse> fullSort() {
+        List<EquipmentResponse> responses = new ArrayList<>(equipment.size());
+        for (Equipment eq : equipment) {
+            responses.add(EquipmentResponse.fromEquipment(eq, distance(eq)));
+        }
+        responses.sort(EquipmentService.getSorter(request));
+        return new ArrayList<>(responses.subList(0, k));
+    }
+
+    @Benchmark
+    public List<EquipmentResponse> topK() {
+        CandidateSet set = candidateSet();
+        int[] ranked = ranker.rank(set, RADIUS_KM, k);
+        List<EquipmentResponse> responses = new ArrayList<>(ranked.length);
+        for (int index : ranked) {
+            responses.add(EquipmentResponse.fromEquipment(equipment.get(index), set.distanceKm(index)));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public int[] rankOnly() {
+        return ranker.rank(filled, RADIUS_KM, k);
+    }
+
+    private CandidateSet candidateSet() {
+        CandidateSet set = new CandidateSet(equipment.size());
+        for (Equipment eq : equipment) {
+            set.add(eq.getId(), eq.getLocation().getY(), eq.getLocation().getX(), eq.getPricePerDay(),
+                    eq.getRatingScore(), eq.getVerified(), eq.getTimesRented());
+        }
+        set.measureFrom(Fixtures.CENTER_LAT, Fixtures.CENTER_LON, RADIUS_KM);
+        return set;
+    }
+
+    private static double distance(Equipment eq) {
+        return EquipmentService.calculateDistance(Fixtures.CENTER_LAT, Fixtures.CENTER_LON,
+                eq.getLocation().getY(), eq.getLocation().getX());
+    }
+}
@@ -0,0 +1,96 @@
+package com.agrorent.servicearea;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Who delivers to this farm" over many listings spread across central and southern India, four in
+ * five with a 5 to 50 km radius and the rest with a hexagon of about that size: the grid lookup
+ * {@link ServiceAreaIndex} uses against testing every area. Setup checks that both return the same
+ * listings for a sample of farms and prints how long the grid took to build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceAreaIndexBenchmark {
+
+    private static final double MIN_LATITUDE = 8;
+    private static final double MAX_LATITUDE = 30;
+    private static final double MIN_LONGITUDE = 70;
+    private static final double MAX_LONGITUDE = 90;
+    private static final int FARMS = 1024;
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int listings;
+
+    private ServiceAreaGrid grid;
+    private double[] farmLatitudes;
+    private double[] farmLongitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        grid = new ServiceAreaGrid(new ServiceAreaProperties().getCellDegrees());
+        for (int i = 0; i < listings; i++) {
+            String id = String.format("%024x", i);
+            int category = random.nextInt(9);
+            double latitude = MIN_LATITUDE + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE);
+            double longitude = MIN_LONGITUDE + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE);
+            double radiusKm = 5 + random.nextDouble() * 45;
+            if (random.nextInt(5) > 0) {
+                grid.putRadius(id, category, latitude, longitude, radiusKm);
+            } else {
+                double[] latitudes = new double[6];
+                double[] longitudes = new double[6];
+                for (int v = 0; v < 6; v++) {
+                    double angle = Math.PI / 3 * v;
+                    double degrees = radiusKm / 111.2 * (0.7 + 0.3 * random.nextDouble());
+                    latitudes[v] = latitude + degrees * Math.sin(angle);
+                    longitudes[v] = longitude + degrees * Math.cos(angle) / Math.cos(Math.toRadians(latitude));
+                }
+                grid.putPolygon(id, category, latitude, longitude, latitudes, longitudes);
+            }
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        farmLatitudes = new double[FARMS];
+        farmLongitudes = new double[FARMS];
+        for (int i = 0; i < FARMS; i++) {
+            farmLatitudes[i] = MIN_LATITUDE + 1 + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE - 2);
+            farmLongitudes[i] = MIN_LONGITUDE + 1 + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE - 2);
+        }
+        long served = 0;
+        for (int i = 0; i < 64; i++) {
+            List<ServiceAreaMatch> indexed = grid.serving(farmLatitudes[i], farmLongitudes[i], -1, Integer.MAX_VALUE);
+            List<ServiceAreaMatch> scanned = grid.servingByScan(farmLatitudes[i], farmLongitudes[i], -1, Integer.MAX_VALUE);
+            if (!indexed.equals(scanned)) {
+                throw new IllegalStateException("Grid and scan disagree for farm " + i + ": "
+                        + indexed.size() + " vs " + scanned.size() + " listings");
+            }
+            served += indexed.size();
+        }
+        System.out.printf("%n%d service areas indexed in %d ms; grid and scan agree on 64 farms, "
+                + "%.1f listings deliver to each on average%n", listings, buildMillis, served / 64.0);
+    }
+
+    @Benchmark
+    public List<ServiceAreaMatch> indexed() {
+        int farm = next++ & (FARMS - 1);
+        return grid.serving(farmLatitudes[farm], farmLongitudes[farm], -1, LIMIT);
+    }
+
+    @Benchmark
+    public List<ServiceAreaMatch> scan() {
+        int farm = next++ & (FARMS - 1);
+        return grid.servingByScan(farmLatitudes[farm], farmLongitudes[farm], -1, LIMIT);
+    }
+}
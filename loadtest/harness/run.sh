@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Builds the backend and the harness, then runs the end-to-end load test in one JVM.
+#
+# Usage: ./run.sh [options]      e.g. ./run.sh --backend=mongod --mongod=$HOME/mongodb/bin/mongod
+#        HEAP=2g ./run.sh --scenarios=browse --duration=60s --spring.threads.virtual.enabled=true
+set -euo pipefail
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+cd "$HERE"
+
+mvn -B -q -f ../../agrorent-backend/pom.xml install -DskipTests
+mvn -B -q clean package  # repackage keeps stale nested jars otherwise
+
+java -Xms"${HEAP:-1g}" -Xmx"${HEAP:-1g}" -jar target/harness.jar "$@"
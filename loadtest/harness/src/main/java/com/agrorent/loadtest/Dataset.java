@@ -0,0 +1,123 @@
+package com.agrorent.loadtest;
+
+import com.agrorent.datagen.DataGeneratorProperties;
+import com.agrorent.datagen.SyntheticDataFactory;
+import com.agrorent.model.Booking;
+import com.agrorent.model.Equipment;
+import com.agrorent.model.User;
+import com.agrorent.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * The seeded dataset plus the handful of facts the scenarios need about it: where users are,
+ * which listings are hot, and a token for every rent taker that takes part in a booking burst.
+ * Data comes from the same generator as the datagen profile, scaled down.
+ */
+@Slf4j
+final class Dataset {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int SEARCH_POINTS = 2_000;
+    private static final int HOT_EQUIPMENT = 50;
+    private static final int BOOKING_USERS = 500;
+
+    private final DataGeneratorProperties properties;
+    private final SyntheticDataFactory factory;
+
+    // [longitude, latitude] of real user locations, so searches hit populated districts
+    private final List<double[]> searchPoints = new ArrayList<>();
+    private final List<String> hotEquipmentIds = new ArrayList<>();
+    private final List<String> rentTakerTokens = new ArrayList<>();
+
+    private Dataset(DataGeneratorProperties properties, SyntheticDataFactory factory) {
+        this.properties = properties;
+        this.factory = factory;
+    }
+
+    static Dataset seed(HarnessOptions options, ApplicationContext context) {
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setSeed(options.seed());
+        properties.setUsers(options.users());
+        properties.setEquipment(options.equipment());
+        properties.setBookings(options.bookings());
+
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(properties.getPassword());
+        Dataset dataset = new Dataset(properties, new SyntheticDataFactory(properties, passwordHash));
+
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        long start = System.nanoTime();
+        dataset.insert(mongoTemplate, User.class, options.users(), dataset.factory::user);
+        dataset.insert(mongoTemplate, Equipment.class, options.equipment(), dataset.factory::equipment);
+        dataset.insert(mongoTemplate, Booking.class, options.bookings(), dataset.factory::booking);
+        log.info("Seeded {} users, {} equipment and {} bookings in {} ms", options.users(), options.equipment(),
+                options.bookings(), (System.nanoTime() - start) / 1_000_000);
+
+        dataset.sample(context.getBean(JwtTokenProvider.class));
+        return dataset;
+    }
+
+    private <T> void insert(MongoTemplate mongoTemplate, Class<T> type, long count, LongFunction<T> generator) {
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        for (long index = 0; index < count; index++) {
+            batch.add(generator.apply(index));
+            if (batch.size() == BATCH_SIZE || index == count - 1) {
+                mongoTemplate.insert(batch, type);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+
+    private void sample(JwtTokenProvider tokenProvider) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        for (int i = 0; i < SEARCH_POINTS; i++) {
+            User user = factory.user(random.nextLong(properties.getUsers()));
+            searchPoints.add(new double[]{user.getLocation().getX(), user.getLocation().getY()});
+        }
+        // Low indexes are the most booked listings of the generated data
+        for (long index = 0; index < properties.getEquipment() && hotEquipmentIds.size() < HOT_EQUIPMENT; index++) {
+            Equipment equipment = factory.equipment(index);
+            if (equipment.getAvailable()) {
+                hotEquipmentIds.add(equipment.getId());
+            }
+        }
+        // Rent takers are drawn from the non-owners so they never book their own listings
+        int firstRentTaker = (int) (properties.getUsers() * properties.getOwnerFraction()) + 1;
+        for (int i = 0; i < BOOKING_USERS && firstRentTaker + i < properties.getUsers(); i++) {
+            rentTakerTokens.add(tokenProvider.generateToken(SyntheticDataFactory.phone(firstRentTaker + i)));
+        }
+    }
+
+    double[] searchPoint(SplittableRandom random) {
+        return searchPoints.get(random.nextInt(searchPoints.size()));
+    }
+
+    // Skewed towards the first few listings, like the traffic on a marketplace
+    String hotEquipmentId(SplittableRandom random) {
+        return hotEquipmentIds.get((int) (hotEquipmentIds.size() * Math.pow(random.nextDouble(), 2)));
+    }
+
+    // Any listing, including unavailable ones and ones nobody has booked
+    String anyEquipmentId(SplittableRandom random) {
+        return SyntheticDataFactory.equipmentId(random.nextLong(properties.getEquipment()));
+    }
+
+    String rentTakerToken(SplittableRandom random) {
+        return rentTakerTokens.get(random.nextInt(rentTakerTokens.size()));
+    }
+
+    String anyPhone(SplittableRandom random) {
+        return SyntheticDataFactory.phone(random.nextLong(properties.getUsers()));
+    }
+
+    String password() {
+        return properties.getPassword();
+    }
+}
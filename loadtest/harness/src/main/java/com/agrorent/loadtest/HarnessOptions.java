@@ -0,0 +1,91 @@
+package com.agrorent.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line options. Harness options use {@code --name=value}; any other argument
+ * ({@code --spring.threads.virtual.enabled=true}, {@code --agrorent.mongo.pool.max-size=50}, ...)
+ * is passed on to the application under test.
+ */
+record HarnessOptions(Backend backend,
+                      String mongodBinary,
+                      List<String> scenarios,
+                      Duration warmup,
+                      Duration duration,
+                      int concurrency,
+                      int users,
+                      int equipment,
+                      int bookings,
+                      long seed,
+                      String resultsDir,
+                      List<String> applicationArgs) {
+
+    enum Backend {
+        // Repositories and MongoTemplate backed by an in-process store
+        MEMORY,
+        // A mongod binary started on a free port with a throwaway data directory
+        MONGOD
+    }
+
+    static final List<String> ALL_SCENARIOS = List.of("browse", "booking-burst", "login-storm");
+
+    static HarnessOptions parse(String[] args) {
+        Backend backend = Backend.MEMORY;
+        String mongodBinary = "mongod";
+        List<String> scenarios = ALL_SCENARIOS;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        int concurrency = 64;
+        int users = 20_000;
+        int equipment = 10_000;
+        int bookings = 50_000;
+        long seed = 20260101L;
+        String resultsDir = "results";
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--backend" -> backend = Backend.valueOf(value.toUpperCase());
+                case "--mongod" -> mongodBinary = value;
+                case "--scenarios" -> scenarios = Arrays.asList(value.split(","));
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--users" -> users = Integer.parseInt(value);
+                case "--equipment" -> equipment = Integer.parseInt(value);
+                case "--bookings" -> bookings = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--results" -> resultsDir = value;
+                default -> applicationArgs.add(arg);
+            }
+        }
+
+        for (String scenario : scenarios) {
+            if (!ALL_SCENARIOS.contains(scenario)) {
+                throw new IllegalArgumentException("Unknown scenario '" + scenario + "', expected one of " + ALL_SCENARIOS);
+            }
+        }
+        return new HarnessOptions(backend, mongodBinary, scenarios, warmup, duration, concurrency,
+                users, equipment, bookings, seed, resultsDir, applicationArgs);
+    }
+
+    // Accepts 90s, 2m or an ISO-8601 duration
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
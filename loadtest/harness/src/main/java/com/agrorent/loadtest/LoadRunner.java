@@ -0,0 +1,206 @@
+package com.agrorent.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Runs one scenario as a closed loop: {@code concurrency} workers each send a request, wait for the
+ * full response and send the next one. A warmup phase runs first and is not recorded.
+ *
+ * Allocation is measured over the measured phase as bytes allocated by all platform threads of
+ * the JVM minus the bytes allocated by the workers themselves, which leaves the application and
+ * the HTTP client's I/O thread. With virtual threads on, request handling is attributed to the
+ * carrier threads and is still included.
+ */
+@Slf4j
+final class LoadRunner {
+
+    private static final long MAX_LATENCY_MICROS = 60_000_000;
+
+    private final URI baseUri;
+    private final HarnessOptions options;
+
+    LoadRunner(URI baseUri, HarnessOptions options) {
+        this.baseUri = baseUri;
+        this.options = options;
+    }
+
+    ScenarioResult run(Scenario scenario) throws InterruptedException {
+        log.info("Running {} ({}): {} workers, {} warmup, {} measured", scenario.name(), scenario.description(),
+                options.concurrency(), options.warmup(), options.duration());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + options.warmup().toNanos();
+        long measureUntilNanos = measureFromNanos + options.duration().toNanos();
+
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < options.concurrency(); i++) {
+            Worker worker = new Worker(scenario, client, new SplittableRandom(options.seed() * 31 + i),
+                    measureFromNanos, measureUntilNanos);
+            workers.add(worker);
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < workers.size(); i++) {
+            Thread thread = new Thread(workers.get(i), "loadtest-" + scenario.name() + "-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        sleepUntil(measureFromNanos);
+        long allocatedBefore = allocatedBytes();
+        long[] gcBefore = gcTotals();
+        sleepUntil(measureUntilNanos);
+        long allocatedAfter = allocatedBytes();
+        long[] gcAfter = gcTotals();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Histogram latency = new Histogram(MAX_LATENCY_MICROS, 3);
+        long non2xx = 0;
+        long failures = 0;
+        long workerAllocated = 0;
+        for (Worker worker : workers) {
+            latency.add(worker.latency);
+            non2xx += worker.non2xx;
+            failures += worker.failures;
+            workerAllocated += worker.allocatedWhileMeasuring;
+        }
+        if (failures > 0) {
+            log.warn("{}: {} requests failed without a response", scenario.name(), failures);
+        }
+
+        double seconds = options.duration().toNanos() / 1e9;
+        long requests = latency.getTotalCount();
+        long applicationAllocated = Math.max(0, allocatedAfter - allocatedBefore - workerAllocated);
+        return new ScenarioResult(
+                scenario.name(),
+                options.backend().name().toLowerCase(),
+                options.concurrency(),
+                seconds,
+                requests,
+                non2xx,
+                failures,
+                requests / seconds,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                applicationAllocated / seconds / (1024 * 1024),
+                requests == 0 ? 0 : applicationAllocated / 1024.0 / requests,
+                gcAfter[0] - gcBefore[0],
+                gcAfter[1] - gcBefore[1]);
+    }
+
+    private final class Worker implements Runnable {
+        private final Scenario scenario;
+        private final HttpClient client;
+        private final SplittableRandom random;
+        private final long measureFromNanos;
+        private final long measureUntilNanos;
+
+        private final Histogram latency = new Histogram(MAX_LATENCY_MICROS, 3);
+        private long non2xx;
+        private long failures;
+        private long allocatedWhileMeasuring;
+
+        Worker(Scenario scenario, HttpClient client, SplittableRandom random, long measureFromNanos, long measureUntilNanos) {
+            this.scenario = scenario;
+            this.client = client;
+            this.random = random;
+            this.measureFromNanos = measureFromNanos;
+            this.measureUntilNanos = measureUntilNanos;
+        }
+
+        @Override
+        public void run() {
+            long allocatedAtStart = -1;
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= measureUntilNanos) {
+                    break;
+                }
+                boolean measuring = now >= measureFromNanos;
+                if (measuring && allocatedAtStart < 0) {
+                    allocatedAtStart = currentThreadAllocatedBytes();
+                }
+
+                HttpRequest request = scenario.next(random, baseUri);
+                long sentAt = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    long finishedAt = System.nanoTime();
+                    if (measuring && finishedAt <= measureUntilNanos) {
+                        latency.recordValue(Math.min(MAX_LATENCY_MICROS, (finishedAt - sentAt) / 1000));
+                        if (response.statusCode() / 100 != 2) {
+                            non2xx++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    if (measuring) {
+                        failures++;
+                    }
+                }
+            }
+            if (allocatedAtStart >= 0) {
+                allocatedWhileMeasuring = currentThreadAllocatedBytes() - allocatedAtStart;
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // [collections, milliseconds] over all collectors
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            Thread.sleep(Math.max(1, remaining / 1_000_000));
+        }
+    }
+}
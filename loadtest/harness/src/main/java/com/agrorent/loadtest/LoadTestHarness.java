@@ -0,0 +1,81 @@
+package com.agrorent.loadtest;
+
+import com.agrorent.AgroRentApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end load test: starts the backend in this JVM against a local persistence backend, seeds
+ * it with synthetic data and drives the real controllers over HTTP through each scenario.
+ *
+ * <pre>
+ * java -jar target/harness.jar --backend=memory --duration=30s --concurrency=64
+ * java -jar target/harness.jar --backend=mongod --mongod=/opt/mongodb/bin/mongod --scenarios=browse
+ * </pre>
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+
+        LocalMongod mongod = options.backend() == HarnessOptions.Backend.MONGOD
+                ? LocalMongod.start(options.mongodBinary()) : null;
+        try (ConfigurableApplicationContext context = start(options, mongod)) {
+            Dataset dataset = Dataset.seed(options, context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadRunner runner = new LoadRunner(URI.create("http://127.0.0.1:" + port), options);
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (String name : options.scenarios()) {
+                results.add(runner.run(Scenario.named(name, dataset)));
+            }
+            report(options, results);
+        } finally {
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(HarnessOptions options, LocalMongod mongod) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AgroRentApplication.class);
+        if (mongod != null) {
+            builder.profiles("loadtest")
+                    .properties("spring.data.mongodb.uri=" + mongod.uri());
+        } else {
+            builder.profiles("loadtest", "memory");
+        }
+        return builder.run(options.applicationArgs().toArray(String[]::new));
+    }
+
+    private static void report(HarnessOptions options, List<ScenarioResult> results) throws IOException {
+        StringBuilder table = new StringBuilder()
+                .append(String.format("%nBackend %s, %d workers, %s measured after %s warmup%n",
+                        options.backend().name().toLowerCase(), options.concurrency(), options.duration(), options.warmup()))
+                .append(ScenarioResult.header()).append('\n');
+        results.forEach(result -> table.append(result.toRow()).append('\n'));
+        System.out.println(table);
+
+        Path directory = Files.createDirectories(Path.of(options.resultsDir()));
+        Path file = directory.resolve("harness-" + options.backend().name().toLowerCase() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        List<String> lines = new ArrayList<>();
+        lines.add(ScenarioResult.CSV_HEADER);
+        results.forEach(result -> lines.add(result.toCsv()));
+        Files.write(file, lines);
+        log.info("Results written to {}", file);
+    }
+}
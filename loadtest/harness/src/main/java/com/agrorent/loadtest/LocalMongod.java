@@ -0,0 +1,91 @@
+package com.agrorent.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A mongod process on a free local port with a throwaway data directory, so the Mongo backend
+ * runs offline and every run starts from an empty database.
+ */
+@Slf4j
+final class LocalMongod implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 30_000;
+
+    private final Process process;
+    private final Path directory;
+    private final int port;
+
+    private LocalMongod(Process process, Path directory, int port) {
+        this.process = process;
+        this.directory = directory;
+        this.port = port;
+    }
+
+    static LocalMongod start(String binary) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("agrorent-mongod");
+        Path dataPath = Files.createDirectory(directory.resolve("db"));
+        Path logPath = directory.resolve("mongod.log");
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        Process process = new ProcessBuilder(binary,
+                "--dbpath", dataPath.toString(),
+                "--port", String.valueOf(port),
+                "--bind_ip", "127.0.0.1",
+                "--wiredTigerCacheSizeGB", "1")
+                .redirectErrorStream(true)
+                .redirectOutput(logPath.toFile())
+                .start();
+        LocalMongod mongod = new LocalMongod(process, directory, port);
+
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (!mongod.accepting()) {
+            if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+                String output = Files.readString(logPath);
+                mongod.close();
+                throw new IllegalStateException("mongod did not start on port " + port + ":\n" + output);
+            }
+            Thread.sleep(100);
+        }
+        log.info("Started {} on port {} with data in {}", binary, port, dataPath);
+        return mongod;
+    }
+
+    String uri() {
+        return "mongodb://127.0.0.1:" + port + "/agrorent-loadtest";
+    }
+
+    private boolean accepting() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.agrorent.loadtest;
+
+import com.agrorent.model.enums.EquipmentCategory;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * A workload: a weighted mix of requests against the real endpoints. Each worker draws the next
+ * request from its own seeded random source, so a run with the same seed replays the same traffic.
+ */
+record Scenario(String name, String description, List<Operation> operations, int totalWeight) {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    record Operation(String name, int weight, BiFunction<SplittableRandom, URI, HttpRequest> request) {
+    }
+
+    HttpRequest next(SplittableRandom random, URI baseUri) {
+        int target = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            target -= operation.weight();
+            if (target < 0) {
+                return operation.request().apply(random, baseUri);
+            }
+        }
+        throw new IllegalStateException("Empty scenario " + name);
+    }
+
+    static Scenario named(String name, Dataset dataset) {
+        return switch (name) {
+            case "browse" -> browse(dataset);
+            case "booking-burst" -> bookingBurst(dataset);
+            case "login-storm" -> loginStorm(dataset);
+            default -> throw new IllegalArgumentException("Unknown scenario " + name);
+        };
+    }
+
+    // Anonymous visitors searching around their village and opening listings
+    static Scenario browse(Dataset dataset) {
+        EquipmentCategory[] categories = EquipmentCategory.values();
+        String[] sorts = {"distance", "price", "rating"};
+        return builder("browse", "Search-heavy anonymous browsing")
+                .add("search", 45, (random, base) -> {
+                    double[] point = dataset.searchPoint(random);
+                    StringBuilder body = new StringBuilder(String.format(Locale.ROOT,
+                            "{\"latitude\":%.5f,\"longitude\":%.5f,\"radiusKm\":%d,\"sortBy\":\"%s\"",
+                            point[1], point[0], 25 * (1 + random.nextInt(4)), sorts[random.nextInt(sorts.length)]));
+                    if (random.nextInt(2) == 0) {
+                        body.append(",\"category\":\"").append(categories[random.nextInt(categories.length)]).append('"');
+                    }
+                    if (random.nextInt(10) < 3) {
+                        body.append(",\"maxPrice\":").append(500 + 500 * random.nextInt(6));
+                    }
+                    return post(base, "/api/equipment/search", body.append('}').toString(), null);
+                })
+                .add("nearby", 25, (random, base) -> {
+                    double[] point = dataset.searchPoint(random);
+                    return get(base, String.format(Locale.ROOT, "/api/equipment/search/nearby?latitude=%.5f&longitude=%.5f&radiusKm=%d",
+                            point[1], point[0], 10 + 10 * random.nextInt(4)), null);
+                })
+                .add("listing", 25, (random, base) ->
+                        get(base, "/api/equipment/public/" + (random.nextInt(4) == 0
+                                ? dataset.anyEquipmentId(random) : dataset.hotEquipmentId(random)), null))
+                .add("category", 5, (random, base) ->
+                        get(base, "/api/equipment/public/category/" + categories[random.nextInt(categories.length)], null))
+                .build();
+    }
+
+    // Many rent takers competing for the same popular machines at the start of a season
+    static Scenario bookingBurst(Dataset dataset) {
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        return builder("booking-burst", "Concurrent booking requests on hot listings")
+                .add("create", 70, (random, base) -> {
+                    LocalDateTime start = today.plusDays(1 + random.nextInt(60)).plusHours(6 + random.nextInt(4));
+                    LocalDateTime end = start.plusHours(4 + random.nextInt(44));
+                    String body = String.format(Locale.ROOT,
+                            "{\"equipmentId\":\"%s\",\"startDate\":\"%s\",\"endDate\":\"%s\",\"notes\":\"Load test\"}",
+                            dataset.hotEquipmentId(random), start, end);
+                    return post(base, "/api/bookings/create", body, dataset.rentTakerToken(random));
+                })
+                .add("my-bookings", 20, (random, base) ->
+                        get(base, "/api/bookings/my", dataset.rentTakerToken(random)))
+                .add("listing", 10, (random, base) ->
+                        get(base, "/api/equipment/public/" + dataset.hotEquipmentId(random), null))
+                .build();
+    }
+
+    // Everybody opening the app at once; mostly valid logins, some typos
+    static Scenario loginStorm(Dataset dataset) {
+        return builder("login-storm", "Password logins, 10% with a wrong password")
+                .add("login", 90, (random, base) -> post(base, "/api/auth/login", String.format(
+                        "{\"phone\":\"%s\",\"password\":\"%s\"}", dataset.anyPhone(random), dataset.password()), null))
+                .add("wrong-password", 10, (random, base) -> post(base, "/api/auth/login", String.format(
+                        "{\"phone\":\"%s\",\"password\":\"%s\"}", dataset.anyPhone(random), "wrong-password"), null))
+                .build();
+    }
+
+    private static HttpRequest get(URI base, String path, String token) {
+        return request(base, path, token).GET().build();
+    }
+
+    private static HttpRequest post(URI base, String path, String json, String token) {
+        return request(base, path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest.Builder request(URI base, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static Builder builder(String name, String description) {
+        return new Builder(name, description);
+    }
+
+    private static final class Builder {
+        private final String name;
+        private final String description;
+        private final List<Operation> operations = new ArrayList<>();
+
+        private Builder(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        Builder add(String operation, int weight, BiFunction<SplittableRandom, URI, HttpRequest> request) {
+            operations.add(new Operation(operation, weight, request));
+            return this;
+        }
+
+        Scenario build() {
+            return new Scenario(name, description, List.copyOf(operations),
+                    operations.stream().mapToInt(Operation::weight).sum());
+        }
+    }
+}
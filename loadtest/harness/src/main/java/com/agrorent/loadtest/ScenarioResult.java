@@ -0,0 +1,48 @@
+package com.agrorent.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Measured-phase results of one scenario. Latencies are in milliseconds; allocation covers the
+ * application side only (see {@link LoadRunner}).
+ */
+record ScenarioResult(String scenario,
+                      String backend,
+                      int concurrency,
+                      double seconds,
+                      long requests,
+                      long non2xx,
+                      long failures,
+                      double throughput,
+                      double p50Millis,
+                      double p90Millis,
+                      double p99Millis,
+                      double p999Millis,
+                      double maxMillis,
+                      double allocatedMbPerSecond,
+                      double allocatedKbPerRequest,
+                      long gcCount,
+                      long gcMillis) {
+
+    static final String CSV_HEADER = "scenario,backend,concurrency,seconds,requests,non_2xx,failures,"
+            + "throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,alloc_mb_per_s,alloc_kb_per_request,gc_count,gc_ms";
+
+    String toCsv() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%.0f,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%.1f,%.1f,%d,%d",
+                scenario, backend, concurrency, seconds, requests, non2xx, failures, throughput,
+                p50Millis, p90Millis, p99Millis, p999Millis, maxMillis, allocatedMbPerSecond, allocatedKbPerRequest,
+                gcCount, gcMillis);
+    }
+
+    String toRow() {
+        return String.format(Locale.ROOT, "%-14s %9.1f %8.2f %8.2f %8.2f %8.2f %9.2f %9.1f %9.1f %7d %7d",
+                scenario, throughput, p50Millis, p90Millis, p99Millis, p999Millis, maxMillis,
+                allocatedMbPerSecond, allocatedKbPerRequest, non2xx, failures);
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-14s %9s %8s %8s %8s %8s %9s %9s %9s %7s %7s",
+                "scenario", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "alloc MB/s", "KB/req",
+                "non-2xx", "failed");
+    }
+}
@@ -0,0 +1,212 @@
+package com.agrorent.loadtest.memory;
+
+import org.bson.Document;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Evaluates mapped Mongo filters against stored documents. Covers the operators the services and
+ * repositories actually issue (equality, comparisons, $in/$nin, $exists, $and/$or/$nor and
+ * $near/$nearSphere with a maximum distance). Anything else fails loudly instead of silently
+ * matching nothing, so a scenario never measures a query the store did not really run.
+ */
+final class DocumentMatcher {
+
+    static final double EARTH_RADIUS_METERS = 6_378_100;
+
+    private DocumentMatcher() {
+    }
+
+    static boolean matches(Document document, Document filter) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            switch (key) {
+                case "$and":
+                    for (Object part : (Collection<?>) entry.getValue()) {
+                        if (!matches(document, (Document) part)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case "$or":
+                    if (((Collection<?>) entry.getValue()).stream().noneMatch(part -> matches(document, (Document) part))) {
+                        return false;
+                    }
+                    break;
+                case "$nor":
+                    if (((Collection<?>) entry.getValue()).stream().anyMatch(part -> matches(document, (Document) part))) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (key.startsWith("$")) {
+                        throw unsupported(key);
+                    }
+                    if (!matchesField(resolve(document, key), entry.getValue())) {
+                        return false;
+                    }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The {@code $near}/{@code $nearSphere} clause of a filter, if any. Results of such a query are
+     * returned nearest first, like the server does.
+     */
+    static Near near(Document filter) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if (entry.getValue() instanceof Document condition) {
+                Object center = condition.containsKey("$nearSphere") ? condition.get("$nearSphere") : condition.get("$near");
+                if (center != null) {
+                    return Near.of(entry.getKey(), center, condition);
+                }
+            }
+        }
+        return null;
+    }
+
+    static Object resolve(Document document, String path) {
+        Object current = document;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Document nested)) {
+                return null;
+            }
+            current = nested.get(part);
+        }
+        return current;
+    }
+
+    private static boolean matchesField(Object value, Object condition) {
+        if (!(condition instanceof Document operators) || operators.isEmpty()
+                || !operators.keySet().iterator().next().startsWith("$")) {
+            return valueEquals(value, condition);
+        }
+        for (Map.Entry<String, Object> operator : operators.entrySet()) {
+            Object operand = operator.getValue();
+            boolean matched;
+            switch (operator.getKey()) {
+                case "$eq" -> matched = valueEquals(value, operand);
+                case "$ne" -> matched = !valueEquals(value, operand);
+                case "$gt" -> matched = comparable(value, operand) && compare(value, operand) > 0;
+                case "$gte" -> matched = comparable(value, operand) && compare(value, operand) >= 0;
+                case "$lt" -> matched = comparable(value, operand) && compare(value, operand) < 0;
+                case "$lte" -> matched = comparable(value, operand) && compare(value, operand) <= 0;
+                case "$in" -> matched = ((Collection<?>) operand).stream().anyMatch(candidate -> valueEquals(value, candidate));
+                case "$nin" -> matched = ((Collection<?>) operand).stream().noneMatch(candidate -> valueEquals(value, candidate));
+                case "$exists" -> matched = (value != null) == Boolean.TRUE.equals(operand);
+                // The distance bound is applied by the near clause as a whole
+                case "$near", "$nearSphere" -> matched = value != null
+                        && Near.of("", operand, operators).contains(Near.coordinates(value));
+                case "$maxDistance", "$minDistance" -> matched = true;
+                default -> throw unsupported(operator.getKey());
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean valueEquals(Object value, Object expected) {
+        if (value instanceof Collection<?> values && !(expected instanceof Collection<?>)) {
+            return values.stream().anyMatch(element -> valueEquals(element, expected));
+        }
+        if (value instanceof Number left && expected instanceof Number right) {
+            return left.doubleValue() == right.doubleValue();
+        }
+        return Objects.equals(value, expected);
+    }
+
+    /**
+     * Values of different types (or a missing field) never satisfy a range operator, as on the
+     * server.
+     */
+    private static boolean comparable(Object value, Object operand) {
+        return value instanceof Number && operand instanceof Number
+                || value instanceof Comparable && operand != null && value.getClass() == operand.getClass();
+    }
+
+    /**
+     * Orders values for range operators and sorting; a missing value sorts first.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object value, Object operand) {
+        if (value == null || operand == null) {
+            return value == null ? (operand == null ? 0 : -1) : 1;
+        }
+        if (value instanceof Number left && operand instanceof Number right) {
+            return Double.compare(left.doubleValue(), right.doubleValue());
+        }
+        if (comparable(value, operand)) {
+            return ((Comparable) value).compareTo(operand);
+        }
+        return value.getClass().getName().compareTo(operand.getClass().getName());
+    }
+
+    private static UnsupportedOperationException unsupported(String operator) {
+        return new UnsupportedOperationException(operator + " is not supported by the in-memory store");
+    }
+
+    /**
+     * A near clause: the center point and the distance bounds, normalised to meters. Legacy
+     * coordinate pairs take their distances in radians, GeoJSON points in meters.
+     */
+    record Near(String field, double longitude, double latitude, double minMeters, double maxMeters) {
+
+        static Near of(String field, Object center, Document condition) {
+            boolean geoJson = false;
+            Object point = center;
+            if (center instanceof Document document && document.containsKey("$geometry")) {
+                point = document.get("$geometry");
+                geoJson = true;
+            } else if (center instanceof Document document && document.containsKey("coordinates")) {
+                geoJson = true;
+            }
+            double[] coordinates = coordinates(point);
+            double scale = geoJson ? 1.0 : EARTH_RADIUS_METERS;
+            Document bounds = center instanceof Document document && document.containsKey("$maxDistance") ? document : condition;
+            double max = bounds.get("$maxDistance") instanceof Number number ? number.doubleValue() * scale : Double.MAX_VALUE;
+            double min = bounds.get("$minDistance") instanceof Number number ? number.doubleValue() * scale : 0;
+            return new Near(field, coordinates[0], coordinates[1], min, max);
+        }
+
+        static double[] coordinates(Object point) {
+            if (point instanceof Document document && document.containsKey("coordinates")) {
+                return coordinates(document.get("coordinates"));
+            }
+            if (point instanceof Document document && document.containsKey("x")) {
+                return new double[]{((Number) document.get("x")).doubleValue(), ((Number) document.get("y")).doubleValue()};
+            }
+            if (point instanceof List<?> pair && pair.size() == 2) {
+                return new double[]{((Number) pair.get(0)).doubleValue(), ((Number) pair.get(1)).doubleValue()};
+            }
+            if (point instanceof double[] pair) {
+                return pair;
+            }
+            throw new UnsupportedOperationException("Unsupported point " + point);
+        }
+
+        boolean contains(double[] point) {
+            double meters = metersTo(point);
+            return meters >= minMeters && meters <= maxMeters;
+        }
+
+        double metersTo(double[] point) {
+            double dLat = Math.toRadians(point[1] - latitude);
+            double dLon = Math.toRadians(point[0] - longitude);
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(point[1]))
+                    * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        }
+
+        double metersTo(Document document) {
+            Object value = resolve(document, field);
+            return value == null ? Double.MAX_VALUE : metersTo(coordinates(value));
+        }
+    }
+}
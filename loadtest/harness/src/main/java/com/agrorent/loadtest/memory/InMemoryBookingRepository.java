@@ -0,0 +1,95 @@
+package com.agrorent.loadtest.memory;
+
+import com.agrorent.model.Booking;
+import com.agrorent.model.enums.BookingStatus;
+import com.agrorent.repository.BookingRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class InMemoryBookingRepository extends InMemoryRepository<Booking> implements BookingRepository {
+
+    public InMemoryBookingRepository(InMemoryMongoTemplate template) {
+        super(template, Booking.class);
+    }
+
+    @Override
+    public List<Booking> findByRenterId(String renterId) {
+        return find(Criteria.where("renterId").is(renterId));
+    }
+
+    @Override
+    public Page<Booking> findByRenterId(String renterId, Pageable pageable) {
+        return findPage(Criteria.where("renterId").is(renterId), pageable);
+    }
+
+    @Override
+    public Stream<Booking> streamByRenterId(String renterId) {
+        return findByRenterId(renterId).stream();
+    }
+
+    @Override
+    public List<Booking> findByRentTakerId(String rentTakerId) {
+        return find(Criteria.where("rentTakerId").is(rentTakerId));
+    }
+
+    @Override
+    public Page<Booking> findByRentTakerId(String rentTakerId, Pageable pageable) {
+        return findPage(Criteria.where("rentTakerId").is(rentTakerId), pageable);
+    }
+
+    @Override
+    public Stream<Booking> streamByRentTakerId(String rentTakerId) {
+        return findByRentTakerId(rentTakerId).stream();
+    }
+
+    @Override
+    public List<Booking> findByEquipmentId(String equipmentId) {
+        return find(Criteria.where("equipmentId").is(equipmentId));
+    }
+
+    @Override
+    public List<Booking> findByRenterIdAndStatus(String renterId, BookingStatus status) {
+        return find(Criteria.where("renterId").is(renterId).and("status").is(status));
+    }
+
+    @Override
+    public List<Booking> findByRentTakerIdAndStatus(String rentTakerId, BookingStatus status) {
+        return find(Criteria.where("rentTakerId").is(rentTakerId).and("status").is(status));
+    }
+
+    @Override
+    public List<Booking> findByRenterIdAndStatusOrderByCreatedAtDesc(String renterId, BookingStatus status) {
+        return find(Criteria.where("renterId").is(renterId).and("status").is(status),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @Override
+    public List<Booking> findByEquipmentIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            String equipmentId, List<BookingStatus> statuses, LocalDateTime endDate, LocalDateTime startDate) {
+        return find(Criteria.where("equipmentId").is(equipmentId)
+                .and("status").in(statuses)
+                .and("startDate").lte(endDate)
+                .and("endDate").gte(startDate));
+    }
+
+    @Override
+    public long countByRenterId(String renterId) {
+        return count(Criteria.where("renterId").is(renterId));
+    }
+
+    @Override
+    public long countByRentTakerId(String rentTakerId) {
+        return count(Criteria.where("rentTakerId").is(rentTakerId));
+    }
+
+    @Override
+    public long countByRenterIdAndStatus(String renterId, BookingStatus status) {
+        return count(Criteria.where("renterId").is(renterId).and("status").is(status));
+    }
+}
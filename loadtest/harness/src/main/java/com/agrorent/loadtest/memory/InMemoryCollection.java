@@ -0,0 +1,91 @@
+package com.agrorent.loadtest.memory;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One collection of stored documents, keyed by {@code _id}, with hash indexes on the single-field
+ * indexes the entity declares. Reads are lock-free; writes are serialised per collection so an
+ * index never points at a document version it does not match for long. Candidates returned from
+ * an index are always re-checked against the full filter, so a momentarily stale entry is harmless.
+ */
+class InMemoryCollection {
+
+    private final Map<Object, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, Set<Object>>> indexes = new ConcurrentHashMap<>();
+
+    InMemoryCollection(Collection<String> indexedFields) {
+        indexedFields.forEach(field -> indexes.put(field, new ConcurrentHashMap<>()));
+    }
+
+    Document get(Object id) {
+        return documents.get(id);
+    }
+
+    synchronized void put(Document document) {
+        Object id = document.get("_id");
+        Document previous = documents.put(id, document);
+        indexes.forEach((field, index) -> {
+            if (previous != null) {
+                Set<Object> ids = index.get(previous.get(field));
+                if (ids != null) {
+                    ids.remove(id);
+                }
+            }
+            Object value = document.get(field);
+            if (value != null) {
+                index.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        });
+    }
+
+    synchronized boolean remove(Object id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        indexes.forEach((field, index) -> {
+            Set<Object> ids = index.get(previous.get(field));
+            if (ids != null) {
+                ids.remove(id);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Documents that may match the filter: an {@code _id} lookup or an indexed equality when the
+     * filter has one, otherwise every document.
+     */
+    Collection<Document> candidates(Document filter) {
+        Object id = filter.get("_id");
+        if (id != null && !(id instanceof Document)) {
+            Document document = documents.get(id);
+            return document == null ? List.of() : List.of(document);
+        }
+        for (Map.Entry<String, Map<Object, Set<Object>>> index : indexes.entrySet()) {
+            Object value = filter.get(index.getKey());
+            if (value != null && !(value instanceof Document)) {
+                Set<Object> ids = index.getValue().get(value);
+                if (ids == null) {
+                    return List.of();
+                }
+                List<Document> result = new ArrayList<>(ids.size());
+                for (Object candidate : ids) {
+                    Document document = documents.get(candidate);
+                    if (document != null) {
+                        result.add(document);
+                    }
+                }
+                return result;
+            }
+        }
+        return documents.values();
+    }
+}
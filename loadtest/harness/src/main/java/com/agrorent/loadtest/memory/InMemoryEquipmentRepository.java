@@ -0,0 +1,92 @@
+package com.agrorent.loadtest.memory;
+
+import com.agrorent.model.Equipment;
+import com.agrorent.model.enums.EquipmentCategory;
+import com.agrorent.repository.EquipmentRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class InMemoryEquipmentRepository extends InMemoryRepository<Equipment> implements EquipmentRepository {
+
+    public InMemoryEquipmentRepository(InMemoryMongoTemplate template) {
+        super(template, Equipment.class);
+    }
+
+    @Override
+    public List<Equipment> findByOwnerId(String ownerId) {
+        return find(Criteria.where("ownerId").is(ownerId));
+    }
+
+    @Override
+    public Page<Equipment> findByOwnerId(String ownerId, Pageable pageable) {
+        return findPage(Criteria.where("ownerId").is(ownerId), pageable);
+    }
+
+    @Override
+    public Stream<Equipment> streamByOwnerId(String ownerId) {
+        return findByOwnerId(ownerId).stream();
+    }
+
+    @Override
+    public List<Equipment> findByAvailableTrue() {
+        return find(Criteria.where("available").is(true));
+    }
+
+    @Override
+    public Page<Equipment> findByAvailableTrueAndCategory(EquipmentCategory category, Pageable pageable) {
+        return findPage(Criteria.where("available").is(true).and("category").is(category), pageable);
+    }
+
+    @Override
+    public GeoResults<Equipment> findByLocationNear(Point location, Distance distance) {
+        List<Equipment> matches = find(near(location, distance));
+        DocumentMatcher.Near near = new DocumentMatcher.Near("location", location.getX(), location.getY(), 0, 0);
+
+        // Distances in the metric of the requested radius, as the geoNear stage reports them
+        List<GeoResult<Equipment>> results = new ArrayList<>(matches.size());
+        for (Equipment equipment : matches) {
+            double radians = near.metersTo(new double[]{equipment.getLocation().getX(), equipment.getLocation().getY()})
+                    / DocumentMatcher.EARTH_RADIUS_METERS;
+            results.add(new GeoResult<>(equipment, new Distance(radians * distance.getMetric().getMultiplier(), distance.getMetric())));
+        }
+        return new GeoResults<>(results, distance.getMetric());
+    }
+
+    @Override
+    public List<Equipment> findByLocationNearAndAvailableTrue(Point location, Distance distance) {
+        return find(near(location, distance).and("available").is(true));
+    }
+
+    @Override
+    public List<Equipment> findByCategory(EquipmentCategory category) {
+        return find(Criteria.where("category").is(category));
+    }
+
+    @Override
+    public Stream<Equipment> streamByCategoryAndAvailableTrue(EquipmentCategory category) {
+        return find(Criteria.where("category").is(category).and("available").is(true)).stream();
+    }
+
+    @Override
+    public List<Equipment> findAvailableWithMaxPrice(Double maxPrice) {
+        return find(Criteria.where("available").is(true).and("pricePerDay").lte(maxPrice));
+    }
+
+    @Override
+    public long countByOwnerId(String ownerId) {
+        return count(Criteria.where("ownerId").is(ownerId));
+    }
+
+    private static Criteria near(Point location, Distance distance) {
+        return Criteria.where("location").nearSphere(location).maxDistance(distance.getNormalizedValue());
+    }
+}
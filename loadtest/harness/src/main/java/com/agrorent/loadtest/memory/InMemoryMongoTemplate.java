@@ -0,0 +1,256 @@
+package com.agrorent.loadtest.memory;
+
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate whose storage lives in the JVM. Only the bottom layer is replaced: writes still go
+ * through conversion, auditing, entity callbacks and mapping events, and reads still map queries
+ * with the real QueryMapper and convert documents back into entities, so the CPU and allocation
+ * profile of the application stays close to the Mongo-backed one minus the network.
+ *
+ * Supports find/stream/findOne/findById/count/exists, insert/save and remove. Aggregations, updates and
+ * raw collection access are not emulated and fail against the unreachable client.
+ */
+public class InMemoryMongoTemplate extends MongoTemplate {
+
+    private final Map<String, InMemoryCollection> collections = new ConcurrentHashMap<>();
+    private final QueryMapper queryMapper;
+    private final MongoPersistentEntityIndexResolver indexResolver;
+
+    public InMemoryMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+        this.queryMapper = new QueryMapper(mongoConverter);
+        this.indexResolver = new MongoPersistentEntityIndexResolver(mongoConverter.getMappingContext());
+    }
+
+    // ===== READS =====
+
+    @Override
+    public <T> List<T> find(Query query, Class<T> entityClass, String collectionName) {
+        List<Document> documents = select(query, entityClass, collectionName, query.getLimit());
+        Document fields = queryMapper.getMappedFields(query.getFieldsObject(), entity(entityClass));
+        List<T> result = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            result.add(read(project(document, fields), entityClass, collectionName));
+        }
+        return result;
+    }
+
+    // Documents are converted as the stream is consumed, like a cursor
+    @Override
+    public <T> Stream<T> stream(Query query, Class<T> entityType, String collectionName) {
+        List<Document> documents = select(query, entityType, collectionName, query.getLimit());
+        Document fields = queryMapper.getMappedFields(query.getFieldsObject(), entity(entityType));
+        return documents.stream().map(document -> read(project(document, fields), entityType, collectionName));
+    }
+
+    @Override
+    public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+        List<Document> documents = select(query, entityClass, collectionName, 1);
+        return documents.isEmpty() ? null : read(documents.get(0), entityClass, collectionName);
+    }
+
+    @Override
+    public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+        Document idQuery = queryMapper.getMappedObject(new Document("_id", id), entity(entityClass));
+        Document document = collection(collectionName).get(idQuery.get("_id"));
+        return document == null ? null : read(document, entityClass, collectionName);
+    }
+
+    @Override
+    public long count(Query query, Class<?> entityClass, String collectionName) {
+        return select(query, entityClass, collectionName, 0).size();
+    }
+
+    @Override
+    public boolean exists(Query query, Class<?> entityClass, String collectionName) {
+        return !select(query, entityClass, collectionName, 1).isEmpty();
+    }
+
+    @Override
+    public IndexOperations indexOps(String collectionName, Class<?> type) {
+        return NO_INDEXES;
+    }
+
+    // ===== WRITES =====
+
+    @Override
+    protected Object insertDocument(String collectionName, Document document, Class<?> entityClass) {
+        return store(collectionName, document);
+    }
+
+    @Override
+    protected List<Object> insertDocumentList(String collectionName, List<Document> documents) {
+        List<Object> ids = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            ids.add(store(collectionName, document));
+        }
+        return ids;
+    }
+
+    @Override
+    protected Object saveDocument(String collectionName, Document document, Class<?> entityClass) {
+        return store(collectionName, document);
+    }
+
+    @Override
+    protected <T> DeleteResult doRemove(String collectionName, Query query, Class<T> entityClass, boolean multi) {
+        Document queryObject = queryMapper.getMappedObject(query.getQueryObject(), entity(entityClass));
+        maybeEmitEvent(new BeforeDeleteEvent<>(queryObject, entityClass, collectionName));
+
+        InMemoryCollection collection = collection(collectionName);
+        long removed = 0;
+        for (Document document : select(query, entityClass, collectionName, multi ? 0 : 1)) {
+            if (collection.remove(document.get("_id"))) {
+                removed++;
+            }
+        }
+
+        maybeEmitEvent(new AfterDeleteEvent<>(queryObject, entityClass, collectionName));
+        return DeleteResult.acknowledged(removed);
+    }
+
+    private Object store(String collectionName, Document document) {
+        if (document.get("_id") == null) {
+            document.put("_id", new ObjectId());
+        }
+        collection(collectionName).put(document);
+        return document.get("_id");
+    }
+
+    private List<Document> select(Query query, Class<?> entityClass, String collectionName, int limit) {
+        MongoPersistentEntity<?> entity = entity(entityClass);
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        DocumentMatcher.Near near = DocumentMatcher.near(filter);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+
+        List<Document> matches = new ArrayList<>();
+        for (Document document : collection(collectionName).candidates(filter)) {
+            if (DocumentMatcher.matches(document, filter)) {
+                matches.add(document);
+            }
+        }
+
+        if (!sort.isEmpty()) {
+            matches.sort(comparator(sort));
+        } else if (near != null) {
+            matches.sort(Comparator.comparingDouble(near::metersTo));
+        }
+
+        int from = (int) Math.min(query.getSkip(), matches.size());
+        int to = limit > 0 ? Math.min(matches.size(), from + limit) : matches.size();
+        return from == 0 && to == matches.size() ? matches : matches.subList(from, to);
+    }
+
+    private <T> T read(Document document, Class<T> entityClass, String collectionName) {
+        T entity = getConverter().read(entityClass, document);
+        return maybeCallAfterConvert(entity, document, collectionName);
+    }
+
+    private static Comparator<Document> comparator(Document sort) {
+        Comparator<Document> comparator = null;
+        for (Map.Entry<String, Object> entry : sort.entrySet()) {
+            String field = entry.getKey();
+            Comparator<Document> next = (left, right) ->
+                    DocumentMatcher.compare(DocumentMatcher.resolve(left, field), DocumentMatcher.resolve(right, field));
+            if (((Number) entry.getValue()).intValue() < 0) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    // Inclusion and exclusion projections on top-level fields
+    private static Document project(Document document, Document fields) {
+        if (fields.isEmpty()) {
+            return document;
+        }
+        boolean inclusion = fields.values().stream()
+                .anyMatch(value -> value instanceof Number number && number.intValue() == 1);
+        Document projected = new Document();
+        if (inclusion) {
+            projected.put("_id", document.get("_id"));
+            fields.forEach((field, value) -> {
+                if (value instanceof Number number && number.intValue() == 1 && document.containsKey(field)) {
+                    projected.put(field, document.get(field));
+                }
+            });
+        } else {
+            projected.putAll(document);
+            fields.keySet().forEach(projected::remove);
+        }
+        return projected;
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> entityClass) {
+        return entityClass == null ? null : getConverter().getMappingContext().getPersistentEntity(entityClass);
+    }
+
+    private InMemoryCollection collection(String collectionName) {
+        return collections.computeIfAbsent(collectionName, name -> new InMemoryCollection(indexedFields(name)));
+    }
+
+    // Hash indexes for the single-field indexes of the entity mapped to this collection
+    private List<String> indexedFields(String collectionName) {
+        List<String> fields = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : getConverter().getMappingContext().getPersistentEntities()) {
+            if (!collectionName.equals(entity.getCollection())) {
+                continue;
+            }
+            for (var holder : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+                Document keys = holder.getIndexKeys();
+                if (keys.size() == 1 && keys.values().iterator().next() instanceof Number) {
+                    fields.add(keys.keySet().iterator().next());
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static final IndexOperations NO_INDEXES = new IndexOperations() {
+        @Override
+        public String ensureIndex(IndexDefinition indexDefinition) {
+            return "";
+        }
+
+        @Override
+        public void alterIndex(String name, IndexOptions options) {
+        }
+
+        @Override
+        public void dropIndex(String name) {
+        }
+
+        @Override
+        public void dropAllIndexes() {
+        }
+
+        @Override
+        public List<IndexInfo> getIndexInfo() {
+            return List.of();
+        }
+    };
+}
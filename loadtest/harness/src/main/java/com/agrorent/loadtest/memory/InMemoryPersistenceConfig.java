@@ -0,0 +1,37 @@
+package com.agrorent.loadtest.memory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Replaces MongoDB with an in-process store for the {@code memory} load test backend. The
+ * Mongo-backed repositories are switched off in application-memory.yml; the client is still
+ * created but never reached.
+ */
+@Configuration
+@Profile("memory")
+public class InMemoryPersistenceConfig {
+
+    @Bean
+    public InMemoryMongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new InMemoryMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Bean
+    public InMemoryUserRepository userRepository(InMemoryMongoTemplate mongoTemplate) {
+        return new InMemoryUserRepository(mongoTemplate);
+    }
+
+    @Bean
+    public InMemoryEquipmentRepository equipmentRepository(InMemoryMongoTemplate mongoTemplate) {
+        return new InMemoryEquipmentRepository(mongoTemplate);
+    }
+
+    @Bean
+    public InMemoryBookingRepository bookingRepository(InMemoryMongoTemplate mongoTemplate) {
+        return new InMemoryBookingRepository(mongoTemplate);
+    }
+}
@@ -0,0 +1,184 @@
+package com.agrorent.loadtest.memory;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+/**
+ * CRUD part of a repository backed by {@link InMemoryMongoTemplate}. Subclasses implement the
+ * derived finders of one repository interface by building the same criteria Spring Data would.
+ */
+abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    protected final InMemoryMongoTemplate template;
+    protected final Class<T> type;
+
+    protected InMemoryRepository(InMemoryMongoTemplate template, Class<T> type) {
+        this.template = template;
+        this.type = type;
+    }
+
+    protected List<T> find(Criteria criteria) {
+        return template.find(Query.query(criteria), type);
+    }
+
+    protected List<T> find(Criteria criteria, Sort sort) {
+        return template.find(Query.query(criteria).with(sort), type);
+    }
+
+    protected Optional<T> findOne(Criteria criteria) {
+        return Optional.ofNullable(template.findOne(Query.query(criteria), type));
+    }
+
+    protected Page<T> findPage(Criteria criteria, Pageable pageable) {
+        Query query = Query.query(criteria);
+        List<T> content = template.find(Query.of(query).with(pageable), type);
+        return PageableExecutionUtils.getPage(content, pageable, () -> template.count(query, type));
+    }
+
+    protected long count(Criteria criteria) {
+        return template.count(Query.query(criteria), type);
+    }
+
+    protected boolean exists(Criteria criteria) {
+        return template.exists(Query.query(criteria), type);
+    }
+
+    private static Criteria byId(Object id) {
+        return Criteria.where("_id").is(id);
+    }
+
+    // ===== CRUD =====
+
+    @Override
+    public <S extends T> S save(S entity) {
+        return template.save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return template.insert(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> batch = StreamSupport.stream(entities.spliterator(), false).toList();
+        return new ArrayList<>(template.insert(batch, type));
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(template.findById(id, type));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return exists(byId(id));
+    }
+
+    @Override
+    public List<T> findAll() {
+        return template.find(new Query(), type);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return template.find(new Query().with(sort), type);
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return findPage(new Criteria(), pageable);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return find(Criteria.where("_id").in(StreamSupport.stream(ids.spliterator(), false).toList()));
+    }
+
+    @Override
+    public long count() {
+        return template.count(new Query(), type);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        template.remove(Query.query(byId(id)), type);
+    }
+
+    @Override
+    public void delete(T entity) {
+        template.remove(entity);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        template.remove(new Query(), type);
+    }
+
+    // ===== QUERY BY EXAMPLE (not used by the application) =====
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported by the in-memory store");
+    }
+}
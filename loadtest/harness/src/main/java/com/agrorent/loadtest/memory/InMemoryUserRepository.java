@@ -0,0 +1,34 @@
+package com.agrorent.loadtest.memory;
+
+import com.agrorent.model.User;
+import com.agrorent.repository.UserRepository;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Optional;
+
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    public InMemoryUserRepository(InMemoryMongoTemplate template) {
+        super(template, User.class);
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return findOne(Criteria.where("phone").is(phone));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findOne(Criteria.where("email").is(email));
+    }
+
+    @Override
+    public boolean existsByPhone(String phone) {
+        return exists(Criteria.where("phone").is(phone));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return exists(Criteria.where("email").is(email));
+    }
+}
@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Connection scalability of the blocking MVC search endpoints versus their reactive variants.
+#
+# Requirements: a running MongoDB (MONGODB_URI), Java 17+, wrk, curl and jq on PATH.
+# Usage: ./run.sh [duration] [connection levels...]
+#
+# One backend JVM is started with agrorent.reactive.enabled=true so both implementations share the
+# same data, pool and heap. Each endpoint pair is then driven at every connection level.
+set -euo pipefail
+
+DURATION=${1:-30s}
+shift || true
+LEVELS=${*:-"100 500 1000 2000 4000"}
+THREADS=${WRK_THREADS:-8}
+PORT=${PORT:-8080}
+EQUIPMENT_COUNT=${EQUIPMENT_COUNT:-500}
+HEAP=${HEAP:-512m}
+MONGODB_URI=${MONGODB_URI:-mongodb://localhost:27017/agrorent_bench_reactive_$$}
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+BACKEND="$HERE/../../agrorent-backend"
+OUT="$HERE/results/$(date +%Y%m%d-%H%M%S)"
+BASE_URL="http://localhost:$PORT"
+mkdir -p "$OUT"
+
+(cd "$BACKEND" && mvn -B -q package -DskipTests)
+JAR=$(ls "$BACKEND"/target/agrorent-backend-*-exec.jar)
+
+REACTIVE_SEARCH_ENABLED=true MONGODB_URI="$MONGODB_URI" \
+    java -Xms"$HEAP" -Xmx"$HEAP" -jar "$JAR" --server.port="$PORT" \
+    --server.tomcat.max-connections=10000 \
+    --logging.level.com.agrorent=INFO --logging.level.org.springframework.security=INFO \
+    > "$OUT/server.log" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 60); do
+    curl -sf "$BASE_URL/api/categories" > /dev/null && break
+    sleep 1
+done
+
+TOKEN=$(curl -sf -X POST "$BASE_URL/api/auth/register" -H 'Content-Type: application/json' \
+    -d '{"name":"Bench Owner","phone":"9000000003","password":"bench123"}' | jq -r .data.token)
+for i in $(seq 1 "$EQUIPMENT_COUNT"); do
+    lat=$(awk -v s="$i" 'BEGIN { srand(s); printf "%.5f", 21 + rand() * 2 }')
+    lon=$(awk -v s="$i" 'BEGIN { srand(s * 31); printf "%.5f", 77 + rand() * 2 }')
+    curl -sf -o /dev/null -X POST "$BASE_URL/api/equipment/my" -H 'Content-Type: application/json' \
+        -H "Authorization: Bearer $TOKEN" \
+        -d "{\"name\":\"Tractor $i\",\"category\":\"TRACTOR\",\"pricePerDay\":1500,\"latitude\":$lat,\"longitude\":$lon}"
+done
+
+NEARBY_QUERY="search/nearby?latitude=22&longitude=78&radiusKm=50"
+declare -A ENDPOINTS=(
+    [mvc-nearby]="/api/equipment/$NEARBY_QUERY"
+    [reactive-nearby]="/api/equipment/reactive/$NEARBY_QUERY"
+    [mvc-category]="/api/equipment/public/category/TRACTOR"
+    [reactive-category]="/api/equipment/reactive/public/category/TRACTOR"
+)
+
+echo "endpoint,connections,requests_per_sec,p99_latency,socket_errors,non_2xx,peak_threads" > "$OUT/summary.csv"
+for name in mvc-nearby reactive-nearby mvc-category reactive-category; do
+    for c in $LEVELS; do
+        accept="application/json"
+        [[ $name == reactive-* ]] && accept="application/x-ndjson"
+        f="$OUT/$name-$c.txt"
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency -H "Accept: $accept" \
+            "$BASE_URL${ENDPOINTS[$name]}" > "$f"
+        threads=$(ls /proc/$PID/task | wc -l)
+        rps=$(awk '/Requests\/sec/ { print $2 }' "$f")
+        p99=$(awk '$1 == "99%" { print $2 }' "$f")
+        sock=$(awk '/Socket errors/ { gsub(",", ""); print $4 + $6 + $8 + $10 }' "$f")
+        non2xx=$(awk '/Non-2xx/ { print $5 }' "$f")
+        echo "$name,$c,$rps,$p99,${sock:-0},${non2xx:-0},$threads" >> "$OUT/summary.csv"
+    done
+done
+
+column -s, -t "$OUT/summary.csv"
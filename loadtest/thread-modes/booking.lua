@@ -0,0 +1,24 @@
+-- POST /api/bookings/create against the equipment ids seeded by run.sh.
+-- Each request books a random one-day window far in the future so conflicts stay rare.
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+wrk.headers["Authorization"] = "Bearer " .. os.getenv("AGRORENT_TOKEN")
+
+local ids = {}
+for line in io.lines(os.getenv("AGRORENT_EQUIPMENT_IDS")) do
+    ids[#ids + 1] = line
+end
+
+math.randomseed(7)
+local base = os.time({ year = 2030, month = 1, day = 1, hour = 0 })
+
+request = function()
+    local id = ids[math.random(#ids)]
+    local start = base + math.random(0, 36500) * 86400
+    local body = string.format(
+        '{"equipmentId":"%s","startDate":"%s","endDate":"%s"}',
+        id,
+        os.date("!%Y-%m-%dT%H:%M:%S", start),
+        os.date("!%Y-%m-%dT%H:%M:%S", start + 86400))
+    return wrk.format(nil, "/api/bookings/create", nil, body)
+end
@@ -0,0 +1,124 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request execution on the two hottest endpoints.
+#
+# Requirements: a running MongoDB (MONGODB_URI), Java 21+ on PATH (virtual threads), wrk, curl, jq.
+# Usage: ./run.sh [duration] [connections]
+#
+# Each mode gets a fresh JVM against a fresh database so runs are comparable. Results land in
+# ./results/<timestamp>/ (raw wrk output, peak RSS, heap info) plus a summary.csv.
+set -euo pipefail
+
+DURATION=${1:-60s}
+CONNECTIONS=${2:-400}
+THREADS=${WRK_THREADS:-8}
+PORT=${PORT:-8080}
+EQUIPMENT_COUNT=${EQUIPMENT_COUNT:-200}
+HEAP=${HEAP:-512m}
+MONGO_BASE_URI=${MONGODB_BASE_URI:-mongodb://localhost:27017}
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+BACKEND="$HERE/../../agrorent-backend"
+OUT="$HERE/results/$(date +%Y%m%d-%H%M%S)"
+BASE_URL="http://localhost:$PORT"
+mkdir -p "$OUT"
+
+if [ "$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')" -lt 21 ]; then
+    echo "Java 21+ is required to compare against virtual threads" >&2
+    exit 1
+fi
+
+(cd "$BACKEND" && mvn -B -q package -DskipTests)
+JAR=$(ls "$BACKEND"/target/agrorent-backend-*-exec.jar)
+
+wait_for_server() {
+    for _ in $(seq 1 60); do
+        curl -sf "$BASE_URL/api/categories" > /dev/null && return 0
+        sleep 1
+    done
+    echo "Server did not start" >&2
+    return 1
+}
+
+json_post() {
+    curl -sf -X POST "$BASE_URL$1" -H 'Content-Type: application/json' ${3:+-H "Authorization: Bearer $3"} -d "$2"
+}
+
+seed() {
+    local owner_token taker_token
+    owner_token=$(json_post /api/auth/register '{"name":"Bench Owner","phone":"9000000001","password":"bench123"}' | jq -r .data.token)
+    taker_token=$(json_post /api/auth/register '{"name":"Bench Taker","phone":"9000000002","password":"bench123"}' | jq -r .data.token)
+
+    : > "$1/equipment-ids.txt"
+    for i in $(seq 1 "$EQUIPMENT_COUNT"); do
+        local lat lon
+        lat=$(awk -v s="$i" 'BEGIN { srand(s); printf "%.5f", 18 + rand() * 8 }')
+        lon=$(awk -v s="$i" 'BEGIN { srand(s * 31); printf "%.5f", 74 + rand() * 8 }')
+        json_post /api/equipment/my \
+            "{\"name\":\"Tractor $i\",\"category\":\"TRACTOR\",\"pricePerDay\":1500,\"latitude\":$lat,\"longitude\":$lon}" \
+            "$owner_token" | jq -r .data.id >> "$1/equipment-ids.txt"
+    done
+    echo "$taker_token"
+}
+
+sample_rss() {
+    local pid=$1 file=$2 peak=0
+    while kill -0 "$pid" 2>/dev/null; do
+        local rss
+        rss=$(ps -o rss= -p "$pid" 2>/dev/null | tr -d ' ' || echo 0)
+        [ -n "$rss" ] && [ "$rss" -gt "$peak" ] && peak=$rss && echo "$peak" > "$file"
+        sleep 0.5
+    done
+}
+
+run_mode() {
+    local mode=$1 virtual=$2 dir="$OUT/$1"
+    mkdir -p "$dir"
+    local db="agrorent_bench_${mode}_$$"
+
+    VIRTUAL_THREADS_ENABLED=$virtual MONGODB_URI="$MONGO_BASE_URI/$db" \
+        java -Xms"$HEAP" -Xmx"$HEAP" -jar "$JAR" --server.port="$PORT" \
+        --logging.level.com.agrorent=INFO --logging.level.org.springframework.security=INFO \
+        > "$dir/server.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_server
+
+    local token
+    token=$(seed "$dir")
+
+    sample_rss "$pid" "$dir/peak-rss-kb.txt" &
+    local sampler=$!
+
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$HERE/search.lua" "$BASE_URL" \
+        > "$dir/search.txt"
+    AGRORENT_TOKEN=$token AGRORENT_EQUIPMENT_IDS="$dir/equipment-ids.txt" \
+        wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$HERE/booking.lua" "$BASE_URL" \
+        > "$dir/booking.txt"
+
+    jcmd "$pid" GC.heap_info > "$dir/heap-info.txt" 2>&1 || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    wait "$sampler" 2>/dev/null || true
+    trap - EXIT
+}
+
+summarize() {
+    echo "mode,endpoint,requests_per_sec,p99_latency,non_2xx,peak_rss_mb" > "$OUT/summary.csv"
+    for mode in platform virtual; do
+        local rss_mb
+        rss_mb=$(awk '{ printf "%.0f", $1 / 1024 }' "$OUT/$mode/peak-rss-kb.txt")
+        for endpoint in search booking; do
+            local f="$OUT/$mode/$endpoint.txt"
+            local rps p99 errors
+            rps=$(awk '/Requests\/sec/ { print $2 }' "$f")
+            p99=$(awk '$1 == "99%" { print $2 }' "$f")
+            errors=$(awk '/Non-2xx/ { print $5 }' "$f")
+            echo "$mode,$endpoint,$rps,$p99,${errors:-0},$rss_mb" >> "$OUT/summary.csv"
+        done
+    done
+    column -s, -t "$OUT/summary.csv"
+}
+
+run_mode platform false
+run_mode virtual true
+summarize
@@ -0,0 +1,13 @@
+-- POST /api/equipment/search with a location-based query around a random point in central India.
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+
+math.randomseed(42)
+
+request = function()
+    local lat = 18.0 + math.random() * 8.0
+    local lon = 74.0 + math.random() * 8.0
+    local body = string.format(
+        '{"latitude":%.5f,"longitude":%.5f,"radiusKm":50,"sortBy":"distance"}', lat, lon)
+    return wrk.format(nil, "/api/equipment/search", nil, body)
+end